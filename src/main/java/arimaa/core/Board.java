@@ -1,17 +1,20 @@
 package arimaa.core;
 
+import arimaa.utils.Bitboard;
 import arimaa.utils.Color;
-import arimaa.utils.Direction;
 import arimaa.utils.PieceType;
 import arimaa.utils.Position;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
  * The Board class represents the Arimaa game board.
  * It provides methods for placing pieces, making moves, and so much more.
  * checking for valid moves, and determining win/lose conditions.
+ * Pieces are kept both in a square array (for lookups) and in one 64-bit mask per color and piece type
+ * (see {@link Bitboard}), so that freezing, trap and goal checks are mask operations.
  */
 public class Board {
     /*
@@ -19,15 +22,197 @@ public class Board {
      */
     public static final int BOARD_SIZE = 8;
     /*
-    Instance variable: 2D array of Piece objects
+    Class constant variable: number of piece types per color
      */
-    private final Piece[][] board;
+    private static final int TYPES = PieceType.values().length;
+    /*
+    Class constant variable: piece type of every piece code
+     */
+    private static final PieceType[] TYPE_OF_CODE = new PieceType[Piece.CODES];
+    /*
+    Class constant variable: color of every piece code
+     */
+    private static final Color[] COLOR_OF_CODE = new Color[Piece.CODES];
+    /*
+    Class constant variable: whether the second piece code is a stronger enemy of the first, indexed by [code][other]
+     */
+    private static final boolean[][] IS_STRONGER_ENEMY = new boolean[Piece.CODES][Piece.CODES];
+
+    static {
+        for (int code = Piece.EMPTY + 1; code < Piece.CODES; code++) {
+            TYPE_OF_CODE[code] = Piece.fromCode(code).type();
+            COLOR_OF_CODE[code] = Piece.fromCode(code).color();
+        }
+        for (int code = Piece.EMPTY + 1; code < Piece.CODES; code++) {
+            for (int other = Piece.EMPTY + 1; other < Piece.CODES; other++) {
+                IS_STRONGER_ENEMY[code][other] = COLOR_OF_CODE[code] != COLOR_OF_CODE[other]
+                        && TYPE_OF_CODE[other].ordinal() > TYPE_OF_CODE[code].ordinal();
+            }
+        }
+    }
+    /*
+    Class constant variable: initial number of undo frames (the undo stack doubles when full)
+     */
+    private static final int INITIAL_UNDO_FRAMES = 64;
+    /*
+    Class constant variable: initial number of journaled square changes
+     */
+    private static final int INITIAL_UNDO_CHANGES = 512;
+    /*
+    Instance variable: piece codes (see Piece.code) indexed by square (row * 8 + column)
+     */
+    private final byte[] squares;
+    /*
+    Instance variable: one mask per color and piece type, indexed by piece code
+     */
+    private final long[] pieceBitboards;
+    /*
+    Instance variable: one mask of all pieces per color, indexed by color.ordinal()
+     */
+    private final long[] colorBitboards;
+    /*
+    Instance variable: squares with at least one adjacent piece of the color, indexed by color.ordinal()
+    (a piece standing on such a square has a friendly neighbour, so it can be neither frozen nor captured)
+     */
+    private final long[] friendlyNeighborBitboards;
+    /*
+    Instance variable: frozen pieces of the color, indexed by color.ordinal()
+     */
+    private final long[] frozenBitboards;
+    /*
+    Instance variable: number of rabbits on the board, indexed by color.ordinal()
+     */
+    private final int[] rabbitCounts;
+    /*
+    Instance variable: number of rabbits standing in their goal row, indexed by color.ordinal()
+     */
+    private final int[] goalRabbitCounts;
+    /*
+    Instance variable: squares of the pieces of every color, indexed by [color.ordinal()][i] for i < pieceCounts[color]
+     */
+    private final int[][] pieceLists;
+    /*
+    Instance variable: number of pieces of every color, indexed by color.ordinal()
+     */
+    private final int[] pieceCounts;
+    /*
+    Instance variable: position of the piece standing on a square within its color's piece list, indexed by square
+     */
+    private final int[] pieceListIndices;
+    /*
+    Instance variable: number of square changes so far, used to tell whether cached analyses are still valid
+     */
+    private long version;
+    /*
+    Instance variable: cached mobility analysis per moving color, indexed by color.ordinal()
+     */
+    private final Mobility[] mobilities;
+    /*
+    Instance variable: squares of the pieces captured by the last makeMove
+     */
+    private final int[] capturedSquares;
+    /*
+    Instance variable: piece codes of the pieces captured by the last makeMove
+     */
+    private final byte[] capturedCodes;
+    /*
+    Instance variable: number of pieces captured by the last makeMove (at most 2, one per elementary step)
+     */
+    private int captureCount;
+    /*
+    Instance variable: Zobrist key of the pieces on the board (without the turn state)
+     */
+    private long positionKey;
+    /*
+    Instance variable: color of the player to move (part of the Zobrist key)
+     */
+    private Color sideToMove;
+    /*
+    Instance variable: steps left in the current turn (part of the Zobrist key)
+     */
+    private int stepsLeft;
+    /*
+    Instance variable: undo journal, the square of every change made since the oldest open undo frame
+     */
+    private int[] undoSquares;
+    /*
+    Instance variable: undo journal, the piece code that stood on the square before the change
+     */
+    private byte[] undoPieces;
+    /*
+    Instance variable: number of entries in the undo journal
+     */
+    private int undoChanges;
+    /*
+    Instance variable: undo frames, index of the first journal entry of every made move
+     */
+    private int[] frameStarts;
+    /*
+    Instance variable: undo frames, Zobrist key before every made move
+     */
+    private long[] frameKeys;
+    /*
+    Instance variable: undo frames, side to move before every made move
+     */
+    private Color[] frameSides;
+    /*
+    Instance variable: undo frames, steps left before every made move
+     */
+    private int[] frameStepsLeft;
+    /*
+    Instance variable: number of open undo frames (moves which can be unmade)
+     */
+    private int undoDepth;
+    /*
+    Instance variable: listener told about every square change (not copied with the board), or null
+     */
+    private BoardListener listener;
 
     /**
      * Constructs a new, empty Board object.
+     * Gold is to move with 4 steps left.
      */
     public Board() {
-        board = new Piece[BOARD_SIZE][BOARD_SIZE];
+        squares = new byte[Bitboard.SQUARES];
+        pieceBitboards = new long[Piece.CODES];
+        colorBitboards = new long[Color.values().length];
+        friendlyNeighborBitboards = new long[Color.values().length];
+        frozenBitboards = new long[Color.values().length];
+        rabbitCounts = new int[Color.values().length];
+        goalRabbitCounts = new int[Color.values().length];
+        pieceLists = new int[Color.values().length][Bitboard.SQUARES];
+        pieceCounts = new int[Color.values().length];
+        pieceListIndices = new int[Bitboard.SQUARES];
+        version = 0L;
+        mobilities = new Mobility[]{new Mobility(), new Mobility()};
+        capturedSquares = new int[2];
+        capturedCodes = new byte[2];
+        positionKey = 0L;
+        sideToMove = Color.GOLD;
+        stepsLeft = 4;
+        undoSquares = new int[INITIAL_UNDO_CHANGES];
+        undoPieces = new byte[INITIAL_UNDO_CHANGES];
+        frameStarts = new int[INITIAL_UNDO_FRAMES];
+        frameKeys = new long[INITIAL_UNDO_FRAMES];
+        frameSides = new Color[INITIAL_UNDO_FRAMES];
+        frameStepsLeft = new int[INITIAL_UNDO_FRAMES];
+    }
+
+    /**
+     * Constructs a copy of a board with the same pieces and turn state, but without its undo history.
+     * Used to give every search thread its own board.
+     *
+     * @param other Board object to be copied.
+     */
+    public Board(Board other) {
+        this();
+        for (int index = 0; index < Bitboard.SQUARES; index++) {
+            if (other.squares[index] != Piece.EMPTY) {
+                writeSquare(index, other.squares[index]);
+            }
+        }
+        sideToMove = other.sideToMove;
+        stepsLeft = other.stepsLeft;
     }
 
     /**
@@ -37,7 +222,7 @@ public class Board {
      * @param position Position object determining where piece should be placed on the board.
      */
     public void placePiece(Piece piece, Position position) {
-        board[position.row()][position.column()] = piece;
+        setSquare(Bitboard.index(position), piece == null ? Piece.EMPTY : piece.code());
     }
 
     /**
@@ -47,7 +232,17 @@ public class Board {
      * @return Piece object if there is a piece is placed on the board at the position, else null value.
      */
     public Piece getPieceAt(Position position) {
-        return board[position.row()][position.column()];
+        return Piece.fromCode(squares[Bitboard.index(position)]);
+    }
+
+    /**
+     * Method to get the piece code stored on a square.
+     *
+     * @param index Square index (row * 8 + column).
+     * @return Piece code (see Piece.code), or Piece.EMPTY.
+     */
+    public byte getCodeAt(int index) {
+        return squares[index];
     }
 
     /**
@@ -56,7 +251,265 @@ public class Board {
      * @param position Position object determining coordinates of deletion.
      */
     public void removePieceAt(Position position) {
-        board[position.row()][position.column()] = null;
+        setSquare(Bitboard.index(position), Piece.EMPTY);
+    }
+
+    /**
+     * Method to set the content of one square and keep the masks in sync.
+     * Every change of the board goes through here. While a move can be unmade, the change is journaled,
+     * so pieces removed from traps after makeMove are restored by unmakeMove as well.
+     *
+     * @param index Square index (row * 8 + column).
+     * @param code Piece code to be stored, or Piece.EMPTY to empty the square.
+     */
+    private void setSquare(int index, byte code) {
+        if (undoDepth > 0) {
+            if (undoChanges == undoSquares.length) {
+                undoSquares = Arrays.copyOf(undoSquares, undoChanges * 2);
+                undoPieces = Arrays.copyOf(undoPieces, undoChanges * 2);
+            }
+            undoSquares[undoChanges] = index;
+            undoPieces[undoChanges] = squares[index];
+            undoChanges++;
+        }
+        writeSquare(index, code);
+    }
+
+    /**
+     * Method to write one square and update masks and key, without journaling.
+     *
+     * @param index Square index (row * 8 + column).
+     * @param code Piece code to be stored, or Piece.EMPTY to empty the square.
+     */
+    private void writeSquare(int index, byte code) {
+        long bit = 1L << index;
+        byte oldCode = squares[index];
+        version++;
+        if (oldCode != Piece.EMPTY) {
+            pieceBitboards[oldCode] &= ~bit;
+            colorBitboards[COLOR_OF_CODE[oldCode].ordinal()] &= ~bit;
+            positionKey ^= Zobrist.pieceKey(oldCode, index);
+            updateRabbitCounts(oldCode, index, -1);
+            removeFromPieceList(COLOR_OF_CODE[oldCode].ordinal(), index);
+        }
+        squares[index] = code;
+        if (code != Piece.EMPTY) {
+            pieceBitboards[code] |= bit;
+            colorBitboards[COLOR_OF_CODE[code].ordinal()] |= bit;
+            positionKey ^= Zobrist.pieceKey(code, index);
+            updateRabbitCounts(code, index, 1);
+            addToPieceList(COLOR_OF_CODE[code].ordinal(), index);
+        }
+        updateFreezingAround(index);
+        if (listener != null) {
+            listener.onSquareChanged(index, oldCode, code);
+        }
+    }
+
+    /**
+     * Method to append a square to the piece list of a color.
+     *
+     * @param color Color ordinal of the piece.
+     * @param index Square index of the piece.
+     */
+    private void addToPieceList(int color, int index) {
+        pieceListIndices[index] = pieceCounts[color];
+        pieceLists[color][pieceCounts[color]++] = index;
+    }
+
+    /**
+     * Method to remove a square from the piece list of a color (the last entry takes its place).
+     *
+     * @param color Color ordinal of the piece.
+     * @param index Square index of the piece.
+     */
+    private void removeFromPieceList(int color, int index) {
+        int last = pieceLists[color][--pieceCounts[color]];
+        int slot = pieceListIndices[index];
+        pieceLists[color][slot] = last;
+        pieceListIndices[last] = slot;
+    }
+
+    /**
+     * Gets the number of pieces of a color on the board.
+     *
+     * @param color Color of the pieces.
+     * @return The number of pieces.
+     */
+    public int getPieceCount(Color color) {
+        return pieceCounts[color.ordinal()];
+    }
+
+    /**
+     * Gets the square of one piece of a color, so that pieces can be iterated without allocation:
+     * {@code for (int i = 0; i < board.getPieceCount(color); i++) board.getPieceSquare(color, i)}.
+     * The order is arbitrary and changes when pieces move.
+     *
+     * @param color Color of the pieces.
+     * @param i Index in the piece list (0 to getPieceCount(color) - 1).
+     * @return Square index (row * 8 + column) of the piece.
+     */
+    public int getPieceSquare(Color color, int i) {
+        return pieceLists[color.ordinal()][i];
+    }
+
+    /**
+     * Method to update the rabbit counters when a piece appears on or disappears from a square.
+     *
+     * @param code Piece code of the piece.
+     * @param index Square index of the piece.
+     * @param delta 1 if the piece was placed, -1 if it was removed.
+     */
+    private void updateRabbitCounts(byte code, int index, int delta) {
+        if (TYPE_OF_CODE[code] != PieceType.RABBIT) return;
+        Color color = COLOR_OF_CODE[code];
+        rabbitCounts[color.ordinal()] += delta;
+        if ((Bitboard.goalRow(color) & 1L << index) != 0) {
+            goalRabbitCounts[color.ordinal()] += delta;
+        }
+    }
+
+    /**
+     * Method to refresh the friendly-neighbour and frozen masks after a square changed.
+     * Only the changed square and its (at most 4) neighbours can change state, so only those are recomputed.
+     *
+     * @param index Square index of the changed square.
+     */
+    private void updateFreezingAround(int index) {
+        long occupied = colorBitboards[0] | colorBitboards[1];
+        long affected = Bitboard.neighborsOf(index) | 1L << index;
+        while (affected != 0) {
+            int square = Long.numberOfTrailingZeros(affected);
+            affected &= affected - 1;
+            long bit = 1L << square;
+            long neighbors = Bitboard.neighborsOf(square);
+            for (int color = 0; color < friendlyNeighborBitboards.length; color++) {
+                if ((neighbors & colorBitboards[color]) != 0) {
+                    friendlyNeighborBitboards[color] |= bit;
+                } else {
+                    friendlyNeighborBitboards[color] &= ~bit;
+                }
+                frozenBitboards[color] &= ~bit;
+            }
+            byte code = squares[square];
+            if (code == Piece.EMPTY) continue;
+            int color = COLOR_OF_CODE[code].ordinal();
+            if ((friendlyNeighborBitboards[color] & bit) != 0) continue;
+            long occupiedNeighbors = neighbors & occupied;
+            while (occupiedNeighbors != 0) {
+                int neighbor = Long.numberOfTrailingZeros(occupiedNeighbors);
+                occupiedNeighbors &= occupiedNeighbors - 1;
+                if (IS_STRONGER_ENEMY[code][squares[neighbor]]) {
+                    frozenBitboards[color] |= bit;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to set whose turn it is and how many steps are left, as both are part of the Zobrist key.
+     * Kept in sync by Game whenever the turn or the number of moves left changes.
+     *
+     * @param sideToMove Color of the player to move.
+     * @param stepsLeft Number of steps left this turn (0-4).
+     */
+    public void setTurnState(Color sideToMove, int stepsLeft) {
+        this.sideToMove = sideToMove;
+        this.stepsLeft = stepsLeft;
+    }
+
+    /**
+     * Gets the color of the player to move.
+     *
+     * @return The color of the player to move.
+     */
+    public Color getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Gets the number of steps left in the current turn.
+     *
+     * @return The number of steps left.
+     */
+    public int getStepsLeft() {
+        return stepsLeft;
+    }
+
+    /**
+     * Gets the Zobrist key of the pieces on the board only (equal for the same arrangement regardless of the turn state).
+     *
+     * @return The 64-bit key of the piece arrangement.
+     */
+    public long getPositionKey() {
+        return positionKey;
+    }
+
+    /**
+     * Gets the Zobrist key of the whole position (pieces, side to move and steps left).
+     * Maintained incrementally by every board mutation, so this is O(1).
+     *
+     * @return The 64-bit key of the position.
+     */
+    public long getZobristKey() {
+        return positionKey ^ Zobrist.turnKey(sideToMove, stepsLeft);
+    }
+
+    /**
+     * Method to get the mask of all squares occupied by pieces of one color and type.
+     *
+     * @param color Color of the pieces.
+     * @param type Type of the pieces.
+     * @return Mask of the occupied squares.
+     */
+    public long getPieceBitboard(Color color, PieceType type) {
+        return pieceBitboards[Piece.code(color, type)];
+    }
+
+    /**
+     * Method to get the mask of all squares occupied by pieces of one color.
+     *
+     * @param color Color of the pieces.
+     * @return Mask of the occupied squares.
+     */
+    public long getColorBitboard(Color color) {
+        return colorBitboards[color.ordinal()];
+    }
+
+    /**
+     * Method to get the mask of all occupied squares.
+     *
+     * @return Mask of the occupied squares.
+     */
+    public long getOccupiedBitboard() {
+        return colorBitboards[0] | colorBitboards[1];
+    }
+
+    /**
+     * Method to get the mask of all pieces of one color which are stronger than the given type.
+     *
+     * @param color Color of the pieces.
+     * @param type Piece type compared in strength against.
+     * @return Mask of the stronger pieces.
+     */
+    private long getStrongerPiecesBitboard(Color color, PieceType type) {
+        long mask = 0L;
+        int strongest = Piece.code(color, PieceType.ELEPHANT);
+        for (int code = Piece.code(color, type) + 1; code <= strongest; code++) {
+            mask |= pieceBitboards[code];
+        }
+        return mask;
+    }
+
+    /**
+     * Method to get the opposing color.
+     *
+     * @param color Color of one player.
+     * @return Color of the other player.
+     */
+    private static Color enemyOf(Color color) {
+        return color == Color.GOLD ? Color.SILVER : Color.GOLD;
     }
 
     /**
@@ -71,70 +524,190 @@ public class Board {
         }
         int row = position.row();
         int col = position.column();
-        return row >= 0 && row < board.length && col >= 0 && col < board[0].length;
+        return row >= 0 && row < BOARD_SIZE && col >= 0 && col < BOARD_SIZE;
     }
 
     /**
      * Method to move a piece on the board, given a Move object.
+     * The move opens an undo frame, so it can be reverted by unmakeMove.
      *
      * @param move The Move object representing the move to make (can be given in child classes: StepMove, PushMove, PullMove)
      * @throws IllegalArgumentException If the move is invalid or illegal.
      */
     public void makeMove(Move move) {
-        if (move instanceof StepMove) {
-            makeStepMove((StepMove) move);
-        } else if (move instanceof PullMove) {
-            makePullMove((PullMove) move);
-        } else if (move instanceof PushMove) {
-            makePushMove((PushMove) move);
+        makeMove(PackedMove.fromMove(move));
+    }
+
+    /**
+     * Method to make an encoded move (see PackedMove). The move opens an undo frame, so it can be reverted by unmakeMove.
+     * Step: the piece moves. Push: the pushed piece moves first, then the pusher takes its square.
+     * Pull: the puller moves first, then the pulled piece takes its square.
+     * Trap captures are resolved after each elementary step and reported by getCaptureCount/getCapturedSquare/getCapturedPiece;
+     * they belong to the move's undo frame, so unmakeMove puts the captured pieces back.
+     *
+     * @param move The encoded move (must be legal in the current position).
+     */
+    public void makeMove(int move) {
+        pushUndoFrame();
+        captureCount = 0;
+        switch (PackedMove.kind(move)) {
+            case PackedMove.PUSH -> {
+                moveSquare(PackedMove.victimFrom(move), PackedMove.victimTo(move));
+                moveSquare(PackedMove.from(move), PackedMove.to(move));
+            }
+            case PackedMove.PULL -> {
+                moveSquare(PackedMove.from(move), PackedMove.to(move));
+                moveSquare(PackedMove.victimFrom(move), PackedMove.victimTo(move));
+            }
+            default -> moveSquare(PackedMove.from(move), PackedMove.to(move));
         }
     }
 
     /**
-     * Method to facilitate a StepMove (movement of one piece to an adjacent position).
+     * Method to move whatever stands on one square to another square (a move onto the same square changes nothing).
      *
-     * @param move Move object with the old and new position.
+     * @param from Square index of the origin.
+     * @param to Square index of the destination.
      */
-    private void makeStepMove(StepMove move) {
-        Position position = move.getFrom();
-        Position newPosition = move.getTo();
-        Piece piece = getPieceAt(position);
-        removePieceAt(position);
-        placePiece(piece, newPosition);
+    private void moveSquare(int from, int to) {
+        byte code = squares[from];
+        setSquare(from, Piece.EMPTY);
+        setSquare(to, code);
+        resolveCaptures(from, to);
+    }
+
+    /**
+     * Method to remove unprotected pieces from the traps an elementary step may have affected:
+     * the destination (if it is a trap) and the traps next to the vacated origin. No other trap can change.
+     *
+     * @param from Square index the piece left.
+     * @param to Square index the piece arrived at.
+     */
+    private void resolveCaptures(int from, int to) {
+        long traps = (Bitboard.neighborsOf(from) | 1L << to) & Bitboard.TRAPS;
+        while (traps != 0) {
+            int trap = Long.numberOfTrailingZeros(traps);
+            traps &= traps - 1;
+            byte code = squares[trap];
+            if (code != Piece.EMPTY && (friendlyNeighborBitboards[COLOR_OF_CODE[code].ordinal()] & 1L << trap) == 0) {
+                setSquare(trap, Piece.EMPTY);
+                capturedSquares[captureCount] = trap;
+                capturedCodes[captureCount] = code;
+                captureCount++;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of pieces captured on traps by the last makeMove.
+     *
+     * @return The number of captured pieces (0-2).
+     */
+    public int getCaptureCount() {
+        return captureCount;
+    }
+
+    /**
+     * Gets the trap square of a piece captured by the last makeMove.
+     *
+     * @param i Index of the capture (0 to getCaptureCount() - 1), in the order they happened.
+     * @return Square index (row * 8 + column) of the trap.
+     */
+    public int getCapturedSquare(int i) {
+        return capturedSquares[i];
     }
 
     /**
-     * Method to facilitate a PullMove (StepMove of pulling piece, pulled piece moves into pulling piece's original position)
+     * Gets a piece captured by the last makeMove.
      *
-     * @param move PullMove object with the old and new positions of both pieces.
+     * @param i Index of the capture (0 to getCaptureCount() - 1), in the order they happened.
+     * @return The captured Piece object.
      */
-    private void makePullMove(PullMove move) {
-        StepMove pullerPieceMove = new StepMove(move.getFrom(), move.getTo());
-        StepMove pulledPieceMove = new StepMove(move.getPulledPieceFrom(), move.getPulledPieceTo());
-        makeStepMove(pullerPieceMove);
-        makeStepMove(pulledPieceMove);
+    public Piece getCapturedPiece(int i) {
+        return Piece.fromCode(capturedCodes[i]);
     }
 
     /**
-     * Method to facilitate a PushMove (Moving pushed piece and pushing piece moves into pushed piece's original position)
+     * Method to revert the last move made by makeMove, including every other change of the board done after it
+     * (e.g. a piece removed from a trap), and to restore the Zobrist key and turn state from before the move.
      *
-     * @param move PushMove object with the old and new positions of both pieces.
+     * @throws IllegalStateException If there is no move to unmake.
      */
-    private void makePushMove(PushMove move) {
-        StepMove pushingPieceMove = new StepMove(move.getFrom(), move.getTo());
-        StepMove pushedPieceMove = new StepMove(move.getPushedPieceFrom(), move.getPushedPieceTo());
-        makeStepMove(pushedPieceMove);
-        makeStepMove(pushingPieceMove);
+    public void unmakeMove() {
+        if (undoDepth == 0) {
+            throw new IllegalStateException("There is no move to unmake.");
+        }
+        undoDepth--;
+        int frameStart = frameStarts[undoDepth];
+        while (undoChanges > frameStart) {
+            undoChanges--;
+            writeSquare(undoSquares[undoChanges], undoPieces[undoChanges]);
+        }
+        sideToMove = frameSides[undoDepth];
+        stepsLeft = frameStepsLeft[undoDepth];
+        assert getZobristKey() == frameKeys[undoDepth];
+    }
+
+    /**
+     * Sets the listener told about every square change, including those of unmakeMove (one listener per board).
+     *
+     * @param listener BoardListener object, or null to remove the current one.
+     */
+    public void setBoardListener(BoardListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Method to check whether a listener is set.
+     *
+     * @return Boolean value of the check.
+     */
+    public boolean hasBoardListener() {
+        return listener != null;
+    }
+
+    /**
+     * Gets the number of moves which can be unmade.
+     *
+     * @return The number of open undo frames.
+     */
+    public int getUndoDepth() {
+        return undoDepth;
+    }
+
+    /**
+     * Method to forget all moves which can be unmade (the current position becomes the new starting point).
+     */
+    public void clearUndoHistory() {
+        undoChanges = 0;
+        undoDepth = 0;
+    }
+
+    /**
+     * Method to open a new undo frame remembering the journal position, Zobrist key and turn state.
+     */
+    private void pushUndoFrame() {
+        if (undoDepth == frameStarts.length) {
+            int capacity = undoDepth * 2;
+            frameStarts = Arrays.copyOf(frameStarts, capacity);
+            frameKeys = Arrays.copyOf(frameKeys, capacity);
+            frameSides = Arrays.copyOf(frameSides, capacity);
+            frameStepsLeft = Arrays.copyOf(frameStepsLeft, capacity);
+        }
+        frameStarts[undoDepth] = undoChanges;
+        frameKeys[undoDepth] = getZobristKey();
+        frameSides[undoDepth] = sideToMove;
+        frameStepsLeft[undoDepth] = stepsLeft;
+        undoDepth++;
     }
 
     /**
      * Method to empty the board (set all positions to null)
      */
     public void emptyBoard() {
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            for (int col = 0; col < BOARD_SIZE; col++) {
-                board[row][col] = null;
-            }
+        clearUndoHistory();
+        for (int index = 0; index < Bitboard.SQUARES; index++) {
+            setSquare(index, Piece.EMPTY);
         }
     }
 
@@ -147,33 +720,54 @@ public class Board {
      * @return Boolean value whether this player has won.
      */
     public Boolean hasPlayerWon(Player player, Player enemy){
-        // 1. Player's rabbit is in the goal row.
-        Position[] goalRowPositions = player.getColor() == Color.GOLD ? Position.GOLD_GOAL_ROW : Position.SILVER_GOAL_ROW;
-        for (Position position : goalRowPositions){
-            Piece piece = getPieceAt(position);
-            if (piece != null && piece.owner() == player && piece.type() == PieceType.RABBIT){
-                return true;
-            }
-        }
-        // 2. Enemy lost all of their rabbits.
-        ArrayList<Position> enemyPiecesPositions = getPositionsOfPlayersPieces(enemy);
-        int enemyRabbitsCount = 0;
-        for (Position position : enemyPiecesPositions){
-            if (getPieceAt(position).type() == PieceType.RABBIT){
-                enemyRabbitsCount++;
-            }
-        }
-        if (enemyRabbitsCount == 0){
+        // 1. Player's rabbit is in the goal row. 2. Enemy lost all of their rabbits.
+        if (hasWonByGoalOrElimination(player.getColor(), enemy.getColor())){
             return true;
         }
-
         // 3. Player immobilized all enemy pieces
-        int enemyPositions = enemyPiecesPositions.size();
-        int frozenEnemyPiecePositions = 0;
-        for (Position position : enemyPiecesPositions){
-            frozenEnemyPiecePositions += isPositionFrozen(position) ? 1 : 0;
-        }
-        return enemyPositions == frozenEnemyPiecePositions;
+        return isImmobilized(enemy.getColor());
+    }
+
+    /**
+     * Method to check the win conditions which can be decided after every single step, using the rabbit counters.
+     *
+     * @param color Color of the player for which we'd like to run a check.
+     * @param enemyColor Color of the enemy.
+     * @return Boolean value whether a rabbit of the player is in the goal row or the enemy has no rabbits left.
+     */
+    public boolean hasWonByGoalOrElimination(Color color, Color enemyColor){
+        return goalRabbitCounts[color.ordinal()] > 0 || rabbitCounts[enemyColor.ordinal()] == 0;
+    }
+
+    /**
+     * Method to check whether all pieces of a color are frozen.
+     * Only meaningful when a turn ends, so Game evaluates it then instead of after every step.
+     *
+     * @param color Color of the examined player.
+     * @return Boolean value of the check.
+     */
+    public boolean isImmobilized(Color color){
+        return (getColorBitboard(color) & ~getFrozenBitboard(color)) == 0;
+    }
+
+    /**
+     * Gets the number of rabbits of a color on the board.
+     *
+     * @param color Color of the rabbits.
+     * @return The number of rabbits.
+     */
+    public int getRabbitCount(Color color){
+        return rabbitCounts[color.ordinal()];
+    }
+
+    /**
+     * Gets the number of rabbits of a color standing in their goal row.
+     *
+     * @param color Color of the rabbits.
+     * @return The number of rabbits in the goal row.
+     */
+    public int getGoalRabbitCount(Color color){
+        return goalRabbitCounts[color.ordinal()];
     }
 
     /**
@@ -185,9 +779,10 @@ public class Board {
      * @param player2 Player object representing the second player (lowercase, starts in the 1-2th row, heads to the 8th row).
      */
     public void populateBoardFrom2DString(String[][] board2DString, Player player1, Player player2){
+        clearUndoHistory();
         for (int i = 0; i < BOARD_SIZE; i++){
             for (int j = 0; j < BOARD_SIZE; j++){
-                Position position = new Position(i, j);
+                Position position = Position.of(i, j);
                 String stringPiece = board2DString[i][j];
                 if (Objects.equals(stringPiece, "")){
                     placePiece(null, position);
@@ -221,17 +816,7 @@ public class Board {
      * @return ArrayList<Position> Positions of player's pieces.
      */
     public ArrayList<Position> getPositionsOfPlayersPieces(Player player){
-        ArrayList<Position> positionsArrayList = new ArrayList<>();
-        for (int i = 0; i < BOARD_SIZE; i++){
-            for (int j = 0; j < BOARD_SIZE; j++){
-                Position position = new Position(i, j);
-                Piece piece = getPieceAt(position);
-                if (piece != null && piece.owner() == player){
-                    positionsArrayList.add(position);
-                }
-            }
-        }
-        return positionsArrayList;
+        return Bitboard.toPositions(getColorBitboard(player.getColor()));
     }
 
     /**
@@ -243,13 +828,7 @@ public class Board {
      */
     public boolean isFriendlyPieceNearby(Position position){
         Piece piece = getPieceAt(position);
-        Player owner = piece.owner();
-        // This iterates for all valid adjacent positions (meaning for a position in the corner only 2 positions are checked)
-        for (Position onePosition : position.getAdjacentPositions(Direction.getFourDirections())){
-            Piece adjacentPiece = getPieceAt(onePosition);
-            if (adjacentPiece != null && adjacentPiece.owner() == owner) return true;
-        }
-        return false;
+        return (getFriendlyNeighborBitboard(piece.color()) & Bitboard.bit(position)) != 0;
     }
 
     /**
@@ -260,17 +839,19 @@ public class Board {
      * @return Boolean value of the check.
      */
     public ArrayList<Position> getPositionsOfStrongerAdjacentEnemyPieces(Position position){
-        ArrayList<Position> positionsArrayList = new ArrayList<>();
-        Piece piece = getPieceAt(position);
-        Player owner = piece.owner();
-        // This iterates for all valid adjacent positions (meaning for a position in the corner only 2 positions are checked)
-        for (Position onePosition : position.getAdjacentPositions(Direction.getFourDirections())){
-            Piece adjacentPiece = getPieceAt(onePosition);
-            if (adjacentPiece != null && adjacentPiece.owner() != owner && adjacentPiece.type().isStrongerThan(piece.type())){
-                positionsArrayList.add(onePosition);
-            }
-        }
-        return positionsArrayList;
+        return Bitboard.toPositions(getStrongerAdjacentEnemyBitboard(Bitboard.index(position)));
+    }
+
+    /**
+     * Method to get the mask of stronger enemy pieces adjacent to an occupied square.
+     *
+     * @param index Square index of the examined piece.
+     * @return Mask of the stronger adjacent enemy pieces.
+     */
+    long getStrongerAdjacentEnemyBitboard(int index){
+        byte code = squares[index];
+        long strongerEnemies = getStrongerPiecesBitboard(enemyOf(COLOR_OF_CODE[code]), TYPE_OF_CODE[code]);
+        return Bitboard.neighborsOf(index) & strongerEnemies;
     }
 
     /**
@@ -281,7 +862,7 @@ public class Board {
      * @return Boolean value of the check.
      */
     public boolean isStrongerEnemyPieceNearby(Position position){
-        return getPositionsOfStrongerAdjacentEnemyPieces(position).size()>0;
+        return getStrongerAdjacentEnemyBitboard(Bitboard.index(position)) != 0;
     }
 
     /**
@@ -292,7 +873,38 @@ public class Board {
      * @return Boolean value of the check.
      */
     public boolean isPositionFrozen(Position position){
-        return isStrongerEnemyPieceNearby(position) && !isFriendlyPieceNearby(position);
+        return isSquareFrozen(Bitboard.index(position));
+    }
+
+    /**
+     * Method to check whether the piece on a square is frozen (stronger enemy adjacent and no friendly piece adjacent).
+     *
+     * @param index Square index of the examined piece.
+     * @return Boolean value of the check, false for an empty square.
+     */
+    private boolean isSquareFrozen(int index){
+        return ((frozenBitboards[0] | frozenBitboards[1]) & 1L << index) != 0;
+    }
+
+    /**
+     * Gets the mask of the frozen pieces of one color (maintained incrementally, no recomputation).
+     *
+     * @param color Color of the pieces.
+     * @return Mask of the frozen pieces.
+     */
+    public long getFrozenBitboard(Color color) {
+        return frozenBitboards[color.ordinal()];
+    }
+
+    /**
+     * Gets the mask of squares with at least one adjacent piece of one color.
+     * A piece of that color on such a square has a friendly neighbour (it is neither frozen nor captured on a trap).
+     *
+     * @param color Color of the neighbouring pieces.
+     * @return Mask of the squares having a neighbour of the color.
+     */
+    public long getFriendlyNeighborBitboard(Color color) {
+        return friendlyNeighborBitboards[color.ordinal()];
     }
 
     /**
@@ -303,7 +915,7 @@ public class Board {
      * @return Boolean value of the check.
      */
     public boolean isPositionEmpty(Position position){
-        return getPieceAt(position) == null;
+        return (getOccupiedBitboard() & Bitboard.bit(position)) == 0;
     }
 
     /**
@@ -315,19 +927,28 @@ public class Board {
      */
     public ArrayList<StepMove> getValidStepMovesByItselfForPosition(Position position){
         ArrayList<StepMove> stepMoveArrayList = new ArrayList<>();
-        Piece piece = getPieceAt(position);
-        // This gets all legal directions for the piece (based on player's goal direction and piece type)
-        ArrayList<Direction> directionsArrayList = piece.getPossibleDirections();
-        if (isPositionFrozen(position)) return new ArrayList<>();
-        // This iterates for all valid adjacent positions (meaning for a position in the corner only 2 positions are checked)
-        for (Position onePosition : position.getAdjacentPositions(directionsArrayList)){
-            if(isPositionEmpty(onePosition)){
-                stepMoveArrayList.add(new StepMove(position, onePosition));
-            }
+        int index = Bitboard.index(position);
+        if (isSquareFrozen(index)) return stepMoveArrayList;
+        long targets = getStepTargetsBitboard(index);
+        for (Position onePosition : Bitboard.toPositions(targets)){
+            stepMoveArrayList.add(new StepMove(position, onePosition));
         }
         return stepMoveArrayList;
     }
 
+    /**
+     * Method to get the empty squares the piece on a square may step to by itself (freezing is not checked).
+     * Rabbits cannot step backwards.
+     *
+     * @param index Square index of the examined piece.
+     * @return Mask of the empty target squares.
+     */
+    long getStepTargetsBitboard(int index){
+        byte code = squares[index];
+        long targets = TYPE_OF_CODE[code] == PieceType.RABBIT ? Bitboard.rabbitStepsOf(COLOR_OF_CODE[code], index) : Bitboard.neighborsOf(index);
+        return targets & ~getOccupiedBitboard();
+    }
+
 
     /**
      * Method to get all valid Step Moves for the current position, when the move is done by the enemy (pushing/pulling).
@@ -338,16 +959,11 @@ public class Board {
      */
     public ArrayList<StepMove> getValidStepMovesByPushingPullingForPosition(Position position){
         ArrayList<StepMove> stepMoveArrayList = new ArrayList<>();
-        // This gets north, west, south, east directions
-        ArrayList<Direction> directionsArrayList = Direction.getFourDirections();
-        // This iterates for all valid adjacent positions (meaning for a position in the corner only 2 positions are checked)
-        for (Position onePosition : position.getAdjacentPositions(directionsArrayList)){
-            if(isPositionEmpty(onePosition)){
-                stepMoveArrayList.add(new StepMove(position, onePosition));
-            }
+        long targets = Bitboard.neighborsOf(position.index()) & ~getOccupiedBitboard();
+        for (Position onePosition : Bitboard.toPositions(targets)){
+            stepMoveArrayList.add(new StepMove(position, onePosition));
         }
         return stepMoveArrayList;
-
     }
 
     /**
@@ -357,7 +973,8 @@ public class Board {
      * @return Boolean value of the check.
      */
     public boolean canStepMove(Position position){
-        return getValidStepMovesByItselfForPosition(position).size() > 0;
+        int index = Bitboard.index(position);
+        return getStepTargetsBitboard(index) != 0 && !isSquareFrozen(index);
     }
 
     /**
@@ -367,7 +984,7 @@ public class Board {
      * @return Boolean value of the check.
      */
     public boolean canBeMoved(Position position){
-        return getValidStepMovesByPushingPullingForPosition(position).size() > 0;
+        return (Bitboard.neighborsOf(position.index()) & ~getOccupiedBitboard()) != 0;
     }
 
     /**
@@ -377,11 +994,34 @@ public class Board {
      * @return ArrayList<Position> Positions of pieces able to step move.
      */
     public ArrayList<Position> getPositionsOfPlayersPiecesWhichCanStepMove(Player player){
-        ArrayList<Position> positionArrayList = new ArrayList<>();
-        for (Position position : getPositionsOfPlayersPieces(player)){
-            if (canStepMove(position)) positionArrayList.add(position);
+        return Bitboard.toPositions(getStepMoversBitboard(player.getColor()));
+    }
+
+    /**
+     * Method to get the mask of unfrozen pieces of a color having at least one empty square to step to.
+     * Rabbits cannot step backwards.
+     *
+     * @param color Color of the moving player.
+     * @return Mask of the pieces able to step move.
+     */
+    public long getStepMoversBitboard(Color color){
+        return getMobility(color).getStepSources();
+    }
+
+    /**
+     * Method to get the step, push and pull candidates of a player, computed in one pass over the board.
+     * The result is cached and reused until the board changes, so repeated queries (GUI highlights,
+     * computer player) are free; it must not be kept across board changes.
+     *
+     * @param color Color of the moving player.
+     * @return Mobility object of the player for the current board.
+     */
+    public Mobility getMobility(Color color){
+        Mobility mobility = mobilities[color.ordinal()];
+        if (!mobility.isValidFor(color, version)){
+            mobility.compute(this, color, version);
         }
-        return positionArrayList;
+        return mobility;
     }
 
     /**
@@ -391,11 +1031,7 @@ public class Board {
      * @return ArrayList<Position> Positions of pieces able to be moved.
      */
     public ArrayList<Position> getPositionsOfPlayersPiecesWhichCanBeMoved(Player player){
-        ArrayList<Position> positionArrayList = new ArrayList<>();
-        for (Position position : getPositionsOfPlayersPieces(player)){
-            if (canBeMoved(position)) positionArrayList.add(position);
-        }
-        return positionArrayList;
+        return Bitboard.toPositions(getColorBitboard(player.getColor()) & Bitboard.neighbors(~getOccupiedBitboard()));
     }
 
     /**
@@ -406,10 +1042,12 @@ public class Board {
      * @return Boolean value of the check.
      */
     public boolean canBePulled(Position position){
-        ArrayList<Position> strongerEnemyNearbyPositions = getPositionsOfStrongerAdjacentEnemyPieces(position);
+        long strongerEnemies = getStrongerAdjacentEnemyBitboard(Bitboard.index(position));
         // We need to iterate over stronger adjacent pieces to maker sure they can step move as well.
-        for (Position onePosition : strongerEnemyNearbyPositions){
-            if(canStepMove(onePosition)) return true;
+        while (strongerEnemies != 0){
+            int index = Long.numberOfTrailingZeros(strongerEnemies);
+            if (getStepTargetsBitboard(index) != 0 && !isSquareFrozen(index)) return true;
+            strongerEnemies &= strongerEnemies - 1;
         }
         return false;
     }
@@ -422,14 +1060,18 @@ public class Board {
      * @return ArrayList<Position> positions of all the enemy pieces which can be pulled.
      */
     public ArrayList<Position> getPositionsOfEnemyPiecesWhichCanBePulled(Player player, Player enemy){
-        ArrayList<Position> enemyPiecesPositions = getPositionsOfPlayersPieces(enemy);
-        ArrayList<Position> pullablePositions = new ArrayList<>();
-        for (Position onePosition : enemyPiecesPositions){
-            if (canBePulled(onePosition)){
-                pullablePositions.add(onePosition);
-            }
-        }
-        return pullablePositions;
+        return Bitboard.toPositions(getPullableBitboard(enemy.getColor()));
+    }
+
+    /**
+     * Method to get the mask of pieces of a color which the enemy can pull
+     * (adjacent to a stronger enemy piece that can step move).
+     *
+     * @param color Color of the pulled pieces.
+     * @return Mask of the pullable pieces.
+     */
+    public long getPullableBitboard(Color color){
+        return getMobility(enemyOf(color)).getPullable();
     }
 
     /**
@@ -439,11 +1081,9 @@ public class Board {
      * @return Boolean value of the check.
      */
     public ArrayList<Position> getPositionsOfPossiblePullingPieces(Position pulledPiecePosition){
-        ArrayList<Position> pullingPieces = new ArrayList<>();
-        for (Position pullingPiecePosition : getPositionsOfStrongerAdjacentEnemyPieces(pulledPiecePosition)){
-            if (canStepMove(pullingPiecePosition)) pullingPieces.add(pullingPiecePosition);
-        }
-        return pullingPieces;
+        Piece pulledPiece = getPieceAt(pulledPiecePosition);
+        if (pulledPiece == null) return new ArrayList<>();
+        return Bitboard.toPositions(getMobility(enemyOf(pulledPiece.color())).getPullers(pulledPiecePosition.index()));
     }
 
     /**
@@ -474,7 +1114,17 @@ public class Board {
      * @return Boolean value of the check.
      */
     public boolean canBePushed(Position position){
-        return canBeMoved(position) && isStrongerEnemyPieceNearby(position);
+        return canBeMoved(position) && getUnfrozenPushersBitboard(Bitboard.index(position)) != 0;
+    }
+
+    /**
+     * Method to get the mask of stronger, unfrozen enemy pieces adjacent to a square (frozen pieces cannot push).
+     *
+     * @param index Square index of the pushed piece.
+     * @return Mask of the possible pushers.
+     */
+    private long getUnfrozenPushersBitboard(int index){
+        return getStrongerAdjacentEnemyBitboard(index) & ~(frozenBitboards[0] | frozenBitboards[1]);
     }
 
     /**
@@ -485,14 +1135,18 @@ public class Board {
      * @return ArrayList<Position> positions of all the enemy pieces which can be pushed.
      */
     public ArrayList<Position> getPositionsOfEnemyPiecesThatCanBePushed(Player player, Player enemy){
-        ArrayList<Position> enemyPiecesPositions = getPositionsOfPlayersPieces(enemy);
-        ArrayList<Position> pushablePositions = new ArrayList<>();
-        for (Position onePosition : enemyPiecesPositions){
-            if (canBePushed(onePosition)){
-                pushablePositions.add(onePosition);
-            }
-        }
-        return pushablePositions;
+        return Bitboard.toPositions(getPushableBitboard(enemy.getColor()));
+    }
+
+    /**
+     * Method to get the mask of pieces of a color which the enemy can push
+     * (having an empty neighbouring square and a stronger, unfrozen enemy piece next to them).
+     *
+     * @param color Color of the pushed pieces.
+     * @return Mask of the pushable pieces.
+     */
+    public long getPushableBitboard(Color color){
+        return getMobility(enemyOf(color)).getPushable();
     }
 
     /**
@@ -502,7 +1156,9 @@ public class Board {
      * @return Boolean value of the check.
      */
     public ArrayList<Position> getPositionsOfPossiblePushingPieces(Position pushedPiecePosition){
-        return getPositionsOfStrongerAdjacentEnemyPieces(pushedPiecePosition);
+        Piece pushedPiece = getPieceAt(pushedPiecePosition);
+        if (pushedPiece == null) return new ArrayList<>();
+        return Bitboard.toPositions(getMobility(enemyOf(pushedPiece.color())).getPushers(pushedPiecePosition.index()));
     }
 
     /**
@@ -525,4 +1181,122 @@ public class Board {
         return pushMoveArrayList;
     }
 
-}
\ No newline at end of file
+    /**
+     * Method to append all legal step moves of one color to a move list (no allocation).
+     *
+     * @param color Color of the moving player.
+     * @param moveList MoveList the encoded moves are appended to.
+     */
+    public void generateStepMoves(Color color, MoveList moveList){
+        long pieces = getColorBitboard(color) & ~getFrozenBitboard(color);
+        while (pieces != 0){
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            long targets = getStepTargetsBitboard(from);
+            while (targets != 0){
+                moveList.add(PackedMove.step(from, Long.numberOfTrailingZeros(targets)));
+                targets &= targets - 1;
+            }
+        }
+    }
+
+    /**
+     * Method to append all legal push moves of one color to a move list (no allocation).
+     * An unfrozen piece pushes an adjacent weaker enemy piece to any empty square next to it.
+     *
+     * @param color Color of the pushing player.
+     * @param moveList MoveList the encoded moves are appended to.
+     */
+    public void generatePushMoves(Color color, MoveList moveList){
+        generatePushMoves(getColorBitboard(enemyOf(color)), moveList);
+    }
+
+    /**
+     * Method to append the legal push moves of some pieces to a move list (no allocation).
+     *
+     * @param victims Mask of the pushed pieces (all of one color).
+     * @param moveList MoveList the encoded moves are appended to.
+     */
+    private void generatePushMoves(long victims, MoveList moveList){
+        long empty = ~getOccupiedBitboard();
+        while (victims != 0){
+            int victim = Long.numberOfTrailingZeros(victims);
+            victims &= victims - 1;
+            long destinations = Bitboard.neighborsOf(victim) & empty;
+            if (destinations == 0) continue;
+            long pushers = getUnfrozenPushersBitboard(victim);
+            while (pushers != 0){
+                int pusher = Long.numberOfTrailingZeros(pushers);
+                pushers &= pushers - 1;
+                long targets = destinations;
+                while (targets != 0){
+                    moveList.add(PackedMove.push(pusher, victim, Long.numberOfTrailingZeros(targets)));
+                    targets &= targets - 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to append all legal pull moves of one color to a move list (no allocation).
+     * An unfrozen piece steps away from an adjacent weaker enemy piece, which follows into the vacated square.
+     *
+     * @param color Color of the pulling player.
+     * @param moveList MoveList the encoded moves are appended to.
+     */
+    public void generatePullMoves(Color color, MoveList moveList){
+        generatePullMoves(color, getColorBitboard(enemyOf(color)), moveList);
+    }
+
+    /**
+     * Method to append the legal pull moves of some enemy pieces to a move list (no allocation).
+     *
+     * @param color Color of the pulling player.
+     * @param victims Mask of the pulled pieces (enemy pieces only).
+     * @param moveList MoveList the encoded moves are appended to.
+     */
+    private void generatePullMoves(Color color, long victims, MoveList moveList){
+        while (victims != 0){
+            int victim = Long.numberOfTrailingZeros(victims);
+            victims &= victims - 1;
+            long pullers = getStrongerAdjacentEnemyBitboard(victim) & ~getFrozenBitboard(color);
+            while (pullers != 0){
+                int puller = Long.numberOfTrailingZeros(pullers);
+                pullers &= pullers - 1;
+                long targets = getStepTargetsBitboard(puller);
+                while (targets != 0){
+                    moveList.add(PackedMove.pull(puller, Long.numberOfTrailingZeros(targets), victim));
+                    targets &= targets - 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to append all legal pushes and pulls of some enemy pieces to a move list (no allocation).
+     *
+     * @param color Color of the pushing and pulling player.
+     * @param victims Mask of the enemy pieces to be moved (pieces of the player's own color are ignored).
+     * @param moveList MoveList the encoded moves are appended to.
+     */
+    public void generatePushPullMoves(Color color, long victims, MoveList moveList){
+        victims &= getColorBitboard(enemyOf(color));
+        generatePushMoves(victims, moveList);
+        generatePullMoves(color, victims, moveList);
+    }
+
+    /**
+     * Method to fill a move list with all legal moves of one color which fit into the steps left.
+     * The moves are taken from the player's Mobility analysis, the one the GUI highlights are read from.
+     *
+     * @param color Color of the moving player.
+     * @param stepsLeft Number of steps left this turn (push and pull need 2).
+     * @param moveList MoveList to be cleared and filled with encoded moves.
+     */
+    public void generateMoves(Color color, int stepsLeft, MoveList moveList){
+        moveList.clear();
+        if (stepsLeft < 1) return;
+        getMobility(color).appendMoves(stepsLeft, moveList);
+    }
+
+}
@@ -0,0 +1,15 @@
+package arimaa.core;
+
+/**
+ * The BoardListener interface to communicate Board -> incrementally updated analyses (e.g. the evaluation)
+ */
+public interface BoardListener {
+
+    /**
+     * Let the destination know that the content of a square changed (also while moves are unmade).
+     * @param index Square index (row * 8 + column).
+     * @param oldCode Piece code which stood on the square (Piece.EMPTY if none).
+     * @param newCode Piece code now standing on the square (Piece.EMPTY if none).
+     */
+    void onSquareChanged(int index, byte oldCode, byte newCode);
+}
@@ -60,6 +60,10 @@ public class Game {
      * Instance variable: holding number of moves out of 4 the current player has available during current turn
      */
     private int movesLeftThisTurn;
+    /**
+     * Instance variable: position key of the board when the current turn started (0 if unknown, for a game loaded mid-turn)
+     */
+    private long turnStartKey;
     /**
      * Instance variable: game listener interface to fire up specific actions in the Game Controls Panel
      */
@@ -154,6 +158,7 @@ public class Game {
      */
     public void setCurrentPlayer(Player currentPlayer){
         this.currentPlayer = currentPlayer;
+        syncBoardTurnState();
     }
 
     /**
@@ -219,6 +224,15 @@ public class Game {
         return movesLeftThisTurn;
     }
 
+    /**
+     * Gets the position key of the board at the start of the current turn, which the turn must not end on.
+     *
+     * @return The key (Board.getPositionKey), or 0 if the game was loaded in the middle of a turn.
+     */
+    public long getTurnStartKey(){
+        return movesLeftThisTurn == 4 ? board.getPositionKey() : turnStartKey;
+    }
+
     /**
      * Sets the number of moves left this turn.
      *
@@ -226,6 +240,7 @@ public class Game {
      */
     public void setMovesLeftThisTurn(int movesLeftThisTurn) {
         this.movesLeftThisTurn = movesLeftThisTurn;
+        syncBoardTurnState();
     }
 
     /**
@@ -249,8 +264,12 @@ public class Game {
 
     /**
      * Method to increment phase (1->2: log initial gold positions, 2->3: log initial silver positions)
+     * After a played turn, the player who just moved wins if all enemy pieces are immobilized; the phase then stays.
      */
     public void incrementPhase(){
+        if (gamePhase >= 3 && checkImmobilization()){
+            return;
+        }
         if (gamePhase == 1){
             stepsBuilder.append(phaseToTurnBeginning());
         }
@@ -276,6 +295,15 @@ public class Game {
         currentPlayer = enemyPlayer;
         enemyPlayer = newEnemyPlayer;
         movesLeftThisTurn = 4;
+        turnStartKey = board.getPositionKey();
+        syncBoardTurnState();
+    }
+
+    /**
+     * Method to pass the side to move and moves left to the board, as they are part of the position's Zobrist key.
+     */
+    private void syncBoardTurnState(){
+        board.setTurnState(currentPlayer.getColor(), movesLeftThisTurn);
     }
 
 
@@ -286,18 +314,43 @@ public class Game {
      */
     public void decrementMovesLeftThisTurnBy(int number){
         movesLeftThisTurn -= number;
+        syncBoardTurnState();
         gameListener.onMovesLeftChanged(movesLeftThisTurn);
     }
 
     /**
-     * Method to ask the board to examine winning conditions and possible end the game.
+     * Method to ask the board to examine the per-step winning conditions (goal, rabbit loss) and possible end the game.
+     * Both are read from the board's rabbit counters; immobilization is only examined when a turn ends.
      */
     public void checkWinning(){
-        boolean player1won = board.hasPlayerWon(player1, player2);
-        boolean player2won = board.hasPlayerWon(player2, player1);
+        boolean player1won = board.hasWonByGoalOrElimination(player1.getColor(), player2.getColor());
+        boolean player2won = board.hasWonByGoalOrElimination(player2.getColor(), player1.getColor());
         if (player1won || player2won){
-            winner = player1won ? player1 : player2;
-            gameEnded = true;
+            endGame(player1won ? player1 : player2);
+        }
+    }
+
+    /**
+     * Method to check at the end of a turn whether the current player immobilized all enemy pieces, possibly ending the game.
+     *
+     * @return Boolean value whether the game ended.
+     */
+    public boolean checkImmobilization(){
+        if (!gameEnded && board.isImmobilized(enemyPlayer.getColor())){
+            endGame(currentPlayer);
+        }
+        return gameEnded;
+    }
+
+    /**
+     * Method to set the winner, end the game and notify the listener.
+     *
+     * @param winner The winner player.
+     */
+    private void endGame(Player winner){
+        this.winner = winner;
+        gameEnded = true;
+        if (gameListener != null){
             gameListener.onGameEnded(winner);
         }
     }
@@ -324,9 +377,7 @@ public class Game {
     }
 
     public void endGameByResign(){
-        setWinner(enemyPlayer);
-        gameEnded = true;
-        gameListener.onGameEnded(winner);
+        endGame(enemyPlayer);
     }
 
 
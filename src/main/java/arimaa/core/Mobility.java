@@ -0,0 +1,214 @@
+package arimaa.core;
+
+import arimaa.utils.Bitboard;
+import arimaa.utils.Color;
+
+/**
+ * The Mobility class holds the step, push and pull candidates of one player, computed in a single pass over the board.
+ * It is obtained through {@link Board#getMobility(Color)}, which reuses it until the board changes,
+ * so the GUI highlights and the computer player share one computation: {@link Board#generateMoves} appends its moves.
+ */
+public class Mobility {
+    /**
+     * Instance variable: color of the moving player
+     */
+    private Color color;
+    /**
+     * Instance variable: board version the analysis was computed for (-1 if never computed)
+     */
+    private long version;
+    /**
+     * Instance variable: mask of the empty squares
+     */
+    private long empty;
+    /**
+     * Instance variable: mask of the unfrozen pieces of the player having an empty square to step to
+     */
+    private long stepSources;
+    /**
+     * Instance variable: mask of the enemy pieces the player can push
+     */
+    private long pushable;
+    /**
+     * Instance variable: mask of the enemy pieces the player can pull
+     */
+    private long pullable;
+    /**
+     * Instance variable: squares a piece of the player can step to, indexed by its square
+     */
+    private final long[] stepTargets;
+    /**
+     * Instance variable: pieces of the player able to push the enemy piece, indexed by the enemy piece's square
+     */
+    private final long[] pushers;
+    /**
+     * Instance variable: pieces of the player able to pull the enemy piece, indexed by the enemy piece's square
+     */
+    private final long[] pullers;
+
+    /**
+     * Constructs a new, not yet computed Mobility object.
+     */
+    Mobility() {
+        version = -1;
+        stepTargets = new long[Bitboard.SQUARES];
+        pushers = new long[Bitboard.SQUARES];
+        pullers = new long[Bitboard.SQUARES];
+    }
+
+    /**
+     * Method to recompute the analysis for one player.
+     * Own pieces are visited once for their step targets, then enemy pieces once for their pushers and pullers.
+     *
+     * @param board Board object to be analysed.
+     * @param color Color of the moving player.
+     * @param version Board version of the analysis.
+     */
+    void compute(Board board, Color color, long version) {
+        this.color = color;
+        this.version = version;
+        empty = ~board.getOccupiedBitboard();
+        stepSources = 0L;
+        pushable = 0L;
+        pullable = 0L;
+        long frozen = board.getFrozenBitboard(color);
+        for (int i = 0; i < board.getPieceCount(color); i++) {
+            int square = board.getPieceSquare(color, i);
+            stepTargets[square] = 0L;
+            if ((frozen & 1L << square) != 0) continue;
+            long targets = board.getStepTargetsBitboard(square);
+            stepTargets[square] = targets;
+            if (targets != 0) stepSources |= 1L << square;
+        }
+        Color enemy = color == Color.GOLD ? Color.SILVER : Color.GOLD;
+        for (int i = 0; i < board.getPieceCount(enemy); i++) {
+            int victim = board.getPieceSquare(enemy, i);
+            long strongerUnfrozen = board.getStrongerAdjacentEnemyBitboard(victim) & ~frozen;
+            pushers[victim] = (Bitboard.neighborsOf(victim) & empty) != 0 ? strongerUnfrozen : 0L;
+            pullers[victim] = strongerUnfrozen & stepSources;
+            if (pushers[victim] != 0) pushable |= 1L << victim;
+            if (pullers[victim] != 0) pullable |= 1L << victim;
+        }
+    }
+
+    /**
+     * Method to check whether the analysis is up to date.
+     *
+     * @param color Color of the moving player.
+     * @param version Current board version.
+     * @return Boolean value of the check.
+     */
+    boolean isValidFor(Color color, long version) {
+        return this.version == version && this.color == color;
+    }
+
+    /**
+     * Gets the color of the moving player.
+     *
+     * @return Color of the player the analysis was made for.
+     */
+    public Color getColor() {
+        return color;
+    }
+
+    /**
+     * Gets the mask of pieces able to step move.
+     *
+     * @return Mask of the step sources.
+     */
+    public long getStepSources() {
+        return stepSources;
+    }
+
+    /**
+     * Gets the mask of enemy pieces which can be pushed.
+     *
+     * @return Mask of the pushable pieces.
+     */
+    public long getPushable() {
+        return pushable;
+    }
+
+    /**
+     * Gets the mask of enemy pieces which can be pulled.
+     *
+     * @return Mask of the pullable pieces.
+     */
+    public long getPullable() {
+        return pullable;
+    }
+
+    /**
+     * Gets the squares a piece of the player can step to.
+     *
+     * @param square Square index of the piece.
+     * @return Mask of the step targets (0 if the piece is frozen or not a step source).
+     */
+    public long getStepTargets(int square) {
+        return (stepSources & 1L << square) != 0 ? stepTargets[square] : 0L;
+    }
+
+    /**
+     * Gets the pieces of the player able to push an enemy piece.
+     *
+     * @param victim Square index of the enemy piece.
+     * @return Mask of the pushers.
+     */
+    public long getPushers(int victim) {
+        return (pushable & 1L << victim) != 0 ? pushers[victim] : 0L;
+    }
+
+    /**
+     * Gets the squares an enemy piece can be pushed to.
+     *
+     * @param victim Square index of the enemy piece.
+     * @return Mask of the push destinations.
+     */
+    public long getPushDestinations(int victim) {
+        return Bitboard.neighborsOf(victim) & empty;
+    }
+
+    /**
+     * Gets the pieces of the player able to pull an enemy piece.
+     *
+     * @param victim Square index of the enemy piece.
+     * @return Mask of the pullers.
+     */
+    public long getPullers(int victim) {
+        return (pullable & 1L << victim) != 0 ? pullers[victim] : 0L;
+    }
+
+    /**
+     * Method to append every move of the analysis which fits into the steps left to a move list.
+     *
+     * @param stepsLeft Number of steps left this turn (push and pull need 2).
+     * @param moveList MoveList the encoded moves are appended to.
+     */
+    public void appendMoves(int stepsLeft, MoveList moveList) {
+        if (stepsLeft < 1) return;
+        for (long sources = stepSources; sources != 0; sources &= sources - 1) {
+            int from = Long.numberOfTrailingZeros(sources);
+            for (long targets = stepTargets[from]; targets != 0; targets &= targets - 1) {
+                moveList.add(PackedMove.step(from, Long.numberOfTrailingZeros(targets)));
+            }
+        }
+        if (stepsLeft < 2) return;
+        for (long victims = pushable; victims != 0; victims &= victims - 1) {
+            int victim = Long.numberOfTrailingZeros(victims);
+            for (long from = pushers[victim]; from != 0; from &= from - 1) {
+                for (long targets = getPushDestinations(victim); targets != 0; targets &= targets - 1) {
+                    moveList.add(PackedMove.push(Long.numberOfTrailingZeros(from), victim, Long.numberOfTrailingZeros(targets)));
+                }
+            }
+        }
+        for (long victims = pullable; victims != 0; victims &= victims - 1) {
+            int victim = Long.numberOfTrailingZeros(victims);
+            for (long from = pullers[victim]; from != 0; from &= from - 1) {
+                int puller = Long.numberOfTrailingZeros(from);
+                for (long targets = getStepTargets(puller); targets != 0; targets &= targets - 1) {
+                    moveList.add(PackedMove.pull(puller, Long.numberOfTrailingZeros(targets), victim));
+                }
+            }
+        }
+    }
+}
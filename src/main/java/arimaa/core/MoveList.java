@@ -0,0 +1,96 @@
+package arimaa.core;
+
+import java.util.Arrays;
+
+/**
+ * The MoveList class is a reusable int[]-backed list of encoded moves (see {@link PackedMove}).
+ * Generators append to it, and callers clear and refill the same instance instead of allocating new lists.
+ */
+public class MoveList {
+    /**
+     * Class constant: default capacity, enough for the moves of any regular Arimaa position
+     */
+    public static final int DEFAULT_CAPACITY = 512;
+    /**
+     * Instance variable: encoded moves
+     */
+    private int[] moves;
+    /**
+     * Instance variable: number of moves in the list
+     */
+    private int size;
+
+    /**
+     * Constructs a new empty MoveList with the default capacity.
+     */
+    public MoveList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new empty MoveList.
+     *
+     * @param capacity Initial capacity (the list grows if it is exceeded).
+     */
+    public MoveList(int capacity) {
+        moves = new int[capacity];
+        size = 0;
+    }
+
+    /**
+     * Method to append an encoded move.
+     *
+     * @param move The encoded move.
+     */
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = move;
+    }
+
+    /**
+     * Gets the encoded move at the given index.
+     *
+     * @param index Index in the list.
+     * @return The encoded move.
+     */
+    public int get(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Method to overwrite the encoded move at the given index (used for reordering).
+     *
+     * @param index Index in the list.
+     * @param move The encoded move.
+     */
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    /**
+     * Gets the number of moves in the list.
+     *
+     * @return The number of moves.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method to check whether the list is empty.
+     *
+     * @return Boolean value of the check.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Method to empty the list while keeping its buffer.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,179 @@
+package arimaa.core;
+
+import arimaa.utils.Bitboard;
+
+/**
+ * The PackedMove class encodes a step, push or pull move into a single int, so that move generation does not allocate.
+ * Bits 0-5: from square, 6-11: to square (of the moving piece, i.e. the pusher or the puller),
+ * 12-17: victim from square, 18-23: victim to square, 24-25: kind. Squares are indexed row * 8 + column.
+ */
+public final class PackedMove {
+    /**
+     * Constant: kind of a step move (one piece moves by itself)
+     */
+    public static final int STEP = 0;
+    /**
+     * Constant: kind of a push move (victim moves away, pusher takes its square)
+     */
+    public static final int PUSH = 1;
+    /**
+     * Constant: kind of a pull move (puller moves away, victim takes its square)
+     */
+    public static final int PULL = 2;
+
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int TO_SHIFT = 6;
+    private static final int VICTIM_FROM_SHIFT = 12;
+    private static final int VICTIM_TO_SHIFT = 18;
+    private static final int KIND_SHIFT = 24;
+
+    /**
+     * Utility class, no instances.
+     */
+    private PackedMove() {
+    }
+
+    /**
+     * Method to encode a step move.
+     *
+     * @param from Square the piece moves from.
+     * @param to Square the piece moves to.
+     * @return The encoded move.
+     */
+    public static int step(int from, int to) {
+        return from | to << TO_SHIFT;
+    }
+
+    /**
+     * Method to encode a push move. The pusher ends on the victim's original square.
+     *
+     * @param pusherFrom Square of the pushing piece.
+     * @param victimFrom Square of the pushed piece.
+     * @param victimTo Square the pushed piece is pushed to.
+     * @return The encoded move.
+     */
+    public static int push(int pusherFrom, int victimFrom, int victimTo) {
+        return pusherFrom | victimFrom << TO_SHIFT | victimFrom << VICTIM_FROM_SHIFT | victimTo << VICTIM_TO_SHIFT | PUSH << KIND_SHIFT;
+    }
+
+    /**
+     * Method to encode a pull move. The victim ends on the puller's original square.
+     *
+     * @param pullerFrom Square of the pulling piece.
+     * @param pullerTo Square the pulling piece steps to.
+     * @param victimFrom Square of the pulled piece.
+     * @return The encoded move.
+     */
+    public static int pull(int pullerFrom, int pullerTo, int victimFrom) {
+        return pullerFrom | pullerTo << TO_SHIFT | victimFrom << VICTIM_FROM_SHIFT | pullerFrom << VICTIM_TO_SHIFT | PULL << KIND_SHIFT;
+    }
+
+    /**
+     * Gets the kind of the move (STEP, PUSH or PULL).
+     *
+     * @param move The encoded move.
+     * @return The kind of the move.
+     */
+    public static int kind(int move) {
+        return move >>> KIND_SHIFT;
+    }
+
+    /**
+     * Gets the starting square of the moving piece (the pusher or the puller).
+     *
+     * @param move The encoded move.
+     * @return Square index.
+     */
+    public static int from(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    /**
+     * Gets the destination square of the moving piece (the pusher or the puller).
+     *
+     * @param move The encoded move.
+     * @return Square index.
+     */
+    public static int to(int move) {
+        return move >>> TO_SHIFT & SQUARE_MASK;
+    }
+
+    /**
+     * Gets the starting square of the pushed or pulled piece.
+     *
+     * @param move The encoded move (must be a push or pull).
+     * @return Square index.
+     */
+    public static int victimFrom(int move) {
+        return move >>> VICTIM_FROM_SHIFT & SQUARE_MASK;
+    }
+
+    /**
+     * Gets the destination square of the pushed or pulled piece.
+     *
+     * @param move The encoded move (must be a push or pull).
+     * @return Square index.
+     */
+    public static int victimTo(int move) {
+        return move >>> VICTIM_TO_SHIFT & SQUARE_MASK;
+    }
+
+    /**
+     * Gets the number of steps the move costs (1 for step, 2 for push and pull).
+     *
+     * @param move The encoded move.
+     * @return Number of steps.
+     */
+    public static int stepCost(int move) {
+        return kind(move) == STEP ? 1 : 2;
+    }
+
+    /**
+     * Method to convert the encoded move into a Move object (StepMove, PushMove or PullMove) for the GUI.
+     *
+     * @param move The encoded move.
+     * @return Move object.
+     */
+    public static Move toMove(int move) {
+        return switch (kind(move)) {
+            case PUSH -> new PushMove(Bitboard.toPosition(from(move)), Bitboard.toPosition(to(move)),
+                    Bitboard.toPosition(victimFrom(move)), Bitboard.toPosition(victimTo(move)));
+            case PULL -> new PullMove(Bitboard.toPosition(from(move)), Bitboard.toPosition(to(move)),
+                    Bitboard.toPosition(victimFrom(move)), Bitboard.toPosition(victimTo(move)));
+            default -> new StepMove(Bitboard.toPosition(from(move)), Bitboard.toPosition(to(move)));
+        };
+    }
+
+    /**
+     * Method to encode a Move object (StepMove, PushMove or PullMove).
+     *
+     * @param move Move object.
+     * @return The encoded move.
+     */
+    public static int fromMove(Move move) {
+        int from = Bitboard.index(move.getFrom());
+        int to = Bitboard.index(move.getTo());
+        if (move instanceof PushMove pushMove) {
+            return push(from, Bitboard.index(pushMove.getPushedPieceFrom()), Bitboard.index(pushMove.getPushedPieceTo()));
+        } else if (move instanceof PullMove pullMove) {
+            return pull(from, to, Bitboard.index(pullMove.getPulledPieceFrom()));
+        }
+        return step(from, to);
+    }
+
+    /**
+     * Method to get the string representation of the encoded move per Arimaa notation (squares and directions only).
+     *
+     * @param move The encoded move.
+     * @return The string representation of the move.
+     */
+    public static String toString(int move) {
+        Move decoded = toMove(move);
+        if (decoded instanceof PushMove pushMove) {
+            return pushMove.getPushedPieceFrom() + pushMove.getPushedPieceDirection().getNotation() + " " + decoded;
+        } else if (decoded instanceof PullMove pullMove) {
+            return decoded + " " + pullMove.getPulledPieceFrom() + pullMove.getPulledPieceDirection().getNotation();
+        }
+        return decoded.toString();
+    }
+}
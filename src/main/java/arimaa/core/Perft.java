@@ -0,0 +1,253 @@
+package arimaa.core;
+
+import arimaa.utils.Color;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongSupplier;
+
+/**
+ * The Perft class counts the nodes of the move tree to a fixed depth, to verify move generation and measure its speed.
+ * Step perft: a node is a position after one move (step, push or pull); the side keeps moving until its 4 steps
+ * are used, then the enemy moves (no passing). Turn perft: a node is a position after one distinct turn
+ * (see {@link TurnGenerator}), so passing is included and transpositions within a turn are merged.
+ * The parallel variants split the root moves across a ForkJoinPool, each task working on its own Board copy.
+ */
+public final class Perft {
+    /**
+     * Class constant: steps in a full turn
+     */
+    private static final int STEPS_PER_TURN = TurnGenerator.MAX_STEPS;
+
+    /**
+     * Utility class, no instances.
+     */
+    private Perft() {
+    }
+
+    /**
+     * Method to count the step nodes at a depth (sequentially). The board is returned unchanged.
+     *
+     * @param board Board object of the root position.
+     * @param color Color of the player to move.
+     * @param stepsLeft Steps left in the current turn (1-4).
+     * @param depth Number of moves (step, push or pull) to look ahead.
+     * @return The number of leaf nodes.
+     */
+    public static long countSteps(Board board, Color color, int stepsLeft, int depth) {
+        return countSteps(board, color, stepsLeft, depth, createMoveLists(depth));
+    }
+
+    /**
+     * Method to count the turn nodes at a depth (sequentially). The board is returned unchanged.
+     *
+     * @param board Board object of the root position.
+     * @param color Color of the player to move (with a full turn ahead).
+     * @param depth Number of turns to look ahead.
+     * @return The number of leaf nodes.
+     */
+    public static long countTurns(Board board, Color color, int depth) {
+        return countTurns(board, color, depth, new TurnGenerator(board));
+    }
+
+    /**
+     * Method to count the step nodes at a depth, splitting the root moves across a pool.
+     *
+     * @param board Board object of the root position (not modified).
+     * @param color Color of the player to move.
+     * @param stepsLeft Steps left in the current turn (1-4).
+     * @param depth Number of moves (step, push or pull) to look ahead.
+     * @param pool ForkJoinPool running the root tasks.
+     * @return The number of leaf nodes.
+     */
+    public static long parallelCountSteps(Board board, Color color, int stepsLeft, int depth, ForkJoinPool pool) {
+        if (depth <= 1) return countSteps(new Board(board), color, stepsLeft, depth);
+        MoveList rootMoves = new MoveList();
+        board.generateMoves(color, stepsLeft, rootMoves);
+        List<RecursiveTask<Long>> tasks = new ArrayList<>(rootMoves.size());
+        for (int i = 0; i < rootMoves.size(); i++) {
+            int move = rootMoves.get(i);
+            tasks.add(task(() -> {
+                Board copy = new Board(board);
+                copy.makeMove(move);
+                int left = stepsLeft - PackedMove.stepCost(move);
+                return left == 0
+                        ? countSteps(copy, enemyOf(color), STEPS_PER_TURN, depth - 1)
+                        : countSteps(copy, color, left, depth - 1);
+            }));
+        }
+        return sum(tasks, pool);
+    }
+
+    /**
+     * Method to count the turn nodes at a depth, splitting the root turns across a pool.
+     *
+     * @param board Board object of the root position (not modified).
+     * @param color Color of the player to move (with a full turn ahead).
+     * @param depth Number of turns to look ahead.
+     * @param pool ForkJoinPool running the root tasks.
+     * @return The number of leaf nodes.
+     */
+    public static long parallelCountTurns(Board board, Color color, int depth, ForkJoinPool pool) {
+        if (depth <= 1) return countTurns(new Board(board), color, depth);
+        ArrayList<Turn> rootTurns = new TurnGenerator(new Board(board)).generateTurns(color);
+        List<RecursiveTask<Long>> tasks = new ArrayList<>(rootTurns.size());
+        for (Turn turn : rootTurns) {
+            tasks.add(task(() -> {
+                Board copy = new Board(board);
+                turn.makeOn(copy);
+                return countTurns(copy, enemyOf(color), depth - 1);
+            }));
+        }
+        return sum(tasks, pool);
+    }
+
+    /**
+     * Method to count step nodes recursively with one reusable move list per remaining depth.
+     *
+     * @param board Board object of the current position.
+     * @param color Color of the player to move.
+     * @param stepsLeft Steps left in the current turn.
+     * @param depth Remaining depth.
+     * @param moveLists Move lists indexed by remaining depth - 1.
+     * @return The number of leaf nodes.
+     */
+    private static long countSteps(Board board, Color color, int stepsLeft, int depth, MoveList[] moveLists) {
+        if (depth == 0) return 1;
+        MoveList moveList = moveLists[depth - 1];
+        board.generateMoves(color, stepsLeft, moveList);
+        // bulk counting: the leaves are the generated moves themselves
+        if (depth == 1) return moveList.size();
+        long nodes = 0;
+        for (int i = 0; i < moveList.size(); i++) {
+            int move = moveList.get(i);
+            int left = stepsLeft - PackedMove.stepCost(move);
+            board.makeMove(move);
+            nodes += left == 0
+                    ? countSteps(board, enemyOf(color), STEPS_PER_TURN, depth - 1, moveLists)
+                    : countSteps(board, color, left, depth - 1, moveLists);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    /**
+     * Method to count turn nodes recursively (one generator is enough, as every call gets its own result list).
+     *
+     * @param board Board object of the current position.
+     * @param color Color of the player to move.
+     * @param depth Remaining depth.
+     * @param turnGenerator TurnGenerator working on the board.
+     * @return The number of leaf nodes.
+     */
+    private static long countTurns(Board board, Color color, int depth, TurnGenerator turnGenerator) {
+        if (depth == 0) return 1;
+        ArrayList<Turn> turns = turnGenerator.generateTurns(color);
+        if (depth == 1) return turns.size();
+        long nodes = 0;
+        for (Turn turn : turns) {
+            turn.makeOn(board);
+            nodes += countTurns(board, enemyOf(color), depth - 1, turnGenerator);
+            turn.unmakeOn(board);
+        }
+        return nodes;
+    }
+
+    /**
+     * Method to create one move list per depth.
+     *
+     * @param depth Search depth.
+     * @return Array of empty move lists.
+     */
+    private static MoveList[] createMoveLists(int depth) {
+        MoveList[] moveLists = new MoveList[Math.max(depth, 1)];
+        for (int i = 0; i < moveLists.length; i++) {
+            moveLists[i] = new MoveList();
+        }
+        return moveLists;
+    }
+
+    /**
+     * Method to get the color of the enemy.
+     *
+     * @param color Color of the player.
+     * @return Color of the other player.
+     */
+    private static Color enemyOf(Color color) {
+        return color == Color.GOLD ? Color.SILVER : Color.GOLD;
+    }
+
+    /**
+     * Method to wrap a count into a fork-join task.
+     *
+     * @param count The counting work of one root move.
+     * @return The task.
+     */
+    private static RecursiveTask<Long> task(LongSupplier count) {
+        return new RecursiveTask<>() {
+            @Override
+            protected Long compute() {
+                return count.getAsLong();
+            }
+        };
+    }
+
+    /**
+     * Method to run the root tasks in the pool and add up their counts.
+     *
+     * @param tasks Tasks of the root moves.
+     * @param pool ForkJoinPool running the tasks.
+     * @return The sum of the counts.
+     */
+    private static long sum(List<RecursiveTask<Long>> tasks, ForkJoinPool pool) {
+        return pool.invoke(new RecursiveTask<Long>() {
+            @Override
+            protected Long compute() {
+                long nodes = 0;
+                for (RecursiveTask<Long> task : invokeAll(tasks)) {
+                    nodes += task.join();
+                }
+                return nodes;
+            }
+        });
+    }
+
+    /**
+     * Benchmark entry point: prints the step and turn counts of the default position and the nodes per second.
+     * Arguments: [step depth (default 6)] [turn depth (default 2)].
+     *
+     * @param args Command line arguments.
+     */
+    public static void main(String[] args) {
+        int stepDepth = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        int turnDepth = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        Board board = new Board();
+        board.populateBoardFrom2DString(Game.DEFAULT_BOARD, new Player(1, false), new Player(2, false));
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        for (int depth = 1; depth <= stepDepth; depth++) {
+            long start = System.nanoTime();
+            long nodes = parallelCountSteps(board, Color.GOLD, STEPS_PER_TURN, depth, pool);
+            report("steps", depth, nodes, System.nanoTime() - start);
+        }
+        for (int depth = 1; depth <= turnDepth; depth++) {
+            long start = System.nanoTime();
+            long nodes = parallelCountTurns(board, Color.GOLD, depth, pool);
+            report("turns", depth, nodes, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Method to print one benchmark line.
+     *
+     * @param kind "steps" or "turns".
+     * @param depth Searched depth.
+     * @param nodes Counted nodes.
+     * @param nanos Elapsed time in nanoseconds.
+     */
+    private static void report(String kind, int depth, long nodes, long nanos) {
+        double seconds = nanos / 1e9;
+        System.out.printf("perft %s depth %d: %d nodes in %.3f s (%.0f nodes/s)%n", kind, depth, nodes, seconds, nodes / Math.max(seconds, 1e-9));
+    }
+}
@@ -4,16 +4,47 @@ import arimaa.utils.Color;
 import arimaa.utils.Direction;
 import arimaa.utils.PieceType;
 
-import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
  * The Piece record represents a single piece in the Arimaa game.
+ * There are only twelve distinct pieces (color x type); they are shared flyweights obtained through {@link #of(Color, PieceType)}
+ * or {@link #fromCode(int)}, and the board stores their byte codes.
  *
  * @param type  PieceType object determining the type (RABBIT, CAT, DOG, HORSE, CAMEL, ELEPHANT)
- * @param owner Player object determining the player who owns the piece.
+ * @param color Color object determining the player who owns the piece (GOLD, SILVER).
  */
-public record Piece(PieceType type, Player owner) {
+public record Piece(PieceType type, Color color) {
+
+    /**
+     * Class constant: byte code of an empty square
+     */
+    public static final byte EMPTY = 0;
+    /**
+     * Class constant: number of piece codes including EMPTY (1-6 gold rabbit-elephant, 7-12 silver rabbit-elephant)
+     */
+    public static final int CODES = 1 + Color.values().length * PieceType.values().length;
+    /**
+     * Class constant: the twelve canonical pieces indexed by code (index 0, EMPTY, holds null)
+     */
+    private static final Piece[] PIECES = new Piece[CODES];
+    /**
+     * Class constant: directions of a gold rabbit (shared, immutable)
+     */
+    private static final List<Direction> NORTHWARD_RABBIT_DIRECTIONS = List.of(Direction.NORTH, Direction.WEST, Direction.EAST);
+    /**
+     * Class constant: directions of a silver rabbit (shared, immutable)
+     */
+    private static final List<Direction> SOUTHWARD_RABBIT_DIRECTIONS = List.of(Direction.WEST, Direction.SOUTH, Direction.EAST);
+
+    static {
+        for (Color color : Color.values()) {
+            for (PieceType type : PieceType.values()) {
+                PIECES[code(color, type)] = new Piece(type, color);
+            }
+        }
+    }
 
     /**
      * Method to get the type of the piece.
@@ -26,43 +57,85 @@ public record Piece(PieceType type, Player owner) {
     }
 
     /**
-     * Method to get the owner of the piece.
+     * Method to get the color of the piece.
      *
-     * @return The owner of the piece (Player object).
+     * @return The color of the player owning the piece.
      */
     @Override
-    public Player owner() {
-        return owner;
+    public Color color() {
+        return color;
+    }
+
+    /**
+     * Gets the canonical piece of a color and type.
+     *
+     * @param color Color of the piece.
+     * @param type Type of the piece.
+     * @return The shared Piece object.
+     */
+    public static Piece of(Color color, PieceType type) {
+        return PIECES[code(color, type)];
+    }
+
+    /**
+     * Gets the canonical piece of a byte code.
+     *
+     * @param code Piece code 1-12, or EMPTY.
+     * @return The shared Piece object, or null for EMPTY.
+     */
+    public static Piece fromCode(int code) {
+        return PIECES[code];
     }
 
     /**
-     * Method to get the list of possible directions for the piece based on its owner and type.
+     * Method to compute the byte code of a color and type (gold 1-6, silver 7-12, ordered by strength).
+     *
+     * @param color Color of the piece.
+     * @param type Type of the piece.
+     * @return The piece code.
+     */
+    public static byte code(Color color, PieceType type) {
+        return (byte) (1 + color.ordinal() * PieceType.values().length + type.ordinal());
+    }
+
+    /**
+     * Gets the byte code of this piece.
+     *
+     * @return The piece code 1-12.
+     */
+    public byte code() {
+        return code(color, type);
+    }
+
+    /**
+     * Method to check whether the piece belongs to the given player.
+     *
+     * @param player Player object.
+     * @return Boolean value of the check.
+     */
+    public boolean isOwnedBy(Player player) {
+        return player != null && player.getColor() == color;
+    }
+
+    /**
+     * Method to get the list of possible directions for the piece based on its color and type.
      * Gold rabbit - north, west, east; Silver rabbit - south, west, east; other pieces in all directions
      *
-     * @return ArrayList<Direction> of possible directions for the piece.
-     */
-    public ArrayList<Direction> getPossibleDirections() {
-        ArrayList<Direction> directions = new ArrayList<>();
-        directions.add(Direction.NORTH);
-        directions.add(Direction.WEST);
-        directions.add(Direction.SOUTH);
-        directions.add(Direction.EAST);
+     * @return Shared immutable List<Direction> of possible directions for the piece.
+     */
+    public List<Direction> getPossibleDirections() {
         if (type == PieceType.RABBIT) {
-            if (owner.getGoalDirection() == Direction.NORTH) {
-                directions.remove(Direction.SOUTH);
-            } else {
-                directions.remove(Direction.NORTH);
-            }
+            return color == Color.GOLD ? NORTHWARD_RABBIT_DIRECTIONS : SOUTHWARD_RABBIT_DIRECTIONS;
         }
-        return directions;
+        return Direction.getFourDirections();
     }
 
     /**
      * Static method to create a Piece object from String where owner does not matter.
-     * Used for viewing Game history, read from text file. For that purpose we do not need advanced game methods requiring a player.
+     * Used for viewing Game history, read from text file. The color is given by the case of the letter.
      *
      * @param pieceTypeString String representing the piece type [EMHCDRemhcdr].
-     * @return Piece object of correct type and general player.
+     * @return Piece object of correct type and color.
      */
     public static Piece createPieceFromNotationWithGeneralPlayer(String pieceTypeString) {
         // empty string returns a null object
@@ -70,10 +143,9 @@ public record Piece(PieceType type, Player owner) {
             return null;
         }
         PieceType pieceType = PieceType.fromNotation(pieceTypeString.toLowerCase().charAt(0));
-        // the player number is important as it determines whether player is 1 (gold, heads north), 2 (silver, heads south)
-        int playerNumber = Character.isUpperCase(pieceTypeString.charAt(0)) ? 1 : 2;
-        Player player = new Player(playerNumber, false);
-        return new Piece(pieceType, player);
+        // uppercase is gold (heads north), lowercase is silver (heads south)
+        Color color = Character.isUpperCase(pieceTypeString.charAt(0)) ? Color.GOLD : Color.SILVER;
+        return of(color, pieceType);
     }
 
     /**
@@ -81,15 +153,15 @@ public record Piece(PieceType type, Player owner) {
      * Used for playing the game, as commonly we need to get all pieces assigned to a specific player.
      *
      * @param pieceTypeString String representing the piece type [EMHCDRemhcdr].
-     * @param player          Player object determining the player.
-     * @return Piece object of correct type and general player.
+     * @param player          Player object determining the color.
+     * @return Piece object of correct type and color.
      */
     public static Piece createPieceFromNotationPlayerWithSpecificPlayer(String pieceTypeString, Player player) {
         if (Objects.equals(pieceTypeString, "")) {
             return null;
         }
         PieceType pieceType = PieceType.fromNotation(pieceTypeString.toLowerCase().charAt(0));
-        return new Piece(pieceType, player);
+        return of(player.getColor(), pieceType);
     }
 
     /**
@@ -99,7 +171,7 @@ public record Piece(PieceType type, Player owner) {
      */
     @Override
     public String toString(){
-        if (owner.getColor() == Color.GOLD){
+        if (color == Color.GOLD){
             return String.valueOf(type.getNotation()).toUpperCase();
         } else {
             return String.valueOf(type.getNotation());
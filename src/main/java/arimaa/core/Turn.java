@@ -0,0 +1,49 @@
+package arimaa.core;
+
+/**
+ * The Turn record represents one complete turn: the encoded moves (see {@link PackedMove}) a player makes
+ * before passing the remaining steps to the enemy.
+ *
+ * @param moves Encoded moves in the order they are made (not to be modified).
+ * @param key   Zobrist key of the pieces after the turn (Board.getPositionKey), identifying the resulting position.
+ * @param steps Number of steps the turn uses (1-4).
+ */
+public record Turn(int[] moves, long key, int steps) {
+
+    /**
+     * Method to make all moves of the turn on a board (each opens its own undo frame).
+     *
+     * @param board Board object in the position the turn was generated for.
+     */
+    public void makeOn(Board board) {
+        for (int move : moves) {
+            board.makeMove(move);
+        }
+    }
+
+    /**
+     * Method to unmake all moves of the turn from a board, reverting makeOn.
+     *
+     * @param board Board object the turn was made on.
+     */
+    public void unmakeOn(Board board) {
+        for (int i = 0; i < moves.length; i++) {
+            board.unmakeMove();
+        }
+    }
+
+    /**
+     * String notation of the Turn (the moves separated by spaces)
+     *
+     * @return String notation of the Turn.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int move : moves) {
+            if (!builder.isEmpty()) builder.append(' ');
+            builder.append(PackedMove.toString(move));
+        }
+        return builder.toString();
+    }
+}
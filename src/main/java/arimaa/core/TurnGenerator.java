@@ -0,0 +1,255 @@
+package arimaa.core;
+
+import arimaa.utils.Color;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The TurnGenerator class lists every distinct legal turn of one player: sequences of 1-4 steps (pushes and pulls
+ * count 2) after which the remaining steps are passed. A turn must change the position, and turns reaching the same
+ * position are reported once (with the fewest steps), as identified by the Zobrist key of the pieces.
+ * Step sequences reaching an already visited position with the same number of steps used are not expanded again,
+ * which keeps the search to the few thousand distinct positions instead of every step order.
+ */
+public class TurnGenerator {
+    /**
+     * Class constant: number of steps in a full turn
+     */
+    public static final int MAX_STEPS = 4;
+    /**
+     * Instance variable: board the turns are generated on (returned unchanged)
+     */
+    private final Board board;
+    /**
+     * Instance variable: one reusable move list per depth of the step search
+     */
+    private final MoveList[] moveLists;
+    /**
+     * Instance variable: encoded moves of the sequence currently being searched
+     */
+    private final int[] path;
+    /**
+     * Instance variable: already expanded (position, steps used) nodes of the current generation
+     */
+    private final KeyTable visitedNodes;
+    /**
+     * Instance variable: resulting positions of the current generation, mapped to their index in the result list
+     */
+    private final KeyTable endPositions;
+    /**
+     * Instance variable: color of the player whose turns are generated
+     */
+    private Color color;
+    /**
+     * Instance variable: key of the pieces before the turn (a turn must end elsewhere)
+     */
+    private long startKey;
+    /**
+     * Instance variable: turns found by the current generation
+     */
+    private ArrayList<Turn> turns;
+    /**
+     * Instance variable: number of moves made by the last generation
+     */
+    private long visitedNodeCount;
+
+    /**
+     * Constructs a new TurnGenerator working on a board.
+     *
+     * @param board Board object whose turns are generated.
+     */
+    public TurnGenerator(Board board) {
+        this.board = board;
+        moveLists = new MoveList[MAX_STEPS];
+        for (int depth = 0; depth < MAX_STEPS; depth++) {
+            moveLists[depth] = new MoveList();
+        }
+        path = new int[MAX_STEPS];
+        visitedNodes = new KeyTable();
+        endPositions = new KeyTable();
+    }
+
+    /**
+     * Method to list every distinct legal full turn of a player.
+     *
+     * @param color Color of the moving player.
+     * @return ArrayList<Turn> of the distinct turns (empty if the player cannot move).
+     */
+    public ArrayList<Turn> generateTurns(Color color) {
+        return generateTurns(color, MAX_STEPS);
+    }
+
+    /**
+     * Method to list every distinct legal rest of a turn, when some steps have already been used.
+     * The position must differ from the current one (the start of the rest, not necessarily of the whole turn).
+     *
+     * @param color Color of the moving player.
+     * @param stepsLeft Number of steps left this turn (1-4).
+     * @return ArrayList<Turn> of the distinct turns (empty if the player cannot move).
+     */
+    public ArrayList<Turn> generateTurns(Color color, int stepsLeft) {
+        this.color = color;
+        startKey = board.getPositionKey();
+        turns = new ArrayList<>();
+        visitedNodeCount = 0;
+        visitedNodes.clear();
+        endPositions.clear();
+        search(0, stepsLeft);
+        return turns;
+    }
+
+    /**
+     * Gets the number of moves made by the last generation (step sequences searched after deduplication).
+     *
+     * @return The number of visited nodes.
+     */
+    public long getVisitedNodeCount() {
+        return visitedNodeCount;
+    }
+
+    /**
+     * Method to search all move sequences from the current node with make/unmake.
+     *
+     * @param depth Number of moves on the current path.
+     * @param stepsLeft Number of steps left.
+     */
+    private void search(int depth, int stepsLeft) {
+        MoveList moveList = moveLists[depth];
+        board.generateMoves(color, stepsLeft, moveList);
+        for (int i = 0; i < moveList.size(); i++) {
+            int move = moveList.get(i);
+            int stepsLeftAfter = stepsLeft - PackedMove.stepCost(move);
+            board.makeMove(move);
+            visitedNodeCount++;
+            path[depth] = move;
+            long key = board.getPositionKey();
+            if (visitedNodes.putIfAbsent(key ^ Zobrist.turnKey(color, stepsLeftAfter), 0)) {
+                if (key != startKey) {
+                    record(key, depth + 1, MAX_STEPS - stepsLeftAfter);
+                }
+                if (stepsLeftAfter > 0) {
+                    search(depth + 1, stepsLeftAfter);
+                }
+            }
+            board.unmakeMove();
+        }
+    }
+
+    /**
+     * Method to store the current path as the turn reaching a position, unless a turn with fewer steps already does.
+     *
+     * @param key Zobrist key of the pieces after the turn.
+     * @param length Number of moves on the current path.
+     * @param steps Number of steps used.
+     */
+    private void record(long key, int length, int steps) {
+        Turn turn = new Turn(Arrays.copyOf(path, length), key, steps);
+        int index = endPositions.get(key);
+        if (index < 0) {
+            endPositions.putIfAbsent(key, turns.size());
+            turns.add(turn);
+        } else if (steps < turns.get(index).steps()) {
+            turns.set(index, turn);
+        }
+    }
+
+    /**
+     * The KeyTable class is an open-addressing map from Zobrist keys to non-negative ints.
+     * Entries of previous generations are invalidated by a stamp, so clearing does not touch the arrays.
+     */
+    private static final class KeyTable {
+        /**
+         * Class constant: initial number of slots (a power of two)
+         */
+        private static final int INITIAL_CAPACITY = 1 << 12;
+        private long[] keys;
+        private int[] values;
+        private int[] stamps;
+        private int stamp;
+        private int size;
+
+        /**
+         * Constructs a new, empty KeyTable.
+         */
+        KeyTable() {
+            keys = new long[INITIAL_CAPACITY];
+            values = new int[INITIAL_CAPACITY];
+            stamps = new int[INITIAL_CAPACITY];
+            stamp = 1;
+        }
+
+        /**
+         * Method to remove all entries.
+         */
+        void clear() {
+            stamp++;
+            size = 0;
+        }
+
+        /**
+         * Gets the value stored for a key.
+         *
+         * @param key The key.
+         * @return The value, or -1 if the key is absent.
+         */
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = slotOf(key, mask); stamps[slot] == stamp; slot = slot + 1 & mask) {
+                if (keys[slot] == key) return values[slot];
+            }
+            return -1;
+        }
+
+        /**
+         * Method to store a value for a key which is not present yet.
+         *
+         * @param key The key.
+         * @param value The value.
+         * @return True if the key was added, false if it was already present.
+         */
+        boolean putIfAbsent(long key, int value) {
+            if (2 * (size + 1) > keys.length) grow();
+            int mask = keys.length - 1;
+            int slot = slotOf(key, mask);
+            while (stamps[slot] == stamp) {
+                if (keys[slot] == key) return false;
+                slot = slot + 1 & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            stamps[slot] = stamp;
+            size++;
+            return true;
+        }
+
+        /**
+         * Method to double the capacity, keeping the entries of the current generation.
+         */
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            int[] oldStamps = stamps;
+            int oldStamp = stamp;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            stamps = new int[oldKeys.length * 2];
+            stamp = 1;
+            size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldStamps[slot] == oldStamp) putIfAbsent(oldKeys[slot], oldValues[slot]);
+            }
+        }
+
+        /**
+         * Method to get the home slot of a key (keys are random, so their low bits spread well).
+         *
+         * @param key The key.
+         * @param mask Capacity - 1.
+         * @return The home slot.
+         */
+        private static int slotOf(long key, int mask) {
+            return (int) (key ^ key >>> 32) & mask;
+        }
+    }
+}
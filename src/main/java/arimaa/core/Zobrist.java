@@ -0,0 +1,84 @@
+package arimaa.core;
+
+import arimaa.utils.Bitboard;
+import arimaa.utils.Color;
+import arimaa.utils.PieceType;
+
+import java.util.SplittableRandom;
+
+/**
+ * The Zobrist class holds the random keys used to hash Arimaa positions into a single long.
+ * The key of a position is the XOR of the keys of every piece on its square, of the side to move and of the steps left.
+ */
+public final class Zobrist {
+    /**
+     * Class constant: fixed seed so that keys (and anything stored by key) are the same in every run
+     */
+    private static final long SEED = 0x41524D4141L;
+    /**
+     * Class constant: one key per piece code and square, indexed by [code][square] (the EMPTY row stays zero)
+     */
+    private static final long[][] PIECE_KEYS = new long[Piece.CODES][Bitboard.SQUARES];
+    /**
+     * Class constant: key XORed in when silver is to move
+     */
+    private static final long SILVER_TO_MOVE_KEY;
+    /**
+     * Class constant: one key per number of steps left in the turn (0-4)
+     */
+    private static final long[] STEPS_LEFT_KEYS = new long[5];
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int code = Piece.EMPTY + 1; code < Piece.CODES; code++) {
+            for (int square = 0; square < Bitboard.SQUARES; square++) {
+                PIECE_KEYS[code][square] = random.nextLong();
+            }
+        }
+        SILVER_TO_MOVE_KEY = random.nextLong();
+        for (int steps = 0; steps < STEPS_LEFT_KEYS.length; steps++) {
+            STEPS_LEFT_KEYS[steps] = random.nextLong();
+        }
+    }
+
+    /**
+     * Utility class, no instances.
+     */
+    private Zobrist() {
+    }
+
+    /**
+     * Gets the key of a piece standing on a square.
+     *
+     * @param color Color of the piece.
+     * @param type Type of the piece.
+     * @param square Square index (row * 8 + column).
+     * @return The key of the piece on the square.
+     */
+    public static long pieceKey(Color color, PieceType type, int square) {
+        return PIECE_KEYS[Piece.code(color, type)][square];
+    }
+
+    /**
+     * Gets the key of a piece code standing on a square (0 for an empty square).
+     *
+     * @param code Piece code (see Piece.code), or Piece.EMPTY.
+     * @param square Square index (row * 8 + column).
+     * @return The key of the piece on the square.
+     */
+    public static long pieceKey(int code, int square) {
+        return PIECE_KEYS[code][square];
+    }
+
+    /**
+     * Gets the key of the turn state (side to move and steps left).
+     *
+     * @param sideToMove Color of the player to move.
+     * @param stepsLeft Number of steps left this turn (0-4).
+     * @return The key of the turn state.
+     */
+    public static long turnKey(Color sideToMove, int stepsLeft) {
+        long key = STEPS_LEFT_KEYS[stepsLeft];
+        return sideToMove == Color.SILVER ? key ^ SILVER_TO_MOVE_KEY : key;
+    }
+}
@@ -0,0 +1,52 @@
+package arimaa.engine;
+
+import arimaa.core.Board;
+import arimaa.core.TurnGenerator;
+import arimaa.utils.Color;
+
+/**
+ * The BookEngine class plays the turns of an {@link OpeningBook} while the position is in it, without any search,
+ * and leaves all other positions (and turns already started) to another engine.
+ */
+public class BookEngine implements Engine {
+    /**
+     * Instance variable: book looked up first
+     */
+    private final OpeningBook book;
+    /**
+     * Instance variable: engine searching the positions outside the book
+     */
+    private final Engine engine;
+
+    /**
+     * Constructs a new BookEngine.
+     *
+     * @param book OpeningBook to play from.
+     * @param engine Engine searching when the book has no turn.
+     */
+    public BookEngine(OpeningBook book, Engine engine) {
+        this.book = book;
+        this.engine = engine;
+    }
+
+    @Override
+    public SearchResult search(Board board, Color color, int stepsLeft, long turnStartKey, SearchLimits limits) {
+        if (stepsLeft == TurnGenerator.MAX_STEPS) {
+            int[] turn = book.bestTurn(board, color);
+            if (turn != null) {
+                return new SearchResult(turn, 0, 0, 0);
+            }
+        }
+        return engine.search(board, color, stepsLeft, turnStartKey, limits);
+    }
+
+    @Override
+    public void stop() {
+        engine.stop();
+    }
+
+    @Override
+    public void shutdown() {
+        engine.shutdown();
+    }
+}
@@ -0,0 +1,55 @@
+package arimaa.engine;
+
+import arimaa.core.Board;
+import arimaa.core.TurnGenerator;
+import arimaa.utils.Color;
+
+/**
+ * The Engine interface is implemented by computer players choosing a turn for a position.
+ */
+public interface Engine {
+
+    /**
+     * Searches the position and returns the best turn found within the limits.
+     * The board may be used during the search but is returned unchanged.
+     * In the middle of a turn the key of the turn's start position is needed: the turn must end elsewhere,
+     * so the rest of the turn (or passing it) must not return there.
+     *
+     * @param board Board object with the position to be searched.
+     * @param color Color of the player to move.
+     * @param stepsLeft Steps left in the current turn (4 at the start of a turn).
+     * @param turnStartKey Position key (Board.getPositionKey) at the start of the current turn.
+     * @param limits Time, node and depth budget.
+     * @return The best turn found.
+     */
+    SearchResult search(Board board, Color color, int stepsLeft, long turnStartKey, SearchLimits limits);
+
+    /**
+     * Searches a position at the start of a turn, which is the turn's start position itself.
+     *
+     * @param board Board object with the position to be searched.
+     * @param color Color of the player to move.
+     * @param stepsLeft Steps left in the current turn, must be 4.
+     * @param limits Time, node and depth budget.
+     * @return The best turn found.
+     * @throws IllegalArgumentException If the turn has already started (the turn start key is needed then).
+     */
+    default SearchResult search(Board board, Color color, int stepsLeft, SearchLimits limits) {
+        if (stepsLeft != TurnGenerator.MAX_STEPS) {
+            throw new IllegalArgumentException("A turn already started needs the key of its start position");
+        }
+        return search(board, color, stepsLeft, board.getPositionKey(), limits);
+    }
+
+    /**
+     * Asks a running search to stop as soon as possible (it still returns its best turn so far).
+     */
+    void stop();
+
+    /**
+     * Stops the engine's threads for good, if it has any (the engine cannot search afterwards).
+     */
+    default void shutdown() {
+        stop();
+    }
+}
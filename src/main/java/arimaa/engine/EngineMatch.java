@@ -0,0 +1,109 @@
+package arimaa.engine;
+
+import arimaa.core.Board;
+import arimaa.core.Game;
+import arimaa.core.Player;
+import arimaa.utils.Color;
+
+/**
+ * The EngineMatch class plays games between the alpha-beta engine and the MCTS engine from the default position,
+ * with the same time per turn and thread count for both, alternating colors, and prints the score (A/B test).
+ */
+public final class EngineMatch {
+    /**
+     * Class constant: turns after which a game is counted as a draw
+     */
+    private static final int MAX_TURNS = 200;
+
+    /**
+     * Utility class, no instances.
+     */
+    private EngineMatch() {
+    }
+
+    /**
+     * Entry point: arguments [games (default 2)] [time per turn in milliseconds (default 1000)] [threads (default 1)].
+     *
+     * @param args Command line arguments.
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        LazySmpEngine alphaBeta = new LazySmpEngine(threads, new TranspositionTable(TranspositionTable.DEFAULT_SIZE_MB));
+        MctsEngine mcts = new MctsEngine(threads);
+        double alphaBetaScore = 0;
+        for (int game = 0; game < games; game++) {
+            boolean alphaBetaIsGold = game % 2 == 0;
+            mcts.reset();
+            Color winner = play(alphaBetaIsGold ? alphaBeta : mcts, alphaBetaIsGold ? mcts : alphaBeta, SearchLimits.ofTime(millis));
+            double score = winner == null ? 0.5 : (winner == Color.GOLD) == alphaBetaIsGold ? 1 : 0;
+            alphaBetaScore += score;
+            System.out.printf("game %d: alpha-beta (%s) vs mcts: %s%n", game + 1,
+                    alphaBetaIsGold ? "gold" : "silver", winner == null ? "draw" : winner + " won");
+        }
+        System.out.printf("alpha-beta %.1f - mcts %.1f%n", alphaBetaScore, games - alphaBetaScore);
+        alphaBeta.shutdown();
+        mcts.shutdown();
+    }
+
+    /**
+     * Method to play one game.
+     *
+     * @param gold Engine playing gold.
+     * @param silver Engine playing silver.
+     * @param limits Budget of every turn.
+     * @return Color of the winner, or null for a draw.
+     */
+    public static Color play(Engine gold, Engine silver, SearchLimits limits) {
+        Board board = new Board();
+        board.populateBoardFrom2DString(Game.DEFAULT_BOARD, new Player(1, true), new Player(2, true));
+        return play(board, gold, silver, limits, (position, color, moves) -> {
+        });
+    }
+
+    /**
+     * Method to play one game from a given setup and report every turn before it is made.
+     *
+     * @param start Board object with both setups, not changed.
+     * @param gold Engine playing gold.
+     * @param silver Engine playing silver.
+     * @param limits Budget of every turn.
+     * @param turns Listener told about every turn (the board is in the position before the turn and must not be changed).
+     * @return Color of the winner, or null for a draw.
+     */
+    static Color play(Board start, Engine gold, Engine silver, SearchLimits limits, TurnListener turns) {
+        Board board = new Board(start);
+        Color color = Color.GOLD;
+        for (int turn = 0; turn < MAX_TURNS; turn++) {
+            Color enemy = color == Color.GOLD ? Color.SILVER : Color.GOLD;
+            SearchResult result = (color == Color.GOLD ? gold : silver).search(new Board(board), color, 4, limits);
+            if (result.moves().length == 0) return enemy;
+            turns.onTurn(board, color, result.moves());
+            for (int move : result.moves()) {
+                board.makeMove(move);
+            }
+            board.clearUndoHistory();
+            if (board.hasWonByGoalOrElimination(color, enemy)) return color;
+            if (board.hasWonByGoalOrElimination(enemy, color)) return enemy;
+            if (board.isImmobilized(enemy)) return color;
+            color = enemy;
+        }
+        return null;
+    }
+
+    /**
+     * The TurnListener interface is told about the turns of a game played by play.
+     */
+    interface TurnListener {
+
+        /**
+         * Called before a turn is made.
+         *
+         * @param board Board object in the position before the turn.
+         * @param color Color of the moving player.
+         * @param moves Encoded moves of the turn.
+         */
+        void onTurn(Board board, Color color, int[] moves);
+    }
+}
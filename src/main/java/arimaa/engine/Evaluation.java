@@ -0,0 +1,213 @@
+package arimaa.engine;
+
+import arimaa.core.Board;
+import arimaa.core.BoardListener;
+import arimaa.core.Piece;
+import arimaa.utils.Bitboard;
+import arimaa.utils.Color;
+import arimaa.utils.PieceType;
+
+/**
+ * The Evaluation class scores positions for the engines. It listens to the board, so the terms depending on
+ * single pieces (material of the non-rabbits, piece-square values) and on the pieces around the traps (trap control)
+ * are kept as running sums updated by make and unmake; the rest is read from the board's own incrementally kept
+ * counters and masks (rabbit counts, frozen pieces, occupied squares), so an evaluation never rescans the board.
+ * All running sums are from gold's point of view: gold pieces add, silver pieces subtract.
+ */
+public class Evaluation implements BoardListener {
+    /**
+     * Class constant: material value of the non-rabbit pieces, indexed by PieceType.ordinal() (rabbits: see RABBIT_MATERIAL)
+     */
+    private static final int[] PIECE_VALUES = {0, 250, 300, 500, 800, 1200};
+    /**
+     * Class constant: material value of all rabbits of a side, indexed by their number
+     * (every lost rabbit costs more than the one before, the last ones decide the game)
+     */
+    private static final int[] RABBIT_MATERIAL = {0, 600, 1000, 1300, 1500, 1650, 1750, 1820, 1870};
+    /**
+     * Class constant: bonus of a rabbit by the number of rows it advanced towards its goal
+     */
+    private static final int[] RABBIT_ADVANCE = {0, 0, 5, 15, 30, 60, 120, 0};
+    /**
+     * Class constant: bonus of a non-rabbit per ring towards the centre (0 on the edge, 3 in the centre), indexed by PieceType.ordinal()
+     */
+    private static final int[] CENTRALITY = {0, 2, 2, 4, 6, 10};
+    /**
+     * Class constant: penalty of a piece standing on a trap square
+     */
+    private static final int TRAP_SQUARE_PENALTY = 20;
+    /**
+     * Class constant: weight of a piece next to a trap in the control of that trap, indexed by PieceType.ordinal()
+     */
+    private static final int[] TRAP_STRENGTH = {1, 2, 3, 4, 5, 6};
+    /**
+     * Class constant: score per point of trap control difference
+     */
+    private static final int TRAP_CONTROL_WEIGHT = 6;
+    /**
+     * Class constant: control difference beyond which a trap counts as fully controlled
+     */
+    private static final int MAX_TRAP_CONTROL = 12;
+    /**
+     * Class constant: penalty of a frozen piece, indexed by PieceType.ordinal()
+     */
+    private static final int[] FROZEN_PENALTY = {10, 15, 20, 30, 45, 0};
+    /**
+     * Class constant: bonus of the elephant per empty neighbouring square
+     */
+    private static final int ELEPHANT_MOBILITY_WEIGHT = 8;
+    /**
+     * Class constant: signed piece-square value (material of non-rabbits included), indexed by [code][square]
+     */
+    private static final int[][] SQUARE_VALUES = new int[Piece.CODES][Bitboard.SQUARES];
+    /**
+     * Class constant: signed contribution to trap control, indexed by code
+     */
+    private static final int[] TRAP_CONTROL = new int[Piece.CODES];
+    /**
+     * Class constant: index (0-3) of every trap, -1 for other squares
+     */
+    private static final int[] TRAP_ORDINAL = new int[Bitboard.SQUARES];
+
+    static {
+        for (int code = 1; code < Piece.CODES; code++) {
+            Piece piece = Piece.fromCode(code);
+            int type = piece.type().ordinal();
+            int sign = piece.color() == Color.GOLD ? 1 : -1;
+            for (int square = 0; square < Bitboard.SQUARES; square++) {
+                int row = square >>> 3;
+                int column = square & 7;
+                int value;
+                if (piece.type() == PieceType.RABBIT) {
+                    value = RABBIT_ADVANCE[piece.color() == Color.GOLD ? 7 - row : row];
+                } else {
+                    int ring = Math.min(Math.min(row, 7 - row), Math.min(column, 7 - column));
+                    value = PIECE_VALUES[type] + CENTRALITY[type] * ring;
+                }
+                if (Bitboard.isTrap(square)) value -= TRAP_SQUARE_PENALTY;
+                SQUARE_VALUES[code][square] = sign * value;
+            }
+            TRAP_CONTROL[code] = sign * TRAP_STRENGTH[type];
+        }
+        int ordinal = 0;
+        for (int square = 0; square < Bitboard.SQUARES; square++) {
+            TRAP_ORDINAL[square] = Bitboard.isTrap(square) ? ordinal++ : -1;
+        }
+    }
+
+    /**
+     * Instance variable: board being evaluated
+     */
+    private final Board board;
+    /**
+     * Instance variable: running sum of the piece-square values
+     */
+    private int squareValueSum;
+    /**
+     * Instance variable: running control of every trap (gold strength - silver strength of the adjacent pieces)
+     */
+    private final int[] trapControl;
+
+    /**
+     * Constructs a new Evaluation of a board, not listening to it yet.
+     *
+     * @param board Board object to evaluate.
+     */
+    private Evaluation(Board board) {
+        this.board = board;
+        trapControl = new int[4];
+        for (int square = 0; square < Bitboard.SQUARES; square++) {
+            byte code = board.getCodeAt(square);
+            if (code != Piece.EMPTY) add(code, square, 1);
+        }
+    }
+
+    /**
+     * Method to create an Evaluation of a board which listens to it until detached.
+     *
+     * @param board Board object to evaluate, without a listener.
+     * @return The evaluation.
+     * @throws IllegalStateException If the board already has a listener (an evaluation which was not detached).
+     */
+    public static Evaluation attach(Board board) {
+        if (board.hasBoardListener()) {
+            throw new IllegalStateException("The board already has a listener");
+        }
+        Evaluation evaluation = new Evaluation(board);
+        board.setBoardListener(evaluation);
+        return evaluation;
+    }
+
+    /**
+     * Method to stop listening to the board (the evaluation is stale afterwards).
+     */
+    public void detach() {
+        board.setBoardListener(null);
+    }
+
+    @Override
+    public void onSquareChanged(int index, byte oldCode, byte newCode) {
+        if (oldCode != Piece.EMPTY) add(oldCode, index, -1);
+        if (newCode != Piece.EMPTY) add(newCode, index, 1);
+    }
+
+    /**
+     * Method to evaluate the current position.
+     *
+     * @param color Color of the player the score is for.
+     * @return Score from the point of view of the player.
+     */
+    public int evaluate(Color color) {
+        int score = squareValueSum
+                + RABBIT_MATERIAL[board.getRabbitCount(Color.GOLD)] - RABBIT_MATERIAL[board.getRabbitCount(Color.SILVER)]
+                + frozenPenalty(Color.SILVER) - frozenPenalty(Color.GOLD)
+                + elephantMobility(Color.GOLD) - elephantMobility(Color.SILVER);
+        for (int control : trapControl) {
+            score += TRAP_CONTROL_WEIGHT * Math.max(-MAX_TRAP_CONTROL, Math.min(MAX_TRAP_CONTROL, control));
+        }
+        return color == Color.GOLD ? score : -score;
+    }
+
+    /**
+     * Method to add or remove a piece from the running sums.
+     *
+     * @param code Piece code.
+     * @param square Square of the piece.
+     * @param sign 1 to add, -1 to remove.
+     */
+    private void add(byte code, int square, int sign) {
+        squareValueSum += sign * SQUARE_VALUES[code][square];
+        long traps = Bitboard.neighborsOf(square) & Bitboard.TRAPS;
+        while (traps != 0) {
+            trapControl[TRAP_ORDINAL[Long.numberOfTrailingZeros(traps)]] += sign * TRAP_CONTROL[code];
+            traps &= traps - 1;
+        }
+    }
+
+    /**
+     * Method to get the penalty of the frozen pieces of a color (from the board's frozen mask).
+     *
+     * @param color Color of the pieces.
+     * @return The penalty.
+     */
+    private int frozenPenalty(Color color) {
+        long frozen = board.getFrozenBitboard(color);
+        if (frozen == 0) return 0;
+        int penalty = 0;
+        for (PieceType type : PieceType.values()) {
+            penalty += FROZEN_PENALTY[type.ordinal()] * Long.bitCount(frozen & board.getPieceBitboard(color, type));
+        }
+        return penalty;
+    }
+
+    /**
+     * Method to get the mobility bonus of the elephant of a color (empty squares next to it).
+     *
+     * @param color Color of the elephant.
+     * @return The bonus.
+     */
+    private int elephantMobility(Color color) {
+        long elephants = board.getPieceBitboard(color, PieceType.ELEPHANT);
+        return ELEPHANT_MOBILITY_WEIGHT * Long.bitCount(Bitboard.neighbors(elephants) & ~board.getOccupiedBitboard());
+    }
+}
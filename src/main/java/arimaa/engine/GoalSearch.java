@@ -0,0 +1,151 @@
+package arimaa.engine;
+
+import arimaa.core.Board;
+import arimaa.core.MoveList;
+import arimaa.core.PackedMove;
+import arimaa.utils.Bitboard;
+import arimaa.utils.Color;
+import arimaa.utils.PieceType;
+
+/**
+ * The GoalSearch class answers whether a player can get a rabbit to its goal row within a few steps.
+ * A bitboard flood-fill gives a lower bound first: walking back from the goal row along rabbit steps,
+ * an empty square costs one step and an occupied one two (it has to be cleared first, by a step, push or pull).
+ * Only if the bound fits into the steps left, a small search over all moves (pushes and pulls clearing the path
+ * included) proves the goal, pruning every node whose bound exceeds the steps left there.
+ */
+public class GoalSearch {
+    /**
+     * Class constant: result of a search which found no goal
+     */
+    public static final int NONE = -1;
+    /**
+     * Class constant: most steps a search looks ahead (one full turn)
+     */
+    public static final int MAX_STEPS = 4;
+
+    /**
+     * Instance variable: board searched (returned unchanged)
+     */
+    private final Board board;
+    /**
+     * Instance variable: one reusable move list per depth
+     */
+    private final MoveList[] moveLists;
+    /**
+     * Instance variable: number of moves made by the searches so far
+     */
+    private long nodes;
+
+    /**
+     * Constructs a new GoalSearch working on a board.
+     *
+     * @param board Board object to search.
+     */
+    public GoalSearch(Board board) {
+        this.board = board;
+        moveLists = new MoveList[MAX_STEPS];
+        for (int depth = 0; depth < MAX_STEPS; depth++) {
+            moveLists[depth] = new MoveList();
+        }
+    }
+
+    /**
+     * Method to get a lower bound of the steps a player needs to get a rabbit to its goal (no move generation).
+     *
+     * @param board Board object with the position.
+     * @param color Color of the player.
+     * @return The bound (0 if a rabbit already stands in the goal row), or MAX_STEPS + 1 if it exceeds MAX_STEPS.
+     */
+    public static int lowerBound(Board board, Color color) {
+        long rabbits = board.getPieceBitboard(color, PieceType.RABBIT);
+        long goal = Bitboard.goalRow(color);
+        if ((rabbits & goal) != 0) return 0;
+        if (rabbits == 0) return MAX_STEPS + 1;
+        long occupied = board.getOccupiedBitboard();
+        // squares from which a rabbit needs at most cost - 2 and cost - 1 steps
+        long reachBefore = 0;
+        long reach = goal;
+        for (int cost = 1; cost <= MAX_STEPS; cost++) {
+            long targets = reach & ~occupied | reachBefore & occupied;
+            reachBefore = reach;
+            reach |= rabbitSources(color, targets);
+            if ((reach & rabbits) != 0) return cost;
+        }
+        return MAX_STEPS + 1;
+    }
+
+    /**
+     * Method to find the fewest steps a player needs to get a rabbit to its goal row, up to a maximum.
+     * The goal counts as soon as a rabbit stands in the goal row (the rest of the turn can be passed).
+     *
+     * @param color Color of the moving player.
+     * @param maxSteps Steps available (1-4, usually the steps left this turn).
+     * @return The fewest steps, or NONE if the goal cannot be reached within maxSteps.
+     */
+    public int goalSteps(Color color, int maxSteps) {
+        int bound = lowerBound(board, color);
+        if (bound == 0) return 0;
+        for (int steps = bound; steps <= Math.min(maxSteps, MAX_STEPS); steps++) {
+            if (search(color, steps, 0)) return steps;
+        }
+        return NONE;
+    }
+
+    /**
+     * Method to check whether a player can get a rabbit to its goal row within a number of steps.
+     *
+     * @param color Color of the moving player.
+     * @param steps Steps available (1-4).
+     * @return Boolean value of the check.
+     */
+    public boolean canReachGoal(Color color, int steps) {
+        return goalSteps(color, steps) != NONE;
+    }
+
+    /**
+     * Gets the number of moves made by the searches so far.
+     *
+     * @return The node count.
+     */
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Method to search all move sequences of at most the given steps for a goal (depth-first, pruned by the bound).
+     *
+     * @param color Color of the moving player.
+     * @param stepsLeft Steps left.
+     * @param depth Number of moves made so far (move list index).
+     * @return True if a goal was found.
+     */
+    private boolean search(Color color, int stepsLeft, int depth) {
+        MoveList moves = moveLists[depth];
+        board.generateMoves(color, stepsLeft, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int left = stepsLeft - PackedMove.stepCost(move);
+            board.makeMove(move);
+            nodes++;
+            int bound = lowerBound(board, color);
+            boolean found = bound == 0 || bound <= left && search(color, left, depth + 1);
+            board.unmakeMove();
+            if (found) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Method to get the squares from which a rabbit of the color steps onto one of the targets
+     * (rabbits step forward or sideways, never backward).
+     *
+     * @param color Color of the rabbit.
+     * @param targets Target squares.
+     * @return Mask of the source squares.
+     */
+    private static long rabbitSources(Color color, long targets) {
+        long backward = color == Color.GOLD ? Bitboard.south(targets) : Bitboard.north(targets);
+        return backward | Bitboard.east(targets) | Bitboard.west(targets);
+    }
+}
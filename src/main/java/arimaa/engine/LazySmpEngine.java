@@ -0,0 +1,199 @@
+package arimaa.engine;
+
+import arimaa.core.Board;
+import arimaa.core.Game;
+import arimaa.core.Player;
+import arimaa.utils.Color;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The LazySmpEngine class runs one {@link SearchEngine} per thread on its own copy of the board, all sharing a
+ * {@link TranspositionTable} (Lazy SMP). The calling thread runs the main search within the limits; the helper
+ * threads search the same position with iterations starting at staggered depths, filling the table with results
+ * the others pick up. When the main search ends, the helpers are stopped and the deepest completed result is returned.
+ */
+public class LazySmpEngine implements Engine {
+    /**
+     * Class constant: system property overriding the number of threads (e.g. -Darimaa.threads=16)
+     */
+    public static final String THREADS_PROPERTY = "arimaa.threads";
+    /**
+     * Class constant: number of different start depths of the helper threads (one turn of steps)
+     */
+    private static final int DEPTH_STAGGER = 4;
+
+    /**
+     * Instance variable: one search engine per thread, index 0 is the main search
+     */
+    private final SearchEngine[] engines;
+    /**
+     * Instance variable: pool running the helper searches (daemon threads)
+     */
+    private final ExecutorService helperPool;
+    /**
+     * Instance variable: nodes searched by every thread in the last search
+     */
+    private final long[] threadNodes;
+    /**
+     * Instance variable: duration of the last search in nanoseconds
+     */
+    private long elapsedNanos;
+
+    /**
+     * Constructs a new LazySmpEngine.
+     *
+     * @param threads Number of search threads (at least 1, the calling thread included).
+     * @param table TranspositionTable shared by all threads.
+     */
+    public LazySmpEngine(int threads, TranspositionTable table) {
+        int count = Math.max(1, threads);
+        engines = new SearchEngine[count];
+        for (int i = 0; i < count; i++) {
+            engines[i] = new SearchEngine(table);
+        }
+        threadNodes = new long[count];
+        helperPool = count > 1 ? Executors.newFixedThreadPool(count - 1, runnable -> {
+            Thread thread = new Thread(runnable, "lazy-smp-helper");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    @Override
+    public SearchResult search(Board board, Color color, int stepsLeft, long turnStartKey, SearchLimits limits) {
+        long start = System.nanoTime();
+        List<Future<SearchResult>> helpers = new ArrayList<>(engines.length - 1);
+        for (int i = 1; i < engines.length; i++) {
+            SearchEngine helper = engines[i];
+            Board copy = new Board(board);
+            int startDepth = 1 + i % DEPTH_STAGGER;
+            // helpers get the same time and depth budget, but are normally stopped by the main search
+            SearchLimits helperLimits = new SearchLimits(limits.timeMillis(), Long.MAX_VALUE, limits.maxDepth());
+            helpers.add(helperPool.submit(() -> helper.search(copy, color, stepsLeft, turnStartKey, helperLimits, startDepth)));
+        }
+        SearchResult best = engines[0].search(new Board(board), color, stepsLeft, turnStartKey, limits);
+        threadNodes[0] = best.nodes();
+        long nodes = best.nodes();
+        Throwable failure = null;
+        for (int i = 1; i < engines.length; i++) {
+            SearchResult result;
+            try {
+                result = awaitHelper(engines[i], helpers.get(i - 1));
+            } catch (ExecutionException e) {
+                // the other helpers are still waited for, so none keeps searching into the next turn
+                failure = failure == null ? e.getCause() : failure;
+                result = null;
+            }
+            threadNodes[i] = result == null ? 0 : result.nodes();
+            nodes += threadNodes[i];
+            if (result != null && result.depth() > best.depth()) {
+                best = result;
+            }
+        }
+        elapsedNanos = System.nanoTime() - start;
+        if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+        return new SearchResult(best.moves(), best.score(), best.depth(), nodes);
+    }
+
+    @Override
+    public void stop() {
+        for (SearchEngine engine : engines) {
+            engine.stop();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        stop();
+        if (helperPool != null) {
+            helperPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets the number of search threads.
+     *
+     * @return The thread count.
+     */
+    public int getThreadCount() {
+        return engines.length;
+    }
+
+    /**
+     * Gets the nodes searched by every thread in the last search.
+     *
+     * @return Copy of the node counts, index 0 is the main search.
+     */
+    public long[] getThreadNodes() {
+        return threadNodes.clone();
+    }
+
+    /**
+     * Gets the node throughput of every thread in the last search.
+     *
+     * @return Nodes per second of every thread, index 0 is the main search.
+     */
+    public double[] getThreadNodesPerSecond() {
+        double seconds = Math.max(elapsedNanos / 1e9, 1e-9);
+        double[] rates = new double[threadNodes.length];
+        for (int i = 0; i < rates.length; i++) {
+            rates[i] = threadNodes[i] / seconds;
+        }
+        return rates;
+    }
+
+    /**
+     * Method to stop a helper and wait for its result. The stop is repeated until the task ends,
+     * as a helper which had not started yet would clear an earlier stop request.
+     *
+     * @param helper Engine of the helper.
+     * @param future Future of its search.
+     * @return The helper's result, or null if the waiting thread was interrupted.
+     * @throws ExecutionException If the helper's search failed.
+     */
+    private static SearchResult awaitHelper(SearchEngine helper, Future<SearchResult> future) throws ExecutionException {
+        while (true) {
+            helper.stop();
+            try {
+                return future.get(1, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // not finished yet, stop again
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Benchmark entry point: searches the default position and prints the node throughput of every thread.
+     * Arguments: [threads (default: available processors)] [time in milliseconds (default 5000)].
+     *
+     * @param args Command line arguments.
+     */
+    public static void main(String[] args) {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 5000;
+        Board board = new Board();
+        board.populateBoardFrom2DString(Game.DEFAULT_BOARD, new Player(1, false), new Player(2, false));
+        LazySmpEngine engine = new LazySmpEngine(threads, new TranspositionTable(TranspositionTable.DEFAULT_SIZE_MB));
+        SearchResult result = engine.search(board, Color.GOLD, 4, SearchLimits.ofTime(millis));
+        System.out.printf("best %s score %d depth %d nodes %d%n", result.movesToString(), result.score(), result.depth(), result.nodes());
+        long[] nodes = engine.getThreadNodes();
+        double[] rates = engine.getThreadNodesPerSecond();
+        for (int i = 0; i < nodes.length; i++) {
+            System.out.printf("thread %d: %d nodes (%.0f nodes/s)%n", i, nodes[i], rates[i]);
+        }
+        engine.shutdown();
+    }
+}
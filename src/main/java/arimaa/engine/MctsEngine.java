@@ -0,0 +1,599 @@
+package arimaa.engine;
+
+import arimaa.core.Board;
+import arimaa.core.MoveList;
+import arimaa.core.PackedMove;
+import arimaa.core.Turn;
+import arimaa.core.TurnGenerator;
+import arimaa.utils.Color;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The MctsEngine class is a Monte-Carlo tree search (UCT) player. The tree has one edge per move (step, push, pull
+ * or passing the rest of the turn), like the alpha-beta search, and every node remembers whose turn it is,
+ * the steps left and where the turn started. Worker threads of a ForkJoinPool run iterations on their own board
+ * copies: select down the shared tree with virtual loss (a visit counts as a loss until its result arrives),
+ * expand a leaf after a few visits, play a short random playout (ended by the {@link Evaluation}) and back the result up.
+ * The subtree of the position reached after both players moved is kept for the next search.
+ */
+public class MctsEngine implements Engine {
+    /**
+     * Class constant: marker of the edge passing the rest of the turn
+     */
+    private static final int PASS = -1;
+    /**
+     * Class constant: UCT exploration constant
+     */
+    private static final double EXPLORATION = 0.7;
+    /**
+     * Class constant: number of visits before a leaf gets its children
+     */
+    private static final int EXPAND_VISITS = 2;
+    /**
+     * Class constant: number of random turns played before the position is evaluated
+     */
+    private static final int PLAYOUT_TURNS = 2;
+    /**
+     * Class constant: evaluation difference corresponding to a winning chance of 1 / (1 + e^-1)
+     */
+    private static final double EVALUATION_SCALE = 400.0;
+    /**
+     * Class constant: levels of the old tree searched for the new root
+     */
+    private static final int REUSE_DEPTH = 10;
+    /**
+     * Class constant: maximum number of tree nodes (iterations go on without expanding beyond it)
+     */
+    private static final int MAX_TREE_NODES = 2_000_000;
+    /**
+     * Class constant: fixed-point scale of the summed results
+     */
+    private static final double VALUE_SCALE = 1 << 16;
+    /**
+     * Class constant: iterations between two checks of the clock
+     */
+    private static final int CHECK_INTERVAL = 64;
+
+    /**
+     * Instance variable: pool running the worker threads
+     */
+    private final ForkJoinPool pool;
+    /**
+     * Instance variable: number of worker threads
+     */
+    private final int threads;
+    /**
+     * Instance variable: number of nodes in the tree
+     */
+    private final AtomicInteger treeSize;
+    /**
+     * Instance variable: root of the tree of the last search (kept for reuse)
+     */
+    private Node root;
+    /**
+     * Instance variable: set to stop the current search
+     */
+    private volatile boolean stopped;
+
+    /**
+     * Constructs a new MctsEngine.
+     *
+     * @param threads Number of worker threads (at least 1).
+     */
+    public MctsEngine(int threads) {
+        this.threads = Math.max(1, threads);
+        pool = new ForkJoinPool(this.threads);
+        treeSize = new AtomicInteger();
+    }
+
+    @Override
+    public SearchResult search(Board board, Color color, int stepsLeft, long turnStartKey, SearchLimits limits) {
+        stopped = false;
+        long deadline = limits.timeMillis() == Long.MAX_VALUE
+                ? Long.MAX_VALUE
+                : System.nanoTime() + limits.timeMillis() * 1_000_000L;
+        root = findReusableRoot(SearchEngine.nodeKey(board, color, stepsLeft, turnStartKey));
+        if (root == null) {
+            root = new Node(0, enemyOf(color), color, stepsLeft, turnStartKey, board, Double.NaN);
+            treeSize.set(1);
+        } else {
+            treeSize.set(countNodes(root));
+        }
+        AtomicLong iterations = new AtomicLong();
+        List<Future<?>> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            Worker worker = new Worker(new Board(board), new SplittableRandom(System.nanoTime() + i));
+            workers.add(pool.submit(() -> worker.run(deadline, limits.maxNodes(), iterations)));
+        }
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (InterruptedException e) {
+                stop();
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return createResult(board, color, stepsLeft, Math.min(iterations.get(), limits.maxNodes()));
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+    }
+
+    @Override
+    public void shutdown() {
+        stop();
+        pool.shutdownNow();
+    }
+
+    /**
+     * Method to forget the tree, so that the next search starts from scratch.
+     */
+    public void reset() {
+        root = null;
+        treeSize.set(0);
+    }
+
+    /**
+     * Gets the number of nodes in the tree.
+     *
+     * @return The tree size.
+     */
+    public int getTreeSize() {
+        return treeSize.get();
+    }
+
+    /**
+     * Method to find the node of a position in the tree of the last search (breadth-first, a few levels deep).
+     *
+     * @param key Node key of the new root.
+     * @return The node to continue from, or null.
+     */
+    private Node findReusableRoot(long key) {
+        if (root == null) return null;
+        ArrayDeque<Node> level = new ArrayDeque<>();
+        level.add(root);
+        for (int depth = 0; depth <= REUSE_DEPTH && !level.isEmpty(); depth++) {
+            ArrayDeque<Node> next = new ArrayDeque<>();
+            for (Node node : level) {
+                if (node.key == key) return node;
+                Node[] children = node.children;
+                if (children != null) {
+                    for (Node child : children) {
+                        next.add(child);
+                    }
+                }
+            }
+            level = next;
+        }
+        return null;
+    }
+
+    /**
+     * Method to count the nodes of a subtree.
+     *
+     * @param node Root of the subtree.
+     * @return The number of nodes.
+     */
+    private static int countNodes(Node node) {
+        int count = 0;
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            Node current = stack.pop();
+            count++;
+            Node[] children = current.children;
+            if (children != null) {
+                for (Node child : children) {
+                    stack.push(child);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Method to read the turn off the tree: the most visited child, until the turn ends.
+     *
+     * @param board Board object of the root position (returned unchanged).
+     * @param color Color of the player to move.
+     * @param stepsLeft Steps left at the root.
+     * @param iterations Number of iterations run.
+     * @return The result of the search.
+     */
+    private SearchResult createResult(Board board, Color color, int stepsLeft, long iterations) {
+        ArrayList<Integer> turn = new ArrayList<>();
+        Node first = mostVisitedChild(root);
+        int depth = 0;
+        boolean inTurn = true;
+        for (Node node = first; node != null; node = mostVisitedChild(node)) {
+            depth++;
+            if (inTurn && node.move != PASS) turn.add(node.move);
+            if (node.move == PASS || node.color != color) inTurn = false;
+        }
+        int[] moves = turn.stream().mapToInt(Integer::intValue).toArray();
+        if (!changesPosition(board, moves)) {
+            moves = bestEvaluatedTurn(board, color, stepsLeft);
+        }
+        int score = 0;
+        if (first != null) {
+            double winRate = Math.min(Math.max(first.winRate(), 1e-6), 1 - 1e-6);
+            score = (int) Math.round(EVALUATION_SCALE * Math.log(winRate / (1 - winRate)));
+        }
+        return new SearchResult(moves, score, depth, iterations);
+    }
+
+    /**
+     * Method to get the most visited child of a node.
+     *
+     * @param node Parent node.
+     * @return The child, or null if no child was visited.
+     */
+    private static Node mostVisitedChild(Node node) {
+        Node[] children = node.children;
+        if (children == null) return null;
+        Node best = null;
+        for (Node child : children) {
+            if (child.visits.get() > 0 && (best == null || child.visits.get() > best.visits.get())) {
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Method to check whether playing moves changes the position (the board is returned unchanged).
+     *
+     * @param board Board object of the root position.
+     * @param moves Encoded moves.
+     * @return Boolean value of the check.
+     */
+    private static boolean changesPosition(Board board, int[] moves) {
+        long key = board.getPositionKey();
+        for (int move : moves) {
+            board.makeMove(move);
+        }
+        boolean changed = board.getPositionKey() != key;
+        for (int i = 0; i < moves.length; i++) {
+            board.unmakeMove();
+        }
+        return changed;
+    }
+
+    /**
+     * Method to pick the turn with the best static evaluation, when the tree gives no complete turn.
+     *
+     * @param board Board object of the root position (returned unchanged).
+     * @param color Color of the player to move.
+     * @param stepsLeft Steps left at the root.
+     * @return Encoded moves of the turn (empty if there is none).
+     */
+    private static int[] bestEvaluatedTurn(Board board, Color color, int stepsLeft) {
+        int[] best = new int[0];
+        int bestScore = Integer.MIN_VALUE;
+        ArrayList<Turn> turns = new TurnGenerator(board).generateTurns(color, stepsLeft);
+        Evaluation evaluation = Evaluation.attach(board);
+        for (Turn turn : turns) {
+            turn.makeOn(board);
+            int score = evaluation.evaluate(color);
+            turn.unmakeOn(board);
+            if (score > bestScore) {
+                bestScore = score;
+                best = turn.moves().clone();
+            }
+        }
+        evaluation.detach();
+        return best;
+    }
+
+    /**
+     * Method to decide the game at the end of a turn (goal before elimination, the moving player first).
+     *
+     * @param board Board object after the turn.
+     * @param color Color of the player whose turn ends.
+     * @return 1 if gold won, 0 if silver won, NaN if the game goes on.
+     */
+    private static double turnEndResult(Board board, Color color) {
+        Color enemy = enemyOf(color);
+        Color winner = null;
+        if (board.getGoalRabbitCount(color) > 0) winner = color;
+        else if (board.getGoalRabbitCount(enemy) > 0) winner = enemy;
+        else if (board.getRabbitCount(enemy) == 0) winner = color;
+        else if (board.getRabbitCount(color) == 0) winner = enemy;
+        if (winner == null) return Double.NaN;
+        return winner == Color.GOLD ? 1 : 0;
+    }
+
+    /**
+     * Method to get the color of the enemy.
+     *
+     * @param color Color of the player.
+     * @return Color of the other player.
+     */
+    private static Color enemyOf(Color color) {
+        return color == Color.GOLD ? Color.SILVER : Color.GOLD;
+    }
+
+    /**
+     * The Worker class runs iterations on its own board copy, which is returned to the root position after each.
+     */
+    private final class Worker {
+        private final Board board;
+        private final Evaluation evaluation;
+        private final SplittableRandom random;
+        private final MoveList moves;
+        private final ArrayList<Node> path;
+
+        /**
+         * Constructs a new Worker.
+         *
+         * @param board Copy of the root position.
+         * @param random Random generator of the playouts.
+         */
+        Worker(Board board, SplittableRandom random) {
+            this.board = board;
+            this.random = random;
+            evaluation = Evaluation.attach(board);
+            moves = new MoveList();
+            path = new ArrayList<>();
+        }
+
+        /**
+         * Method to run iterations until the time or iteration budget runs out or the search is stopped.
+         *
+         * @param deadline System.nanoTime() at which to stop.
+         * @param maxIterations Iteration budget shared by all workers.
+         * @param iterations Iterations started by all workers.
+         */
+        void run(long deadline, long maxIterations, AtomicLong iterations) {
+            for (int done = 0; !stopped; done++) {
+                if (done % CHECK_INTERVAL == 0 && System.nanoTime() >= deadline) return;
+                if (iterations.incrementAndGet() > maxIterations) return;
+                iterate();
+            }
+        }
+
+        /**
+         * Method to run one iteration: selection, expansion, playout and backpropagation.
+         */
+        private void iterate() {
+            path.clear();
+            Node node = root;
+            node.visits.incrementAndGet();
+            path.add(node);
+            int made = 0;
+            while (Double.isNaN(node.terminal)) {
+                Node[] children = node.children;
+                if (children == null) {
+                    if (node != root && (node.visits.get() < EXPAND_VISITS || treeSize.get() >= MAX_TREE_NODES)) break;
+                    children = expand(node);
+                    if (children.length == 0) break;
+                }
+                node = select(node, children);
+                // virtual loss: the visit counts before its result, steering other workers elsewhere
+                node.visits.incrementAndGet();
+                path.add(node);
+                if (node.move != PASS) {
+                    board.makeMove(node.move);
+                    made++;
+                }
+            }
+            double goldResult = Double.isNaN(node.terminal) ? playout(node) : node.terminal;
+            for (Node visited : path) {
+                double result = visited.mover == Color.GOLD ? goldResult : 1 - goldResult;
+                visited.valueSum.addAndGet(Math.round(result * VALUE_SCALE));
+            }
+            for (; made > 0; made--) {
+                board.unmakeMove();
+            }
+        }
+
+        /**
+         * Method to pick the child with the highest upper confidence bound (unvisited children first).
+         *
+         * @param parent Parent node.
+         * @param children Its children.
+         * @return The selected child.
+         */
+        private Node select(Node parent, Node[] children) {
+            double logVisits = Math.log(Math.max(1, parent.visits.get()));
+            Node best = children[0];
+            double bestBound = Double.NEGATIVE_INFINITY;
+            for (Node child : children) {
+                int visits = child.visits.get();
+                if (visits == 0) return child;
+                double bound = child.winRate() + EXPLORATION * Math.sqrt(logVisits / visits);
+                if (bound > bestBound) {
+                    bestBound = bound;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Method to create the children of a node (once, whichever worker comes first).
+         * Turn ends leaving the position unchanged are left out; a node without children is lost for the player to move.
+         *
+         * @param node Node in the position of the worker's board.
+         * @return The children.
+         */
+        private Node[] expand(Node node) {
+            synchronized (node) {
+                if (node.children != null) return node.children;
+                ArrayList<Node> children = new ArrayList<>();
+                board.generateMoves(node.color, node.stepsLeft, moves);
+                for (int i = 0; i < moves.size(); i++) {
+                    int move = moves.get(i);
+                    int stepsLeftAfter = node.stepsLeft - PackedMove.stepCost(move);
+                    board.makeMove(move);
+                    Node child = stepsLeftAfter > 0
+                            ? new Node(move, node.color, node.color, stepsLeftAfter, node.turnStartKey, board, Double.NaN)
+                            : endTurnChild(move, node);
+                    board.unmakeMove();
+                    if (child != null) children.add(child);
+                }
+                if (node.stepsLeft < TurnGenerator.MAX_STEPS) {
+                    Node pass = endTurnChild(PASS, node);
+                    if (pass != null) children.add(pass);
+                }
+                if (children.isEmpty()) {
+                    node.terminal = node.color == Color.GOLD ? 0 : 1;
+                }
+                treeSize.addAndGet(children.size());
+                node.children = children.toArray(new Node[0]);
+                return node.children;
+            }
+        }
+
+        /**
+         * Method to create the child ending the turn in the position of the worker's board.
+         *
+         * @param move Encoded move or PASS.
+         * @param parent Node whose turn ends.
+         * @return The child, or null if the turn would leave the position unchanged.
+         */
+        private Node endTurnChild(int move, Node parent) {
+            long key = board.getPositionKey();
+            if (key == parent.turnStartKey) return null;
+            return new Node(move, parent.color, enemyOf(parent.color), TurnGenerator.MAX_STEPS, key, board,
+                    turnEndResult(board, parent.color));
+        }
+
+        /**
+         * Method to play random moves from a node for a few turns and score the reached position.
+         *
+         * @param node Leaf node in the position of the worker's board.
+         * @return Result from gold's point of view (1 win, 0 loss, in between by the evaluation).
+         */
+        private double playout(Node node) {
+            Color color = node.color;
+            int stepsLeft = node.stepsLeft;
+            long turnStartKey = node.turnStartKey;
+            int made = 0;
+            double result = Double.NaN;
+            for (int turns = 0; turns < PLAYOUT_TURNS && Double.isNaN(result); ) {
+                board.generateMoves(color, stepsLeft, moves);
+                boolean canPass = stepsLeft < TurnGenerator.MAX_STEPS && board.getPositionKey() != turnStartKey;
+                int choices = moves.size() + (canPass ? 1 : 0);
+                if (choices == 0) {
+                    result = color == Color.GOLD ? 0 : 1;
+                    break;
+                }
+                int choice = random.nextInt(choices);
+                if (choice < moves.size()) {
+                    board.makeMove(moves.get(choice));
+                    made++;
+                    stepsLeft -= PackedMove.stepCost(moves.get(choice));
+                } else {
+                    stepsLeft = 0;
+                }
+                if (stepsLeft == 0) {
+                    result = turnEndResult(board, color);
+                    color = enemyOf(color);
+                    stepsLeft = TurnGenerator.MAX_STEPS;
+                    turnStartKey = board.getPositionKey();
+                    turns++;
+                }
+            }
+            if (Double.isNaN(result)) {
+                result = 1 / (1 + Math.exp(-evaluation.evaluate(Color.GOLD) / EVALUATION_SCALE));
+            }
+            for (; made > 0; made--) {
+                board.unmakeMove();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The Node class is one position of the tree, reached by one move from its parent.
+     */
+    private static final class Node {
+        /**
+         * Instance variable: encoded move (or PASS) leading to the node
+         */
+        final int move;
+        /**
+         * Instance variable: color of the player who made the move (the results are summed for them)
+         */
+        final Color mover;
+        /**
+         * Instance variable: color of the player to move
+         */
+        final Color color;
+        /**
+         * Instance variable: steps left in the current turn
+         */
+        final int stepsLeft;
+        /**
+         * Instance variable: key of the pieces at the start of the current turn
+         */
+        final long turnStartKey;
+        /**
+         * Instance variable: node key, to find the node again when the tree is reused
+         */
+        final long key;
+        /**
+         * Instance variable: visits, including those of iterations still running (virtual loss)
+         */
+        final AtomicInteger visits;
+        /**
+         * Instance variable: summed results for the mover, in fixed point
+         */
+        final AtomicLong valueSum;
+        /**
+         * Instance variable: 1 if gold won, 0 if silver won, NaN if the game goes on
+         */
+        volatile double terminal;
+        /**
+         * Instance variable: children, null until the node is expanded
+         */
+        volatile Node[] children;
+
+        /**
+         * Constructs a new Node in the current position of a board.
+         *
+         * @param move Encoded move or PASS leading to the node.
+         * @param mover Color of the player who made the move.
+         * @param color Color of the player to move.
+         * @param stepsLeft Steps left in the current turn.
+         * @param turnStartKey Key of the pieces at the start of the current turn.
+         * @param board Board object in the position of the node.
+         * @param terminal Game result, or NaN.
+         */
+        Node(int move, Color mover, Color color, int stepsLeft, long turnStartKey, Board board, double terminal) {
+            this.move = move;
+            this.mover = mover;
+            this.color = color;
+            this.stepsLeft = stepsLeft;
+            this.turnStartKey = turnStartKey;
+            this.key = SearchEngine.nodeKey(board, color, stepsLeft, turnStartKey);
+            this.terminal = terminal;
+            visits = new AtomicInteger();
+            valueSum = new AtomicLong();
+        }
+
+        /**
+         * Gets the average result for the mover.
+         *
+         * @return The win rate (0-1).
+         */
+        double winRate() {
+            int count = visits.get();
+            return count == 0 ? 0.5 : valueSum.get() / VALUE_SCALE / count;
+        }
+    }
+}
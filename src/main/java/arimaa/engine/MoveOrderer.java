@@ -0,0 +1,185 @@
+package arimaa.engine;
+
+import arimaa.core.Board;
+import arimaa.core.MoveList;
+import arimaa.core.PackedMove;
+import arimaa.core.Piece;
+import arimaa.utils.Bitboard;
+import arimaa.utils.Color;
+
+import java.util.Arrays;
+
+/**
+ * The MoveOrderer class sorts the moves of a search node so that the ones likely to cause a cutoff come first:
+ * the transposition table (or principal variation) move, then the captures found by the trap analysis,
+ * then the killer moves of the ply, then all other moves by their history score.
+ * The history is a flat table indexed by (piece code, from, to) of the moving piece; it is kept across
+ * the iterations of a search and halved when a new search starts, so it also carries over from turn to turn.
+ */
+public class MoveOrderer {
+    /**
+     * Class constant: number of killer moves kept per ply
+     */
+    private static final int KILLERS = 2;
+    /**
+     * Class constant: sort key of the first move
+     */
+    private static final int FIRST_SCORE = Integer.MAX_VALUE;
+    /**
+     * Class constant: sort key of a capture
+     */
+    private static final int CAPTURE_SCORE = Integer.MAX_VALUE - 1;
+    /**
+     * Class constant: sort key of the first killer move (the second scores one less)
+     */
+    private static final int KILLER_SCORE = Integer.MAX_VALUE - 2;
+    /**
+     * Class constant: history value above which the whole table is halved (keeps history below the killers)
+     */
+    private static final int MAX_HISTORY = 1 << 28;
+
+    /**
+     * Instance variable: board being searched
+     */
+    private Board board;
+    /**
+     * Instance variable: capture generator working on the board
+     */
+    private TrapAnalysis trapAnalysis;
+    /**
+     * Instance variable: history score of every (piece code, from, to), indexed by (code * 64 + from) * 64 + to
+     */
+    private final int[] history;
+    /**
+     * Instance variable: killer moves of every ply, indexed by [ply][slot]
+     */
+    private final int[][] killers;
+    /**
+     * Instance variable: reusable list of the captures of a node
+     */
+    private final MoveList captures;
+    /**
+     * Instance variable: reusable sort keys, parallel to the move list being sorted
+     */
+    private int[] scores;
+
+    /**
+     * Constructs a new MoveOrderer with an empty history.
+     *
+     * @param maxPly Number of plies killer moves are kept for.
+     */
+    public MoveOrderer(int maxPly) {
+        history = new int[Piece.CODES * Bitboard.SQUARES * Bitboard.SQUARES];
+        killers = new int[maxPly][KILLERS];
+        captures = new MoveList();
+        scores = new int[MoveList.DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Method to prepare a new search: forget the killers and age the history.
+     *
+     * @param board Board object being searched.
+     * @param trapAnalysis TrapAnalysis working on the same board.
+     */
+    public void newSearch(Board board, TrapAnalysis trapAnalysis) {
+        this.board = board;
+        this.trapAnalysis = trapAnalysis;
+        for (int[] plyKillers : killers) {
+            Arrays.fill(plyKillers, TranspositionTable.NO_MOVE);
+        }
+        ageHistory();
+    }
+
+    /**
+     * Method to sort the moves of a node, best candidates first.
+     *
+     * @param moves Moves generated for the node (may contain the pass marker -1).
+     * @param ply Number of moves from the root.
+     * @param color Color of the player to move.
+     * @param stepsLeft Steps left in the current turn.
+     * @param firstMove Move to be tried first (transposition table or principal variation move), or TranspositionTable.NO_MOVE.
+     */
+    public void order(MoveList moves, int ply, Color color, int stepsLeft, int firstMove) {
+        int size = moves.size();
+        if (scores.length < size) scores = new int[size];
+        trapAnalysis.generateCaptures(color, stepsLeft, captures);
+        for (int i = 0; i < size; i++) {
+            scores[i] = score(moves.get(i), ply, firstMove);
+        }
+        // insertion sort: the lists are short and mostly stay in generation order
+        for (int i = 1; i < size; i++) {
+            int move = moves.get(i);
+            int score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                moves.set(j + 1, moves.get(j));
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            moves.set(j + 1, move);
+            scores[j + 1] = score;
+        }
+    }
+
+    /**
+     * Method to reward a move which caused a cutoff: it gains history by depth squared and, unless it is a capture
+     * (ordered above the killers anyway), becomes a killer of the ply.
+     *
+     * @param move Encoded move, not made on the board (or the pass marker -1, which is not recorded).
+     * @param capture Whether the move captured an enemy piece.
+     * @param ply Number of moves from the root.
+     * @param depth Remaining depth in steps of the node.
+     */
+    public void recordCutoff(int move, boolean capture, int ply, int depth) {
+        if (move < 0) return;
+        if (!capture) {
+            int[] plyKillers = killers[ply];
+            if (plyKillers[0] != move) {
+                plyKillers[1] = plyKillers[0];
+                plyKillers[0] = move;
+            }
+        }
+        int index = historyIndex(move);
+        history[index] += depth * depth;
+        if (history[index] > MAX_HISTORY) ageHistory();
+    }
+
+    /**
+     * Method to get the sort key of a move.
+     *
+     * @param move Encoded move or the pass marker.
+     * @param ply Number of moves from the root.
+     * @param firstMove Move to be tried first.
+     * @return The sort key (higher first).
+     */
+    private int score(int move, int ply, int firstMove) {
+        if (move == firstMove) return FIRST_SCORE;
+        for (int i = 0; i < captures.size(); i++) {
+            if (captures.get(i) == move) return CAPTURE_SCORE;
+        }
+        int[] plyKillers = killers[ply];
+        if (move == plyKillers[0]) return KILLER_SCORE;
+        if (move == plyKillers[1]) return KILLER_SCORE - 1;
+        return move < 0 ? 0 : history[historyIndex(move)];
+    }
+
+    /**
+     * Method to get the history index of a move: the piece moving on its own (the pusher or puller), where from and to.
+     *
+     * @param move Encoded move (no pass marker), not made on the board.
+     * @return Index into the history table.
+     */
+    private int historyIndex(int move) {
+        int from = PackedMove.from(move);
+        return (board.getCodeAt(from) * Bitboard.SQUARES + from) * Bitboard.SQUARES + PackedMove.to(move);
+    }
+
+    /**
+     * Method to halve all history scores, so that recent cutoffs weigh more.
+     */
+    private void ageHistory() {
+        for (int i = 0; i < history.length; i++) {
+            history[i] >>= 1;
+        }
+    }
+}
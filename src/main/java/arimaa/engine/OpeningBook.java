@@ -0,0 +1,270 @@
+package arimaa.engine;
+
+import arimaa.core.Board;
+import arimaa.core.Piece;
+import arimaa.core.TurnGenerator;
+import arimaa.utils.Color;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The OpeningBook class looks up turns for positions at the start of a turn in a precomputed book file.
+ * The file is a header followed by fixed-size entries sorted by key (the node key of the position with the player
+ * to move and 4 steps left); a position may have several entries, one per turn, each with a weight.
+ * The header also holds the setups the book's games started from: a computer player arranges its pieces that way
+ * while a book is loaded, as the book only knows positions reached from them.
+ * The file is memory-mapped and binary-searched in place, so opening a book reads nothing but its header.
+ * Books are built offline by {@link OpeningBookBuilder}.
+ */
+public class OpeningBook {
+    /**
+     * Class constant: system property with the path of the book used by computer players (default: arimaa-book.bin)
+     */
+    public static final String PATH_PROPERTY = "arimaa.book";
+    /**
+     * Class constant: path of the book used when the system property is not set
+     */
+    public static final String DEFAULT_PATH = "arimaa-book.bin";
+    /**
+     * Class constant: first bytes of every book file ("ARBK")
+     */
+    private static final int MAGIC = 0x4152424B;
+    /**
+     * Class constant: version of the file layout
+     */
+    private static final int VERSION = 2;
+    /**
+     * Class constant: offset of the setups in the header (gold, then silver, piece codes in the order of
+     * SetupOptimizer.homeSquares; all zero for none)
+     */
+    private static final int SETUPS_OFFSET = 3 * Integer.BYTES;
+    /**
+     * Class constant: size of the header in bytes (magic, version, entry count, setups)
+     */
+    private static final int HEADER_BYTES = SETUPS_OFFSET + Color.values().length * SetupOptimizer.SETUP_SQUARES;
+    /**
+     * Class constant: size of an entry in bytes (key, weight, up to 4 moves with 0 for none)
+     */
+    private static final int ENTRY_BYTES = Long.BYTES + Integer.BYTES + TurnGenerator.MAX_STEPS * Integer.BYTES;
+
+    /**
+     * The Entry record is one turn of the book.
+     *
+     * @param key    Node key of the position at the start of the turn.
+     * @param moves  Encoded moves of the turn (see PackedMove).
+     * @param weight Weight of the turn among the turns of the position (higher is better).
+     */
+    public record Entry(long key, int[] moves, int weight) {
+    }
+
+    /**
+     * Instance variable: mapped content of the file
+     */
+    private final MappedByteBuffer buffer;
+    /**
+     * Instance variable: number of entries
+     */
+    private final int size;
+
+    /**
+     * Constructs a new OpeningBook over mapped file content.
+     *
+     * @param buffer Mapped content of the file.
+     * @param size Number of entries.
+     */
+    private OpeningBook(MappedByteBuffer buffer, int size) {
+        this.buffer = buffer;
+        this.size = size;
+    }
+
+    /**
+     * Method to open a book file by mapping it into memory.
+     *
+     * @param path Path of the file.
+     * @return The book.
+     * @throws IOException If the file cannot be read or is no book file.
+     */
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+                throw new IOException("Not an opening book: " + path);
+            }
+            int size = buffer.getInt(2 * Integer.BYTES);
+            if ((long) size * ENTRY_BYTES + HEADER_BYTES != buffer.capacity()) {
+                throw new IOException("Truncated opening book: " + path);
+            }
+            return new OpeningBook(buffer, size);
+        }
+    }
+
+    /**
+     * Method to write a book file without setups (the entries are sorted by key first).
+     *
+     * @param path Path of the file, replaced if it exists.
+     * @param entries Entries of the book, turns of at most 4 moves.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path path, List<Entry> entries) throws IOException {
+        write(path, entries, Map.of());
+    }
+
+    /**
+     * Method to write a book file (the entries are sorted by key first).
+     *
+     * @param path Path of the file, replaced if it exists.
+     * @param entries Entries of the book, turns of at most 4 moves.
+     * @param setups Setups the book's games started from, by color (piece codes in the order of SetupOptimizer.homeSquares).
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path path, List<Entry> entries, Map<Color, byte[]> setups) throws IOException {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingLong(Entry::key));
+        try (OutputStream file = Files.newOutputStream(path);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(sorted.size());
+            for (Color color : Color.values()) {
+                out.write(setups.getOrDefault(color, new byte[SetupOptimizer.SETUP_SQUARES]));
+            }
+            for (Entry entry : sorted) {
+                out.writeLong(entry.key());
+                out.writeInt(entry.weight());
+                for (int i = 0; i < TurnGenerator.MAX_STEPS; i++) {
+                    out.writeInt(i < entry.moves().length ? entry.moves()[i] : TranspositionTable.NO_MOVE);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to get the key a position is stored under.
+     *
+     * @param board Board object with the position.
+     * @param color Color of the player to move (at the start of the turn).
+     * @return The key.
+     */
+    public static long key(Board board, Color color) {
+        return SearchEngine.nodeKey(board, color, TurnGenerator.MAX_STEPS, 0);
+    }
+
+    /**
+     * Method to get all book turns of a position.
+     *
+     * @param board Board object with the position.
+     * @param color Color of the player to move (at the start of the turn).
+     * @return The entries of the position, empty if it is not in the book.
+     */
+    public List<Entry> lookup(Board board, Color color) {
+        long key = key(board, color);
+        List<Entry> entries = new ArrayList<>();
+        for (int i = firstIndex(key); i < size && keyAt(i) == key; i++) {
+            entries.add(entryAt(i));
+        }
+        return entries;
+    }
+
+    /**
+     * Method to get the book turn of a position with the highest weight (the first one on equal weights).
+     *
+     * @param board Board object with the position.
+     * @param color Color of the player to move (at the start of the turn).
+     * @return The encoded moves of the turn, or null if the position is not in the book.
+     */
+    public int[] bestTurn(Board board, Color color) {
+        Entry best = null;
+        for (Entry entry : lookup(board, color)) {
+            if (best == null || entry.weight() > best.weight()) {
+                best = entry;
+            }
+        }
+        return best == null ? null : best.moves();
+    }
+
+    /**
+     * Method to get the setup the book's games started from.
+     *
+     * @param color Color of the player.
+     * @return Piece codes in the order of SetupOptimizer.homeSquares, or null if the book has no setup for the color.
+     */
+    public byte[] setup(Color color) {
+        byte[] codes = new byte[SetupOptimizer.SETUP_SQUARES];
+        buffer.get(SETUPS_OFFSET + color.ordinal() * SetupOptimizer.SETUP_SQUARES, codes);
+        for (byte code : codes) {
+            if (code != Piece.EMPTY) return codes;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return The entry count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method to find the first entry whose key is not below a key (binary search).
+     *
+     * @param key Key searched for.
+     * @return Index of the entry, or size if all keys are lower.
+     */
+    private int firstIndex(long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keyAt(middle) < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Method to read the key of an entry.
+     *
+     * @param index Index of the entry.
+     * @return The key.
+     */
+    private long keyAt(int index) {
+        return buffer.getLong(HEADER_BYTES + index * ENTRY_BYTES);
+    }
+
+    /**
+     * Method to read an entry.
+     *
+     * @param index Index of the entry.
+     * @return The entry.
+     */
+    private Entry entryAt(int index) {
+        int offset = HEADER_BYTES + index * ENTRY_BYTES;
+        int weight = buffer.getInt(offset + Long.BYTES);
+        int count = 0;
+        int[] moves = new int[TurnGenerator.MAX_STEPS];
+        for (int i = 0; i < TurnGenerator.MAX_STEPS; i++) {
+            int move = buffer.getInt(offset + Long.BYTES + Integer.BYTES + i * Integer.BYTES);
+            if (move == TranspositionTable.NO_MOVE) break;
+            moves[count++] = move;
+        }
+        return new Entry(keyAt(index), Arrays.copyOf(moves, count), weight);
+    }
+}
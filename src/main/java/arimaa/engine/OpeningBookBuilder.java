@@ -0,0 +1,114 @@
+package arimaa.engine;
+
+import arimaa.core.Board;
+import arimaa.core.Game;
+import arimaa.core.Player;
+import arimaa.utils.Color;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The OpeningBookBuilder class builds an {@link OpeningBook} offline from self-play games of the alpha-beta engine.
+ * The games start from the setups chosen once by the {@link SetupOptimizer}, which are stored in the book, so that
+ * computer players arranging their pieces from the book reach its positions.
+ * The first turns of every game are collected; the weight of a turn in a position
+ * counts how often it was played, plus 2 for every game its player won and 1 for every draw.
+ * The time per turn varies from game to game (and several threads search non-deterministically), so the games branch.
+ */
+public final class OpeningBookBuilder {
+    /**
+     * Class constant: weight added for every time a turn was played
+     */
+    private static final int PLAYED_WEIGHT = 1;
+    /**
+     * Class constant: weight added when the player of the turn won the game (half of it for a draw)
+     */
+    private static final int WIN_WEIGHT = 2;
+
+    /**
+     * Private record: a turn played in a position during self-play
+     *
+     * @param key Book key of the position.
+     * @param color Color of the player.
+     * @param moves Encoded moves of the turn.
+     */
+    private record PlayedTurn(long key, Color color, int[] moves) {
+    }
+
+    /**
+     * Utility class, no instances.
+     */
+    private OpeningBookBuilder() {
+    }
+
+    /**
+     * Entry point: arguments [output file (default arimaa-book.bin)] [games (default 20)]
+     * [time per turn in milliseconds (default 500)] [book turns per game (default 8)] [threads (default 1)]
+     * [time per setup in milliseconds (default 2000)].
+     *
+     * @param args Command line arguments.
+     * @throws IOException If the book cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Path.of(args.length > 0 ? args[0] : OpeningBook.DEFAULT_PATH);
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        long millis = args.length > 2 ? Long.parseLong(args[2]) : 500;
+        int bookTurns = args.length > 3 ? Integer.parseInt(args[3]) : 8;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+        long setupMillis = args.length > 5 ? Long.parseLong(args[5]) : 2000;
+        build(path, games, millis, bookTurns, threads, setupMillis);
+    }
+
+    /**
+     * Method to build a book: choose both setups, play the games and write the file.
+     *
+     * @param path Path of the book file, replaced if it exists.
+     * @param games Number of self-play games.
+     * @param millis Average time per turn in milliseconds.
+     * @param bookTurns Number of turns of every game stored in the book.
+     * @param threads Number of search and setup threads.
+     * @param setupMillis Time budget of every setup in milliseconds.
+     * @throws IOException If the book cannot be written.
+     */
+    public static void build(Path path, int games, long millis, int bookTurns, int threads, long setupMillis) throws IOException {
+        Board start = new Board();
+        start.populateBoardFrom2DString(Game.DEFAULT_BOARD, new Player(1, true), new Player(2, true));
+        Map<Color, byte[]> setups = new EnumMap<>(Color.class);
+        SetupOptimizer optimizer = new SetupOptimizer(threads);
+        // gold sets up first, silver seeing gold's setup, as in the game
+        for (Color color : Color.values()) {
+            byte[] setup = optimizer.optimize(start, color, setupMillis);
+            SetupOptimizer.applySetup(start, color, setup);
+            setups.put(color, setup);
+        }
+        LazySmpEngine engine = new LazySmpEngine(threads, new TranspositionTable(TranspositionTable.DEFAULT_SIZE_MB));
+        Random random = new Random(games);
+        Map<String, OpeningBook.Entry> entries = new HashMap<>();
+        for (int game = 0; game < games; game++) {
+            List<PlayedTurn> played = new ArrayList<>();
+            SearchLimits limits = SearchLimits.ofTime(millis / 2 + (long) (random.nextDouble() * millis));
+            Color winner = EngineMatch.play(start, engine, engine, limits, (board, color, moves) -> {
+                if (played.size() < bookTurns) {
+                    played.add(new PlayedTurn(OpeningBook.key(board, color), color, moves.clone()));
+                }
+            });
+            for (PlayedTurn turn : played) {
+                int weight = PLAYED_WEIGHT + (winner == null ? WIN_WEIGHT / 2 : winner == turn.color() ? WIN_WEIGHT : 0);
+                entries.merge(turn.key() + Arrays.toString(turn.moves()), new OpeningBook.Entry(turn.key(), turn.moves(), weight),
+                        (old, added) -> new OpeningBook.Entry(old.key(), old.moves(), old.weight() + added.weight()));
+            }
+            System.out.printf("game %d: %s, %d book entries%n", game + 1, winner == null ? "draw" : winner + " won", entries.size());
+        }
+        engine.shutdown();
+        OpeningBook.write(path, new ArrayList<>(entries.values()), setups);
+        System.out.printf("wrote %d entries to %s%n", entries.size(), path);
+    }
+}
@@ -0,0 +1,85 @@
+package arimaa.engine;
+
+import arimaa.core.Board;
+import arimaa.utils.Color;
+
+/**
+ * The Ponderer class lets an engine think while the human opponent is moving. It searches the position at the start
+ * of the human's turn on a background thread without a budget, until it is stopped when the turn ends.
+ * The search result is thrown away: what remains is the work kept by the engine, the filled transposition table
+ * of the alpha-beta engines (the computer's turn start positions are among its nodes) and the tree of the MCTS engine,
+ * whose subtree below the position the human chose is picked up again by the next search.
+ */
+public class Ponderer {
+    /**
+     * Class constant: system property switching pondering off (-Darimaa.ponder=false)
+     */
+    public static final String PONDER_PROPERTY = "arimaa.ponder";
+    /**
+     * Class constant: milliseconds waited for the search to end before the stop request is repeated
+     */
+    private static final long STOP_POLL_MILLIS = 5;
+
+    /**
+     * Instance variable: engine pondering (must not search anything else meanwhile)
+     */
+    private final Engine engine;
+    /**
+     * Instance variable: thread running the current pondering search, null if none
+     */
+    private Thread thread;
+
+    /**
+     * Constructs a new Ponderer for an engine.
+     *
+     * @param engine Engine to think with.
+     */
+    public Ponderer(Engine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Method to start pondering a position (a running pondering search is stopped first).
+     * The board is copied, so it may change while the search runs.
+     *
+     * @param board Board object with the position.
+     * @param color Color of the player to move (the human).
+     * @param stepsLeft Steps left in the current turn.
+     * @param turnStartKey Position key at the start of the current turn.
+     */
+    public synchronized void start(Board board, Color color, int stepsLeft, long turnStartKey) {
+        stop();
+        Board copy = new Board(board);
+        SearchLimits limits = SearchLimits.ofDepth(SearchLimits.MAX_DEPTH);
+        thread = new Thread(() -> engine.search(copy, color, stepsLeft, turnStartKey, limits), "ponderer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Method to stop pondering and wait until the search has ended, so the engine is free for the next search.
+     * The stop is repeated until the thread ends, as a search which had not started yet would clear an earlier request.
+     */
+    public synchronized void stop() {
+        if (thread == null) return;
+        while (thread.isAlive()) {
+            engine.stop();
+            try {
+                thread.join(STOP_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        thread = null;
+    }
+
+    /**
+     * Method to check whether a pondering search is running.
+     *
+     * @return Boolean value of the check.
+     */
+    public synchronized boolean isPondering() {
+        return thread != null && thread.isAlive();
+    }
+}
@@ -0,0 +1,578 @@
+package arimaa.engine;
+
+import arimaa.core.Board;
+import arimaa.core.MoveList;
+import arimaa.core.PackedMove;
+import arimaa.core.Turn;
+import arimaa.core.TurnGenerator;
+import arimaa.core.Zobrist;
+import arimaa.utils.Color;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The SearchEngine class is an iterative-deepening principal variation (alpha-beta) search over single moves.
+ * The depth is counted in steps (push and pull cost 2). The player keeps the move, and the score keeps its sign,
+ * until the 4 steps are used or the rest is passed; only at that turn boundary the side changes and the score is negated.
+ * A turn must change the position; goal and elimination are checked when a turn ends.
+ * At the leaves a quiescence search plays out the trap captures still possible this turn (see {@link TrapAnalysis}).
+ * Results are kept in a {@link TranspositionTable}, which merges the many step orders reaching the same position.
+ */
+public class SearchEngine implements Engine {
+    /**
+     * Class constant: score of a won game (reduced by the distance in moves, so faster wins score higher)
+     */
+    public static final int WIN = 100_000;
+    /**
+     * Class constant: bound above every score
+     */
+    private static final int INFINITY = 1_000_000;
+    /**
+     * Class constant: marker of a move sequence which breaks the rules (turn not changing the position)
+     */
+    private static final int ILLEGAL = Integer.MIN_VALUE;
+    /**
+     * Class constant: marker stored in move lists and the principal variation for passing the rest of the turn
+     */
+    private static final int PASS = -1;
+    /**
+     * Class constant: maximum number of moves from the root
+     */
+    private static final int MAX_PLY = SearchLimits.MAX_DEPTH + 1;
+    /**
+     * Class constant: scores beyond this bound are wins or losses (ply from the root plus steps of a proven goal)
+     */
+    static final int WIN_BOUND = WIN - 2 * MAX_PLY;
+    /**
+     * Class constant: number of nodes between two checks of the time and node budget
+     */
+    private static final int CHECK_INTERVAL = 1024;
+    /**
+     * Class constant: odd multiplier mixing the turn start key into the key of a node within a turn
+     */
+    private static final long TURN_START_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Instance variable: transposition table (may be shared with other engines)
+     */
+    private final TranspositionTable table;
+    /**
+     * Instance variable: board being searched
+     */
+    private Board board;
+    /**
+     * Instance variable: evaluation listening to the board during a search
+     */
+    private Evaluation evaluation;
+    /**
+     * Instance variable: goal detector working on the board during a search
+     */
+    private GoalSearch goalSearch;
+    /**
+     * Instance variable: capture generator of the quiescence search and the move ordering
+     */
+    private TrapAnalysis trapAnalysis;
+    /**
+     * Instance variable: move ordering, with killer moves and a history kept across iterations and searches
+     */
+    private final MoveOrderer moveOrderer;
+    /**
+     * Instance variable: color of the player to move at the root
+     */
+    private Color rootColor;
+    /**
+     * Instance variable: one reusable move list per ply
+     */
+    private final MoveList[] moveLists;
+    /**
+     * Instance variable: key of the pieces at the start of the turn being played at every ply
+     */
+    private final long[] turnStartKeys;
+    /**
+     * Instance variable: whether the move last searched at every ply captured an enemy piece
+     */
+    private final boolean[] captured;
+    /**
+     * Instance variable: triangular principal variation table, indexed by [ply][ply..pvLengths[ply]]
+     */
+    private final int[][] pv;
+    /**
+     * Instance variable: end of the principal variation stored at every ply
+     */
+    private final int[] pvLengths;
+    /**
+     * Instance variable: principal variation of the last completed iteration, searched first by the next one
+     */
+    private int[] previousPv;
+    /**
+     * Instance variable: whether the current node still lies on the previous principal variation
+     */
+    private boolean followPv;
+    /**
+     * Instance variable: nodes searched by the current search
+     */
+    private long nodes;
+    /**
+     * Instance variable: node budget of the current search
+     */
+    private long maxNodes;
+    /**
+     * Instance variable: System.nanoTime() at which the current search has to stop
+     */
+    private long deadline;
+    /**
+     * Instance variable: whether the budget is checked (not before the first iteration completes)
+     */
+    private boolean limitsActive;
+    /**
+     * Instance variable: set to stop the current search
+     */
+    private volatile boolean stopped;
+
+    /**
+     * Constructs a new SearchEngine with its own transposition table of the default size.
+     */
+    public SearchEngine() {
+        this(new TranspositionTable(TranspositionTable.DEFAULT_SIZE_MB));
+    }
+
+    /**
+     * Constructs a new SearchEngine using a given transposition table.
+     *
+     * @param table TranspositionTable to read and write.
+     */
+    public SearchEngine(TranspositionTable table) {
+        this.table = table;
+        moveOrderer = new MoveOrderer(MAX_PLY);
+        moveLists = new MoveList[MAX_PLY];
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            moveLists[ply] = new MoveList();
+        }
+        turnStartKeys = new long[MAX_PLY + 1];
+        captured = new boolean[MAX_PLY + 1];
+        pv = new int[MAX_PLY + 1][MAX_PLY + 1];
+        pvLengths = new int[MAX_PLY + 1];
+        previousPv = new int[0];
+    }
+
+    @Override
+    public SearchResult search(Board board, Color color, int stepsLeft, long turnStartKey, SearchLimits limits) {
+        return search(board, color, stepsLeft, turnStartKey, limits, 1);
+    }
+
+    /**
+     * Method to search with the iterations starting at a given depth (helper threads start deeper).
+     *
+     * @param board Board object with the position to be searched.
+     * @param color Color of the player to move.
+     * @param stepsLeft Steps left in the current turn.
+     * @param turnStartKey Position key at the start of the current turn.
+     * @param limits Time, node and depth budget.
+     * @param startDepth Depth in steps of the first iteration.
+     * @return The best turn found.
+     */
+    SearchResult search(Board board, Color color, int stepsLeft, long turnStartKey, SearchLimits limits, int startDepth) {
+        this.board = board;
+        evaluation = Evaluation.attach(board);
+        goalSearch = new GoalSearch(board);
+        trapAnalysis = new TrapAnalysis(board);
+        moveOrderer.newSearch(board, trapAnalysis);
+        rootColor = color;
+        try {
+            return iterate(color, stepsLeft, turnStartKey, limits, startDepth);
+        } finally {
+            evaluation.detach();
+        }
+    }
+
+    /**
+     * Method to run the iterations of the search.
+     *
+     * @param color Color of the player to move.
+     * @param stepsLeft Steps left in the current turn.
+     * @param turnStartKey Position key at the start of the current turn.
+     * @param limits Time, node and depth budget.
+     * @param startDepth Depth in steps of the first iteration.
+     * @return The best turn found.
+     */
+    private SearchResult iterate(Color color, int stepsLeft, long turnStartKey, SearchLimits limits, int startDepth) {
+        nodes = 0;
+        maxNodes = limits.maxNodes();
+        deadline = limits.timeMillis() == Long.MAX_VALUE
+                ? Long.MAX_VALUE
+                : System.nanoTime() + limits.timeMillis() * 1_000_000L;
+        limitsActive = false;
+        stopped = false;
+        previousPv = new int[0];
+        table.newSearch();
+        turnStartKeys[0] = turnStartKey;
+        int[] bestTurn = null;
+        int bestScore = 0;
+        int completedDepth = 0;
+        for (int depth = startDepth; depth <= Math.min(limits.maxDepth(), SearchLimits.MAX_DEPTH); depth++) {
+            followPv = true;
+            int score = search(0, color, stepsLeft, depth, -INFINITY, INFINITY);
+            if (stopped) break;
+            previousPv = Arrays.copyOf(pv[0], pvLengths[0]);
+            int[] turn = extractTurn(previousPv, stepsLeft);
+            // a shallow line may end mid-turn back on the start position, which is no legal turn
+            if (changesPosition(turn)) {
+                bestTurn = turn;
+            }
+            bestScore = score;
+            completedDepth = depth;
+            limitsActive = true;
+            if (Math.abs(score) >= WIN_BOUND || isOutOfBudget()) break;
+        }
+        if (bestTurn == null) {
+            bestTurn = fallbackTurn(color, stepsLeft);
+        }
+        return new SearchResult(bestTurn, bestScore, completedDepth, nodes);
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Method to search a node (principal variation search).
+     *
+     * @param ply Number of moves from the root.
+     * @param color Color of the player to move.
+     * @param stepsLeft Steps left in the current turn.
+     * @param depth Remaining depth in steps.
+     * @param alpha Lower bound of the window.
+     * @param beta Upper bound of the window.
+     * @return Score from the point of view of the player to move.
+     */
+    private int search(int ply, Color color, int stepsLeft, int depth, int alpha, int beta) {
+        pvLengths[ply] = ply;
+        if (++nodes % CHECK_INTERVAL == 0 && limitsActive && isOutOfBudget()) {
+            stopped = true;
+        }
+        // a proven goal ends the search of the node, at leaves too (outside the root turn, whose moves are needed)
+        if (color != rootColor || turnStartKeys[ply] != turnStartKeys[0]) {
+            int goalSteps = goalSearch.goalSteps(color, stepsLeft);
+            if (goalSteps != GoalSearch.NONE) return WIN - ply - goalSteps;
+        }
+        if (depth <= 0 || ply >= MAX_PLY - 1) {
+            return quiescence(ply, color, stepsLeft, alpha, beta);
+        }
+        if (stopped) return 0;
+        boolean pvNode = beta - alpha > 1;
+        long key = nodeKey(board, color, stepsLeft, turnStartKeys[ply]);
+        long entry = table.probe(key);
+        int hashMove = TranspositionTable.NO_MOVE;
+        if (entry != 0) {
+            hashMove = TranspositionTable.move(entry);
+            // no cutoffs on the principal variation, so that it always reaches the end of the root turn
+            if (!pvNode && TranspositionTable.depth(entry) >= depth) {
+                int score = scoreFromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || bound == TranspositionTable.LOWER && score >= beta
+                        || bound == TranspositionTable.UPPER && score <= alpha) {
+                    return score;
+                }
+            }
+        }
+        int originalAlpha = alpha;
+        int bestMove = TranspositionTable.NO_MOVE;
+        MoveList moves = moveLists[ply];
+        board.generateMoves(color, stepsLeft, moves);
+        // passing the rest of the turn is allowed once the position changed
+        if (stepsLeft < TurnGenerator.MAX_STEPS && board.getPositionKey() != turnStartKeys[ply]) {
+            moves.add(PASS);
+        }
+        moveOrderer.order(moves, ply, color, stepsLeft, orderPvMove(ply, moves) ? previousPv[ply] : hashMove);
+        int best = -INFINITY;
+        int searched = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int score;
+            if (searched == 0) {
+                score = child(ply, color, stepsLeft, depth, move, alpha, beta);
+            } else {
+                score = child(ply, color, stepsLeft, depth, move, alpha, alpha + 1);
+                if (score != ILLEGAL && score > alpha && score < beta) {
+                    score = child(ply, color, stepsLeft, depth, move, alpha, beta);
+                }
+            }
+            followPv = false;
+            if (stopped) return 0;
+            if (score == ILLEGAL) continue;
+            searched++;
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (alpha >= beta) {
+                        moveOrderer.recordCutoff(move, captured[ply], ply, depth);
+                        break;
+                    }
+                }
+            }
+        }
+        // no legal continuation (immobilized): the player to move loses
+        if (searched == 0) {
+            best = -(WIN - ply);
+        }
+        int bound = best <= originalAlpha ? TranspositionTable.UPPER
+                : best >= beta ? TranspositionTable.LOWER
+                : TranspositionTable.EXACT;
+        table.store(key, bound == TranspositionTable.UPPER ? TranspositionTable.NO_MOVE : bestMove,
+                scoreToTable(best, ply), depth, bound);
+        return best;
+    }
+
+    /**
+     * Method to resolve the captures still possible at a leaf (quiescence search): the player to move may stop
+     * (the static evaluation) or play a capturing push or pull, as long as the steps of the turn last.
+     *
+     * @param ply Number of moves from the root.
+     * @param color Color of the player to move.
+     * @param stepsLeft Steps left in the current turn.
+     * @param alpha Lower bound of the window.
+     * @param beta Upper bound of the window.
+     * @return Score from the point of view of the player to move.
+     */
+    private int quiescence(int ply, Color color, int stepsLeft, int alpha, int beta) {
+        int best = evaluation.evaluate(color);
+        if (best >= beta || ply >= MAX_PLY - 1) return best;
+        alpha = Math.max(alpha, best);
+        MoveList captures = moveLists[ply];
+        trapAnalysis.generateCaptures(color, stepsLeft, captures);
+        for (int i = 0; i < captures.size(); i++) {
+            if (++nodes % CHECK_INTERVAL == 0 && limitsActive && isOutOfBudget()) {
+                stopped = true;
+            }
+            if (stopped) return 0;
+            board.makeMove(captures.get(i));
+            int score = board.getRabbitCount(enemyOf(color)) == 0
+                    ? WIN - ply - 1
+                    : quiescence(ply + 1, color, stepsLeft - PackedMove.stepCost(captures.get(i)), alpha, beta);
+            board.unmakeMove();
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) break;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Method to get the key of a search node (also used by MctsEngine).
+     *
+     * @param board Board object with the position.
+     * @param color Color of the player to move.
+     * @param stepsLeft Steps left in the current turn.
+     * @param turnStartKey Key of the pieces at the start of the turn.
+     * @return The key.
+     */
+    static long nodeKey(Board board, Color color, int stepsLeft, long turnStartKey) {
+        long key = board.getPositionKey() ^ Zobrist.turnKey(color, stepsLeft);
+        // within a turn the legal continuations also depend on the position the turn started from
+        return stepsLeft < TurnGenerator.MAX_STEPS ? key ^ turnStartKey * TURN_START_MULTIPLIER : key;
+    }
+
+    /**
+     * Method to convert a win or loss score from distance to the root into distance to the node, for storing.
+     *
+     * @param score Score relative to the root.
+     * @param ply Number of moves from the root.
+     * @return Score relative to the node.
+     */
+    private static int scoreToTable(int score, int ply) {
+        if (score >= WIN_BOUND) return score + ply;
+        if (score <= -WIN_BOUND) return score - ply;
+        return score;
+    }
+
+    /**
+     * Method to convert a stored win or loss score back into distance to the root.
+     *
+     * @param score Score relative to the node.
+     * @param ply Number of moves from the root.
+     * @return Score relative to the root.
+     */
+    private static int scoreFromTable(int score, int ply) {
+        if (score >= WIN_BOUND) return score - ply;
+        if (score <= -WIN_BOUND) return score + ply;
+        return score;
+    }
+
+    /**
+     * Method to make a move (or pass), search the resulting node and unmake the move.
+     *
+     * @param ply Number of moves from the root.
+     * @param color Color of the player to move.
+     * @param stepsLeft Steps left in the current turn.
+     * @param depth Remaining depth in steps.
+     * @param move Encoded move or PASS.
+     * @param alpha Lower bound of the window.
+     * @param beta Upper bound of the window.
+     * @return Score from the point of view of the player to move, or ILLEGAL.
+     */
+    private int child(int ply, Color color, int stepsLeft, int depth, int move, int alpha, int beta) {
+        pvLengths[ply + 1] = ply + 1;
+        captured[ply] = false;
+        if (move == PASS) {
+            return endTurn(ply, color, depth - stepsLeft, alpha, beta);
+        }
+        int cost = PackedMove.stepCost(move);
+        board.makeMove(move);
+        for (int i = 0; i < board.getCaptureCount(); i++) {
+            captured[ply] |= board.getCapturedPiece(i).color() != color;
+        }
+        int score;
+        if (stepsLeft > cost) {
+            // same player continues: no sign change
+            turnStartKeys[ply + 1] = turnStartKeys[ply];
+            score = search(ply + 1, color, stepsLeft - cost, depth - cost, alpha, beta);
+        } else {
+            score = endTurn(ply, color, depth - cost, alpha, beta);
+        }
+        board.unmakeMove();
+        return score;
+    }
+
+    /**
+     * Method to end the turn of a player: apply the turn rules, then search the enemy's turn with a negated window.
+     *
+     * @param ply Number of moves from the root (of the move ending the turn).
+     * @param color Color of the player whose turn ends.
+     * @param depth Remaining depth in steps.
+     * @param alpha Lower bound of the window.
+     * @param beta Upper bound of the window.
+     * @return Score from the point of view of the player whose turn ends, or ILLEGAL.
+     */
+    private int endTurn(int ply, Color color, int depth, int alpha, int beta) {
+        long key = board.getPositionKey();
+        if (key == turnStartKeys[ply]) return ILLEGAL;
+        Color enemy = enemyOf(color);
+        // goal is checked before elimination, and the player who just moved first
+        if (board.getGoalRabbitCount(color) > 0) return WIN - ply;
+        if (board.getGoalRabbitCount(enemy) > 0) return -(WIN - ply);
+        if (board.getRabbitCount(enemy) == 0) return WIN - ply;
+        if (board.getRabbitCount(color) == 0) return -(WIN - ply);
+        turnStartKeys[ply + 1] = key;
+        return -search(ply + 1, enemy, TurnGenerator.MAX_STEPS, depth, -beta, -alpha);
+    }
+
+    /**
+     * Method to check whether a node still lies on the previous principal variation, whose move is then searched first.
+     *
+     * @param ply Number of moves from the root.
+     * @param moves Candidate moves of the node.
+     * @return True if the node lies on the previous principal variation.
+     */
+    private boolean orderPvMove(int ply, MoveList moves) {
+        if (followPv && ply < previousPv.length && contains(moves, previousPv[ply])) {
+            return true;
+        }
+        followPv = false;
+        return false;
+    }
+
+    /**
+     * Method to check whether a list contains a move.
+     *
+     * @param moves Candidate moves.
+     * @param move Encoded move or PASS.
+     * @return True if the move was found.
+     */
+    private static boolean contains(MoveList moves, int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Method to store a new best move and the continuation found below it.
+     *
+     * @param ply Number of moves from the root.
+     * @param move Encoded move or PASS.
+     */
+    private void updatePv(int ply, int move) {
+        pv[ply][ply] = move;
+        int length = Math.max(pvLengths[ply + 1], ply + 1);
+        System.arraycopy(pv[ply + 1], ply + 1, pv[ply], ply + 1, length - ply - 1);
+        pvLengths[ply] = length;
+    }
+
+    /**
+     * Method to cut the moves of the root player's turn out of a principal variation.
+     *
+     * @param line Principal variation.
+     * @param stepsLeft Steps left at the root.
+     * @return Encoded moves of the turn.
+     */
+    private static int[] extractTurn(int[] line, int stepsLeft) {
+        int length = 0;
+        int steps = 0;
+        while (length < line.length && line[length] != PASS && steps < stepsLeft) {
+            steps += PackedMove.stepCost(line[length]);
+            length++;
+        }
+        return Arrays.copyOf(line, length);
+    }
+
+    /**
+     * Method to check whether playing moves from the root changes the position (the board is returned unchanged).
+     *
+     * @param moves Encoded moves.
+     * @return Boolean value of the check.
+     */
+    private boolean changesPosition(int[] moves) {
+        for (int move : moves) {
+            board.makeMove(move);
+        }
+        boolean changed = board.getPositionKey() != turnStartKeys[0];
+        for (int i = 0; i < moves.length; i++) {
+            board.unmakeMove();
+        }
+        return changed;
+    }
+
+    /**
+     * Method to pick any legal turn, when the search was stopped before its first iteration completed.
+     *
+     * @param color Color of the player to move.
+     * @param stepsLeft Steps left at the root.
+     * @return Encoded moves of the turn (empty if there is none).
+     */
+    private int[] fallbackTurn(Color color, int stepsLeft) {
+        for (Turn turn : new TurnGenerator(board).generateTurns(color, stepsLeft)) {
+            // in the middle of a turn the rest must not lead back to the turn's start
+            if (turn.key() != turnStartKeys[0]) return turn.moves().clone();
+        }
+        return new int[0];
+    }
+
+    /**
+     * Method to check whether the time or node budget is exhausted.
+     *
+     * @return Boolean value of the check.
+     */
+    private boolean isOutOfBudget() {
+        return nodes >= maxNodes || System.nanoTime() >= deadline;
+    }
+
+    /**
+     * Method to get the color of the enemy.
+     *
+     * @param color Color of the player.
+     * @return Color of the other player.
+     */
+    private static Color enemyOf(Color color) {
+        return color == Color.GOLD ? Color.SILVER : Color.GOLD;
+    }
+}
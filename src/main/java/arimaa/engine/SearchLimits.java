@@ -0,0 +1,46 @@
+package arimaa.engine;
+
+/**
+ * The SearchLimits record is the budget of one search. A search stops at whichever limit it reaches first.
+ *
+ * @param timeMillis Time budget in milliseconds (Long.MAX_VALUE for none).
+ * @param maxNodes   Node budget (Long.MAX_VALUE for none).
+ * @param maxDepth   Maximum depth in steps.
+ */
+public record SearchLimits(long timeMillis, long maxNodes, int maxDepth) {
+
+    /**
+     * Class constant: deepest search in steps (4 steps per turn)
+     */
+    public static final int MAX_DEPTH = 64;
+
+    /**
+     * Creates limits with a time budget only.
+     *
+     * @param timeMillis Time budget in milliseconds.
+     * @return The limits.
+     */
+    public static SearchLimits ofTime(long timeMillis) {
+        return new SearchLimits(timeMillis, Long.MAX_VALUE, MAX_DEPTH);
+    }
+
+    /**
+     * Creates limits with a node budget only (deterministic, used by tests and benchmarks).
+     *
+     * @param maxNodes Node budget.
+     * @return The limits.
+     */
+    public static SearchLimits ofNodes(long maxNodes) {
+        return new SearchLimits(Long.MAX_VALUE, maxNodes, MAX_DEPTH);
+    }
+
+    /**
+     * Creates limits with a depth only.
+     *
+     * @param maxDepth Maximum depth in steps.
+     * @return The limits.
+     */
+    public static SearchLimits ofDepth(int maxDepth) {
+        return new SearchLimits(Long.MAX_VALUE, Long.MAX_VALUE, maxDepth);
+    }
+}
@@ -0,0 +1,28 @@
+package arimaa.engine;
+
+import arimaa.core.PackedMove;
+
+/**
+ * The SearchResult record holds the outcome of a search.
+ *
+ * @param moves Encoded moves (see PackedMove) of the best turn, to be made in order; the remaining steps are passed.
+ * @param score Score of the turn from the point of view of the moving player (in centi-rabbits, or near ±WIN for a forced result).
+ * @param depth Depth in steps of the last completed iteration.
+ * @param nodes Number of searched nodes.
+ */
+public record SearchResult(int[] moves, int score, int depth, long nodes) {
+
+    /**
+     * String notation of the best turn (the moves separated by spaces)
+     *
+     * @return String notation of the moves.
+     */
+    public String movesToString() {
+        StringBuilder builder = new StringBuilder();
+        for (int move : moves) {
+            if (!builder.isEmpty()) builder.append(' ');
+            builder.append(PackedMove.toString(move));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,339 @@
+package arimaa.engine;
+
+import arimaa.core.Board;
+import arimaa.core.Piece;
+import arimaa.core.TurnGenerator;
+import arimaa.utils.Bitboard;
+import arimaa.utils.Color;
+import arimaa.utils.PieceType;
+import arimaa.utils.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The SetupOptimizer class chooses the arrangement of a player's 16 pieces in the two home rows before the game.
+ * The work is split by the square of the elephant across a thread pool. Mirror images are pruned: an arrangement
+ * and its mirror (columns a-h reversed) score the same against a symmetric enemy, so only elephants on the
+ * a-d half are tried. On every elephant square, random arrangements are improved by hill climbing over swaps of
+ * two pieces, scored by the incremental evaluation. In the remaining time the best distinct arrangements,
+ * with their mirrors as the enemy setup may not be symmetric, are scored by a shallow search of gold's first turn.
+ */
+public class SetupOptimizer {
+    /**
+     * Class constant: number of squares (and pieces) of a setup
+     */
+    public static final int SETUP_SQUARES = 2 * Bitboard.SIZE;
+    /**
+     * Class constant: depth in steps of the search scoring the finalists (gold's first turn)
+     */
+    private static final int SHALLOW_DEPTH = TurnGenerator.MAX_STEPS;
+    /**
+     * Class constant: size in megabytes of the transposition table of every search thread
+     */
+    private static final int SHALLOW_TABLE_MB = 4;
+    /**
+     * Class constant: local maxima kept per elephant square for the final searches
+     */
+    private static final int FINALISTS_PER_TASK = 4;
+    /**
+     * Class constant: share of the time budget spent on hill climbing (the rest goes to the searches)
+     */
+    private static final double CLIMB_SHARE = 0.5;
+    /**
+     * Class constant: bits per piece code in a packed setup
+     */
+    private static final int CODE_BITS = 4;
+
+    /**
+     * Instance variable: number of worker threads
+     */
+    private final int threads;
+
+    /**
+     * Private record: an arrangement (piece codes in the order of homeSquares) and its score for the player
+     *
+     * @param codes Piece codes of the setup.
+     * @param score Score from the point of view of the player setting up.
+     */
+    private record Candidate(byte[] codes, int score) {
+    }
+
+    /**
+     * Constructs a new SetupOptimizer.
+     *
+     * @param threads Number of worker threads (at least 1).
+     */
+    public SetupOptimizer(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Method to get the home squares of a color, row by row from the a-file (gold: rows 6-7, silver: rows 0-1).
+     *
+     * @param color Color of the player.
+     * @return The 16 square indexes.
+     */
+    public static int[] homeSquares(Color color) {
+        int firstRow = color == Color.GOLD ? Bitboard.SIZE - 2 : 0;
+        int[] squares = new int[SETUP_SQUARES];
+        for (int i = 0; i < SETUP_SQUARES; i++) {
+            squares[i] = Bitboard.index(firstRow + i / Bitboard.SIZE, i % Bitboard.SIZE);
+        }
+        return squares;
+    }
+
+    /**
+     * Method to read the setup of a player from a board.
+     *
+     * @param board Board object with the pieces in the home rows.
+     * @param color Color of the player.
+     * @return Piece codes in the order of homeSquares.
+     */
+    public static byte[] readSetup(Board board, Color color) {
+        int[] squares = homeSquares(color);
+        byte[] codes = new byte[SETUP_SQUARES];
+        for (int i = 0; i < SETUP_SQUARES; i++) {
+            codes[i] = board.getCodeAt(squares[i]);
+        }
+        return codes;
+    }
+
+    /**
+     * Method to put a setup onto a board by switching pieces within the home rows (as a player arranging them would).
+     *
+     * @param board Board object with the player's pieces in the home rows.
+     * @param color Color of the player.
+     * @param codes Piece codes in the order of homeSquares (the same pieces as on the board).
+     */
+    public static void applySetup(Board board, Color color, byte[] codes) {
+        int[] squares = homeSquares(color);
+        for (int i = 0; i < SETUP_SQUARES; i++) {
+            if (board.getCodeAt(squares[i]) == codes[i]) continue;
+            for (int j = i + 1; j < SETUP_SQUARES; j++) {
+                if (board.getCodeAt(squares[j]) == codes[i]) {
+                    board.switchPieces(Bitboard.toPosition(squares[i]), Bitboard.toPosition(squares[j]));
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to find the best setup of a player within a time budget. The board is not changed.
+     *
+     * @param board Board object with the player's pieces in the home rows (and the enemy's as far as known).
+     * @param color Color of the player setting up.
+     * @param timeMillis Time budget in milliseconds.
+     * @return Piece codes of the best setup found, in the order of homeSquares.
+     * @throws IllegalStateException If a worker failed (its exception is the cause).
+     */
+    public byte[] optimize(Board board, Color color, long timeMillis) {
+        long start = System.nanoTime();
+        long climbDeadline = start + (long) (timeMillis * CLIMB_SHARE) * 1_000_000L;
+        long deadline = start + timeMillis * 1_000_000L;
+        byte[] current = readSetup(board, color);
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "setup-optimizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // one climbing task per elephant square on the a-d half (the other half are mirror images)
+            List<Future<List<Candidate>>> climbs = new ArrayList<>();
+            for (int i = 0; i < SETUP_SQUARES; i++) {
+                if (i % Bitboard.SIZE < Bitboard.SIZE / 2) {
+                    int elephantIndex = i;
+                    climbs.add(pool.submit(() -> climb(board, color, current, elephantIndex, climbDeadline)));
+                }
+            }
+            Map<Long, Candidate> distinct = new HashMap<>();
+            for (Future<List<Candidate>> climb : climbs) {
+                for (Candidate candidate : climb.get()) {
+                    distinct.putIfAbsent(canonicalKey(candidate.codes()), candidate);
+                }
+            }
+            List<Candidate> ranked = new ArrayList<>(distinct.values());
+            ranked.sort((a, b) -> Integer.compare(b.score(), a.score()));
+            if (ranked.isEmpty()) return current;
+            List<byte[]> finalists = new ArrayList<>();
+            for (Candidate candidate : ranked.subList(0, Math.min(ranked.size(), threads * FINALISTS_PER_TASK))) {
+                finalists.add(candidate.codes());
+                byte[] mirror = mirror(candidate.codes());
+                if (!Arrays.equals(mirror, candidate.codes())) finalists.add(mirror);
+            }
+            Candidate best = searchFinalists(pool, board, color, finalists, deadline);
+            return best != null ? best.codes() : ranked.get(0).codes();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return current;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Method to hill-climb from random arrangements with the elephant fixed on one square, until the deadline.
+     *
+     * @param board Board object to copy.
+     * @param color Color of the player setting up.
+     * @param pieces Piece codes of the player's setup pieces (any order).
+     * @param elephantIndex Index into homeSquares of the elephant's square.
+     * @param deadline System.nanoTime() at which to stop.
+     * @return The best local maxima found.
+     */
+    private static List<Candidate> climb(Board board, Color color, byte[] pieces, int elephantIndex, long deadline) {
+        Board work = new Board(board);
+        Evaluation evaluation = Evaluation.attach(work);
+        Position[] positions = new Position[SETUP_SQUARES];
+        int[] squares = homeSquares(color);
+        for (int i = 0; i < SETUP_SQUARES; i++) {
+            positions[i] = Bitboard.toPosition(squares[i]);
+        }
+        byte elephant = Piece.code(color, PieceType.ELEPHANT);
+        List<Byte> others = new ArrayList<>();
+        for (byte code : pieces) {
+            if (code != elephant) others.add(code);
+        }
+        Random random = new Random(elephantIndex);
+        Map<Long, Candidate> maxima = new HashMap<>();
+        while (System.nanoTime() < deadline) {
+            // random start with the elephant on its square
+            Collections.shuffle(others, random);
+            byte[] start = new byte[SETUP_SQUARES];
+            for (int i = 0, next = 0; i < SETUP_SQUARES; i++) {
+                start[i] = i == elephantIndex ? elephant : others.get(next++);
+            }
+            applySetup(work, color, start);
+            int score = evaluation.evaluate(color);
+            boolean improved = true;
+            while (improved && System.nanoTime() < deadline) {
+                improved = false;
+                int bestI = -1;
+                int bestJ = -1;
+                for (int i = 0; i < SETUP_SQUARES; i++) {
+                    for (int j = i + 1; j < SETUP_SQUARES; j++) {
+                        if (i == elephantIndex || j == elephantIndex || work.getCodeAt(squares[i]) == work.getCodeAt(squares[j])) continue;
+                        work.switchPieces(positions[i], positions[j]);
+                        int swapped = evaluation.evaluate(color);
+                        work.switchPieces(positions[i], positions[j]);
+                        if (swapped > score) {
+                            score = swapped;
+                            bestI = i;
+                            bestJ = j;
+                        }
+                    }
+                }
+                if (bestI >= 0) {
+                    work.switchPieces(positions[bestI], positions[bestJ]);
+                    improved = true;
+                }
+            }
+            byte[] codes = readSetup(work, color);
+            maxima.putIfAbsent(canonicalKey(codes), new Candidate(codes, score));
+        }
+        evaluation.detach();
+        List<Candidate> best = new ArrayList<>(maxima.values());
+        best.sort((a, b) -> Integer.compare(b.score(), a.score()));
+        return best.subList(0, Math.min(best.size(), FINALISTS_PER_TASK));
+    }
+
+    /**
+     * Method to score the finalists by a shallow search of gold's first turn, spread over the pool.
+     *
+     * @param pool Worker threads.
+     * @param board Board object to copy.
+     * @param color Color of the player setting up.
+     * @param finalists Setups to be searched.
+     * @param deadline System.nanoTime() at which to stop.
+     * @return The best searched setup, or null if none was searched in time.
+     * @throws InterruptedException If interrupted while waiting for the workers.
+     * @throws ExecutionException If a worker failed.
+     */
+    private Candidate searchFinalists(ExecutorService pool, Board board, Color color, List<byte[]> finalists, long deadline)
+            throws InterruptedException, ExecutionException {
+        AtomicInteger next = new AtomicInteger();
+        List<Future<Candidate>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(pool.submit(() -> {
+                Board work = new Board(board);
+                SearchEngine engine = new SearchEngine(new TranspositionTable(SHALLOW_TABLE_MB));
+                Candidate best = null;
+                for (int i = next.getAndIncrement(); i < finalists.size(); i = next.getAndIncrement()) {
+                    long millisLeft = (deadline - System.nanoTime()) / 1_000_000L;
+                    if (millisLeft <= 0) break;
+                    applySetup(work, color, finalists.get(i));
+                    SearchResult result = engine.search(work, Color.GOLD, TurnGenerator.MAX_STEPS,
+                            new SearchLimits(millisLeft, Long.MAX_VALUE, SHALLOW_DEPTH));
+                    // a search cut short by the deadline does not count (a proven win or loss ends it early as well)
+                    if (result.depth() < SHALLOW_DEPTH && Math.abs(result.score()) < SearchEngine.WIN_BOUND) break;
+                    int score = color == Color.GOLD ? result.score() : -result.score();
+                    if (best == null || score > best.score()) {
+                        best = new Candidate(finalists.get(i), score);
+                    }
+                }
+                return best;
+            }));
+        }
+        Candidate best = null;
+        for (Future<Candidate> worker : workers) {
+            Candidate candidate = worker.get();
+            if (candidate != null && (best == null || candidate.score() > best.score())) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Method to mirror a setup (columns a-h reversed).
+     *
+     * @param codes Piece codes in the order of homeSquares.
+     * @return The mirrored piece codes.
+     */
+    private static byte[] mirror(byte[] codes) {
+        byte[] mirrored = new byte[SETUP_SQUARES];
+        for (int i = 0; i < SETUP_SQUARES; i++) {
+            int row = i / Bitboard.SIZE;
+            int column = i % Bitboard.SIZE;
+            mirrored[row * Bitboard.SIZE + Bitboard.SIZE - 1 - column] = codes[i];
+        }
+        return mirrored;
+    }
+
+    /**
+     * Method to get a key shared by a setup and its mirror image (the smaller of both packed setups).
+     *
+     * @param codes Piece codes in the order of homeSquares.
+     * @return The key.
+     */
+    private static long canonicalKey(byte[] codes) {
+        return Math.min(pack(codes), pack(mirror(codes)));
+    }
+
+    /**
+     * Method to pack a setup into one long (4 bits per piece code).
+     *
+     * @param codes Piece codes in the order of homeSquares.
+     * @return The packed setup.
+     */
+    private static long pack(byte[] codes) {
+        long packed = 0;
+        for (byte code : codes) {
+            packed = packed << CODE_BITS | code;
+        }
+        return packed;
+    }
+}
@@ -0,0 +1,893 @@
+package arimaa.engine;
+
+import arimaa.core.Board;
+import arimaa.core.Piece;
+import arimaa.core.Turn;
+import arimaa.core.TurnGenerator;
+import arimaa.utils.Bitboard;
+import arimaa.utils.Color;
+import arimaa.utils.PieceType;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The Tablebase class holds the exact result of every position of one material class (e.g. gold elephant and rabbit
+ * against a silver rabbit) at the start of a turn: won or lost for the player to move and in how many turns, or unknown.
+ * <p>
+ * The index combines the placement of every group of identical pieces and the side to move: a group of k pieces is
+ * ranked as a combination of k squares out of 64, and the first single piece only takes the a-d half of the board,
+ * as a position and its mirror image (columns a-h reversed) have the same result. Placements putting pieces of different
+ * groups on the same square remain as unused entries. A value v > 0 means the player to move wins and the game ends
+ * v - 1 turns after this one, v < 0 means the player loses and the game ends -v - 1 turns after this one (-1: no legal
+ * turn, or every turn loses at once), 0 is unknown.
+ * <p>
+ * Tables are generated by a retrograde analysis on all cores: pass d resolves exactly the positions decided in d turns.
+ * The first pass examines every position by generating its turns; later passes only examine positions scheduled for
+ * them: the predecessors of the positions resolved by the previous pass (found by unmaking up to 4 steps) and positions
+ * waiting for a known result of a later turn. Turns capturing a piece without ending the game are looked up in the
+ * tables of the smaller material classes; only without such a table is their outcome unknown, and a position is
+ * proven lost only if all of its turns are. Repetitions are not considered. Tables are stored by {@link #write} and
+ * memory-mapped by {@link #open}; {@link TablebaseBuilder} generates them offline.
+ */
+public class Tablebase {
+    /**
+     * Class constant: system property with the directory of the tables used by computer players (default: tablebases)
+     */
+    public static final String DIRECTORY_PROPERTY = "arimaa.tablebases";
+    /**
+     * Class constant: directory of the tables used when the system property is not set
+     */
+    public static final String DEFAULT_DIRECTORY = "tablebases";
+    /**
+     * Class constant: file name extension of table files
+     */
+    public static final String EXTENSION = ".tb";
+    /**
+     * Class constant: largest number of pieces of a table (a table and its schedule must fit in memory while generated)
+     */
+    public static final int MAX_PIECES = 4;
+    /**
+     * Class constant: value of a position which is not resolved
+     */
+    public static final int UNKNOWN = 0;
+    /**
+     * Class constant: longest game length in turns after the current one which is stored (later results stay unknown)
+     */
+    private static final int MAX_DISTANCE = Byte.MAX_VALUE - 2;
+    /**
+     * Class constant: schedule entry of a position which is not examined by any coming pass
+     */
+    private static final byte NOT_SCHEDULED = Byte.MAX_VALUE;
+    /**
+     * Class constant: first bytes of every table file ("ARTB")
+     */
+    private static final int MAGIC = 0x41525442;
+    /**
+     * Class constant: version of the file layout
+     */
+    private static final int VERSION = 2;
+    /**
+     * Class constant: size of the header in bytes (magic, version, piece count, piece codes padded to MAX_PIECES)
+     */
+    private static final int HEADER_BYTES = 3 * Integer.BYTES + MAX_PIECES;
+    /**
+     * Class constant: number of index ranges per thread in a generation pass (balances uneven ranges)
+     */
+    private static final int TASKS_PER_THREAD = 16;
+    /**
+     * Class constant: number of columns of one half of the board (the squares of the mirrored piece)
+     */
+    private static final int HALF = Bitboard.SIZE / 2;
+    /**
+     * Class constant: row and column offsets of the four directions (north, south, west, east)
+     */
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    /**
+     * Class constant: binomial coefficients C(n, k) for n up to 64 and k up to MAX_PIECES
+     */
+    private static final int[][] BINOMIALS = binomials();
+
+    /**
+     * Instance variable: piece codes of the material class, ascending (identical pieces are neighbours)
+     */
+    private final byte[] codes;
+    /**
+     * Instance variable: first code index of every group of identical pieces, followed by the number of pieces
+     */
+    private final int[] groupStarts;
+    /**
+     * Instance variable: number of placements of every group
+     */
+    private final int[] groupSizes;
+    /**
+     * Instance variable: group of the single piece kept on the a-d half, or -1 if every group has several pieces
+     */
+    private final int mirrorGroup;
+    /**
+     * Instance variable: number of indexes
+     */
+    private final int size;
+    /**
+     * Instance variable: values of all positions, one byte per index (mapped from a file, or on the heap while generating)
+     */
+    private final ByteBuffer values;
+    /**
+     * Instance variable: tables of other material classes by material, looked up for turns capturing a piece
+     */
+    private Map<String, Tablebase> subTables;
+    /**
+     * Instance variable: pass examining every position next, or NOT_SCHEDULED (only while generating)
+     */
+    private byte[] schedule;
+
+    /**
+     * Private functional interface: work on a range of indexes, done by one task of a generation pass
+     */
+    private interface RangeTask {
+        /**
+         * Method to work on a range of indexes.
+         *
+         * @param from First index of the range.
+         * @param to Index after the range.
+         * @return The number of positions resolved.
+         */
+        int run(int from, int to);
+    }
+
+    /**
+     * Constructs a new Tablebase over value storage.
+     *
+     * @param codes Piece codes of the material class, ascending.
+     * @param values Values of all positions, or null to allocate them on the heap.
+     */
+    private Tablebase(byte[] codes, ByteBuffer values) {
+        this.codes = codes;
+        groupStarts = groupStarts(codes);
+        int groups = groupStarts.length - 1;
+        int mirror = -1;
+        for (int group = 0; group < groups && mirror < 0; group++) {
+            if (groupStarts[group + 1] - groupStarts[group] == 1) mirror = group;
+        }
+        mirrorGroup = mirror;
+        groupSizes = new int[groups];
+        long count = 2;
+        for (int group = 0; group < groups; group++) {
+            groupSizes[group] = group == mirrorGroup
+                    ? Bitboard.SQUARES / 2
+                    : BINOMIALS[Bitboard.SQUARES][groupStarts[group + 1] - groupStarts[group]];
+            count *= groupSizes[group];
+        }
+        size = Math.toIntExact(count);
+        this.values = values == null ? ByteBuffer.allocate(size) : values;
+        subTables = Map.of();
+    }
+
+    /**
+     * Method to parse a material class written as the gold pieces, a dash and the silver pieces, e.g. "ER-r".
+     *
+     * @param material Material class, letters of the board notation (case ignored, the side gives the color).
+     * @return Piece codes of the class, ascending.
+     * @throws IllegalArgumentException If the notation is invalid, there are too many pieces or a side has no rabbit.
+     */
+    public static byte[] parseMaterial(String material) {
+        String[] sides = material.split("-", -1);
+        if (sides.length != 2 || sides[0].length() + sides[1].length() > MAX_PIECES) {
+            throw new IllegalArgumentException("Invalid material class: " + material);
+        }
+        byte[] codes = new byte[sides[0].length() + sides[1].length()];
+        int count = 0;
+        for (Color color : Color.values()) {
+            boolean hasRabbit = false;
+            for (char notation : sides[color.ordinal()].toLowerCase().toCharArray()) {
+                PieceType type = PieceType.fromNotation(notation);
+                if (type == null) {
+                    throw new IllegalArgumentException("Invalid piece '" + notation + "' in material class: " + material);
+                }
+                hasRabbit |= type == PieceType.RABBIT;
+                codes[count++] = Piece.code(color, type);
+            }
+            if (!hasRabbit) {
+                // a side without rabbits has lost already
+                throw new IllegalArgumentException("Both sides need a rabbit: " + material);
+            }
+        }
+        Arrays.sort(codes);
+        return codes;
+    }
+
+    /**
+     * Method to write piece codes as a material class, strongest pieces first (the inverse of parseMaterial).
+     *
+     * @param codes Piece codes.
+     * @return Material class, e.g. "ER-r".
+     */
+    public static String materialOf(byte[] codes) {
+        StringBuilder builder = new StringBuilder();
+        for (Color color : Color.values()) {
+            if (color == Color.SILVER) builder.append('-');
+            for (int i = codes.length - 1; i >= 0; i--) {
+                Piece piece = Piece.fromCode(codes[i]);
+                if (piece.color() == color) builder.append(piece);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Method to generate the table of a material class, without tables for captures.
+     *
+     * @param material Material class, e.g. "ER-r".
+     * @param threads Number of threads.
+     * @return The table, held on the heap.
+     * @throws InterruptedException If the thread is interrupted while waiting for a pass.
+     */
+    public static Tablebase generate(String material, int threads) throws InterruptedException {
+        return generate(material, threads, List.of());
+    }
+
+    /**
+     * Method to generate the table of a material class.
+     *
+     * @param material Material class, e.g. "ER-r".
+     * @param threads Number of threads.
+     * @param subTables Generated tables of smaller classes, looked up for turns capturing a piece (also for the table's
+     *                  best turns later).
+     * @return The table, held on the heap.
+     * @throws InterruptedException If the thread is interrupted while waiting for a pass.
+     */
+    public static Tablebase generate(String material, int threads, Collection<Tablebase> subTables) throws InterruptedException {
+        Tablebase table = new Tablebase(parseMaterial(material), null);
+        table.link(subTables);
+        // every position is examined by the first pass
+        table.schedule = new byte[table.size];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            int tasks = threads * TASKS_PER_THREAD;
+            for (int distance = 0; distance <= MAX_DISTANCE; distance++) {
+                int pass = distance;
+                table.runPass(executor, tasks, (from, to) -> table.resolve(from, to, pass));
+                if (pass < MAX_DISTANCE) {
+                    table.runPass(executor, tasks, (from, to) -> table.schedulePredecessors(from, to, pass));
+                }
+                if (!table.isScheduledAfter(pass)) break;
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdown();
+            table.schedule = null;
+        }
+        return table;
+    }
+
+    /**
+     * Method to open a table file by mapping it into memory.
+     *
+     * @param path Path of the file.
+     * @return The table, without tables for captures.
+     * @throws IOException If the file cannot be read or is no table file.
+     */
+    public static Tablebase open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+                throw new IOException("Not a tablebase: " + path);
+            }
+            int pieces = buffer.getInt(2 * Integer.BYTES);
+            if (pieces < 2 || pieces > MAX_PIECES) {
+                throw new IOException("Not a tablebase: " + path);
+            }
+            byte[] codes = new byte[pieces];
+            buffer.get(3 * Integer.BYTES, codes);
+            int size = new Tablebase(codes, ByteBuffer.allocate(0)).size;
+            if ((long) size + HEADER_BYTES != buffer.capacity()) {
+                throw new IOException("Truncated tablebase: " + path);
+            }
+            return new Tablebase(codes, buffer.slice(HEADER_BYTES, size));
+        }
+    }
+
+    /**
+     * Method to open every table file of a directory, each looking up the others for captures.
+     *
+     * @param directory Directory of the tables.
+     * @return The tables, empty if the directory does not exist.
+     * @throws IOException If the directory or a table file cannot be read.
+     */
+    public static List<Tablebase> openAll(Path directory) throws IOException {
+        List<Tablebase> tables = new ArrayList<>();
+        if (!Files.isDirectory(directory)) return tables;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : files) {
+                tables.add(open(file));
+            }
+        }
+        for (Tablebase table : tables) {
+            table.link(tables);
+        }
+        return tables;
+    }
+
+    /**
+     * Method to write the table to a file.
+     *
+     * @param path Path of the file, replaced if it exists.
+     * @throws IOException If the file cannot be written.
+     */
+    public void write(Path path) throws IOException {
+        try (OutputStream file = Files.newOutputStream(path);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(codes.length);
+            out.write(Arrays.copyOf(codes, MAX_PIECES));
+            for (int index = 0; index < size; index++) {
+                out.writeByte(values.get(index));
+            }
+        }
+    }
+
+    /**
+     * Method to get the path of the file of a material class in a directory.
+     *
+     * @param directory Directory of the tables.
+     * @param material Material class, e.g. "ER-r".
+     * @return The path.
+     */
+    public static Path path(Path directory, String material) {
+        return directory.resolve(materialOf(parseMaterial(material)) + EXTENSION);
+    }
+
+    /**
+     * Gets the material class of the table.
+     *
+     * @return Material class, e.g. "ER-r".
+     */
+    public String getMaterial() {
+        return materialOf(codes);
+    }
+
+    /**
+     * Gets the number of entries of the table.
+     *
+     * @return The number of indexes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method to check whether a position belongs to the material class of the table.
+     *
+     * @param board Board object with the position.
+     * @return True if the pieces on the board are exactly those of the class.
+     */
+    public boolean covers(Board board) {
+        if (Long.bitCount(board.getOccupiedBitboard()) != codes.length) return false;
+        for (int group = 0; group < groupSizes.length; group++) {
+            Piece piece = Piece.fromCode(codes[groupStarts[group]]);
+            int count = groupStarts[group + 1] - groupStarts[group];
+            if (Long.bitCount(board.getPieceBitboard(piece.color(), piece.type())) != count) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Method to look up the value of a position at the start of a turn.
+     *
+     * @param board Board object with the position, covered by the table.
+     * @param color Color of the player to move.
+     * @return The value: positive if the player to move wins, negative if it loses, UNKNOWN if not resolved.
+     */
+    public int probe(Board board, Color color) {
+        return values.get(indexOf(board, color));
+    }
+
+    /**
+     * Method to choose the turn keeping the table's result: the fastest win, or the slowest loss.
+     *
+     * @param board Board object with the position (returned unchanged).
+     * @param color Color of the player to move (at the start of the turn).
+     * @return The encoded moves of the turn, or null if the table does not cover the position, its value is unknown,
+     * or no turn keeps it (a table for a capture is missing).
+     */
+    public int[] bestTurn(Board board, Color color) {
+        if (!covers(board)) return null;
+        int value = probe(board, color);
+        if (value == UNKNOWN) return null;
+        Turn best = null;
+        int bestValue = UNKNOWN;
+        for (Turn turn : new TurnGenerator(board).generateTurns(color)) {
+            turn.makeOn(board);
+            int outcome = outcome(board, color);
+            turn.unmakeOn(board);
+            if (best == null || isBetter(outcome, bestValue)) {
+                best = turn;
+                bestValue = outcome;
+            }
+        }
+        return best == null || bestValue != value ? null : best.moves();
+    }
+
+    /**
+     * Method to check whether a value means a win for the player to move.
+     *
+     * @param value Value of a position.
+     * @return Boolean value of the check.
+     */
+    public static boolean isWin(int value) {
+        return value > UNKNOWN;
+    }
+
+    /**
+     * Method to get the number of turns after the current one until the game ends.
+     *
+     * @param value Value of a position, not UNKNOWN.
+     * @return The number of turns.
+     */
+    public static int distance(int value) {
+        return Math.abs(value) - 1;
+    }
+
+    /**
+     * Method to make the tables of other material classes available for turns capturing a piece.
+     *
+     * @param tables Tables of any material classes (the table itself is skipped).
+     */
+    private void link(Collection<Tablebase> tables) {
+        Map<String, Tablebase> byMaterial = new HashMap<>();
+        for (Tablebase table : tables) {
+            if (table != this) byMaterial.put(table.getMaterial(), table);
+        }
+        subTables = byMaterial;
+    }
+
+    /**
+     * Method to run one step of a generation pass over all indexes, split into ranges on the thread pool.
+     *
+     * @param executor Thread pool.
+     * @param tasks Number of ranges.
+     * @param task Work on one range.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     * @throws ExecutionException If a task failed.
+     */
+    private void runPass(ExecutorService executor, int tasks, RangeTask task) throws InterruptedException, ExecutionException {
+        int chunk = (size + tasks - 1) / tasks;
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int start = 0; start < size; start += chunk) {
+            int from = start;
+            int to = Math.min(start + chunk, size);
+            results.add(executor.submit(() -> task.run(from, to)));
+        }
+        for (Future<Integer> result : results) {
+            result.get();
+        }
+    }
+
+    /**
+     * Method to check whether any position is scheduled for a pass after a given one.
+     *
+     * @param pass Current pass.
+     * @return Boolean value of the check.
+     */
+    private boolean isScheduledAfter(int pass) {
+        for (byte next : schedule) {
+            if (next > pass && next != NOT_SCHEDULED) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Method to examine the positions of an index range scheduled for a pass and resolve those decided in that many turns.
+     * Outcomes decided later are treated as unknown, so the pass only relies on results of earlier passes (and of the
+     * complete smaller tables); a position which has such later outcomes is scheduled again for the first of them.
+     *
+     * @param from First index of the range.
+     * @param to Index after the range.
+     * @param pass Number of turns after the current one of the positions resolved by this pass.
+     * @return The number of positions resolved.
+     */
+    private int resolve(int from, int to, int pass) {
+        Board board = new Board();
+        board.emptyBoard();
+        TurnGenerator generator = new TurnGenerator(board);
+        int[] squares = new int[codes.length];
+        int resolved = 0;
+        for (int index = from; index < to; index++) {
+            if (schedule[index] != pass) continue;
+            schedule[index] = NOT_SCHEDULED;
+            if (values.get(index) != UNKNOWN || !setUp(board, index, squares)) continue;
+            Color color = Color.values()[index & 1];
+            List<Turn> turns = generator.generateTurns(color);
+            // no legal turn loses at once
+            int best = -1;
+            int next = NOT_SCHEDULED;
+            boolean allLost = true;
+            for (int i = 0; i < turns.size(); i++) {
+                Turn turn = turns.get(i);
+                turn.makeOn(board);
+                int value = outcome(board, color);
+                turn.unmakeOn(board);
+                if (value != UNKNOWN && distance(value) > pass) {
+                    next = Math.min(next, distance(value));
+                    value = UNKNOWN;
+                }
+                if (value >= UNKNOWN) allLost = false;
+                if (i == 0 || isBetter(value, best)) best = value;
+                if (value == 1) break;
+            }
+            if (isWin(best) || allLost) {
+                values.put(index, (byte) best);
+                resolved++;
+            } else if (next <= MAX_DISTANCE) {
+                schedule[index] = (byte) next;
+            }
+            for (int square : squares) {
+                board.placePiece(null, Bitboard.toPosition(square));
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Method to schedule the predecessors of the positions of an index range resolved by a pass for the next pass.
+     * The predecessors are found by unmaking up to 4 unit moves of single pieces into empty squares: the moving player's
+     * own steps (rabbits not backwards) and, when it has a stronger piece, the enemy pieces pushed or pulled. This is a
+     * superset of the real predecessors; the next pass checks them by generating their turns.
+     *
+     * @param from First index of the range.
+     * @param to Index after the range.
+     * @param pass Pass which resolved the positions.
+     * @return The number of positions whose predecessors were scheduled.
+     */
+    private int schedulePredecessors(int from, int to, int pass) {
+        int[] squares = new int[codes.length];
+        Map<Integer, Integer> visited = new HashMap<>();
+        int count = 0;
+        for (int index = from; index < to; index++) {
+            int value = values.get(index);
+            if (value == UNKNOWN || distance(value) != pass) continue;
+            squaresOf(index, squares);
+            Color mover = (index & 1) == Color.GOLD.ordinal() ? Color.SILVER : Color.GOLD;
+            visited.clear();
+            unmakeSteps(squares, occupancyOf(squares), retroDirections(mover), mover, TurnGenerator.MAX_STEPS,
+                    packed(squares), visited, pass + 1);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Method to search the positions before up to the given number of unit moves of the moving player's turn,
+     * scheduling each of them.
+     *
+     * @param squares Squares of the pieces in material order (changed during the search, restored afterwards).
+     * @param occupied Mask of the occupied squares.
+     * @param directions Directions every piece may be moved back in (bit i for DIRECTIONS[i]).
+     * @param mover Color of the player who made the turn.
+     * @param stepsLeft Number of unit moves which may still be unmade.
+     * @param resolvedKey Packed squares of the resolved position (a turn must change the position).
+     * @param visited Packed squares of the positions searched, with the most unit moves left there.
+     * @param pass Pass the predecessors are scheduled for.
+     */
+    private void unmakeSteps(int[] squares, long occupied, int[] directions, Color mover, int stepsLeft,
+                             int resolvedKey, Map<Integer, Integer> visited, int pass) {
+        for (int piece = 0; piece < squares.length; piece++) {
+            int square = squares[piece];
+            for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+                if ((directions[piece] >> direction & 1) == 0) continue;
+                int row = square / Bitboard.SIZE + DIRECTIONS[direction][0];
+                int column = square % Bitboard.SIZE + DIRECTIONS[direction][1];
+                if (row < 0 || row >= Bitboard.SIZE || column < 0 || column >= Bitboard.SIZE) continue;
+                int target = Bitboard.index(row, column);
+                if ((occupied >>> target & 1) != 0) continue;
+                squares[piece] = target;
+                int key = packed(squares);
+                Integer searched = visited.get(key);
+                if (searched == null || searched < stepsLeft - 1) {
+                    visited.put(key, stepsLeft - 1);
+                    if (key != resolvedKey) {
+                        int index = indexOf(squares, mover);
+                        if (values.get(index) == UNKNOWN && schedule[index] > pass) {
+                            schedule[index] = (byte) pass;
+                        }
+                    }
+                    if (stepsLeft > 1) {
+                        unmakeSteps(squares, occupied ^ 1L << square ^ 1L << target, directions, mover, stepsLeft - 1,
+                                resolvedKey, visited, pass);
+                    }
+                }
+                squares[piece] = square;
+            }
+        }
+    }
+
+    /**
+     * Method to get the directions every piece may be moved back in during the moving player's turn:
+     * its own pieces step anywhere but rabbits not backwards, enemy pieces only if a stronger piece can push or pull them.
+     *
+     * @param mover Color of the player who made the turn.
+     * @return Bit mask of the directions of every piece in material order.
+     */
+    private int[] retroDirections(Color mover) {
+        int strongest = -1;
+        for (byte code : codes) {
+            Piece piece = Piece.fromCode(code);
+            if (piece.color() == mover) strongest = Math.max(strongest, piece.type().ordinal());
+        }
+        int all = (1 << DIRECTIONS.length) - 1;
+        int[] directions = new int[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            Piece piece = Piece.fromCode(codes[i]);
+            if (piece.color() != mover) {
+                directions[i] = piece.type().ordinal() < strongest ? all : 0;
+            } else if (piece.type() == PieceType.RABBIT) {
+                // a rabbit stepped forwards or sideways, so it came from behind or the side (north is direction 0)
+                directions[i] = all & ~(1 << (mover == Color.GOLD ? 0 : 1));
+            } else {
+                directions[i] = all;
+            }
+        }
+        return directions;
+    }
+
+    /**
+     * Method to place the pieces of an index on an empty board, if the index is a legal position at the start of a turn.
+     * The board is left empty if it is not.
+     *
+     * @param board Empty Board object.
+     * @param index Index of the position.
+     * @param squares Receives the square of every piece in material order.
+     * @return True if the position is legal: squares distinct, no piece left unprotected on a trap and no rabbit in its
+     * goal row.
+     */
+    private boolean setUp(Board board, int index, int[] squares) {
+        squaresOf(index, squares);
+        if (Long.bitCount(occupancyOf(squares)) != squares.length) return false;
+        for (int i = 0; i < codes.length; i++) {
+            board.placePiece(Piece.fromCode(codes[i]), Bitboard.toPosition(squares[i]));
+        }
+        boolean legal = board.getGoalRabbitCount(Color.GOLD) == 0 && board.getGoalRabbitCount(Color.SILVER) == 0;
+        for (Color color : Color.values()) {
+            long unprotected = board.getColorBitboard(color) & Bitboard.TRAPS & ~board.getFriendlyNeighborBitboard(color);
+            legal &= unprotected == 0;
+        }
+        if (!legal) {
+            for (int square : squares) {
+                board.placePiece(null, Bitboard.toPosition(square));
+            }
+        }
+        return legal;
+    }
+
+    /**
+     * Method to get the outcome of a turn just made, from the point of view of the player who made it, on the value scale.
+     *
+     * @param board Board object after the turn.
+     * @param color Color of the player whose turn ends.
+     * @return 1 if the game is won now, -1 if lost now, the value derived from the enemy's position in this table
+     * (or the table of the material left after a capture), or UNKNOWN if there is no such table.
+     */
+    private int outcome(Board board, Color color) {
+        Color enemy = color == Color.GOLD ? Color.SILVER : Color.GOLD;
+        // goal is checked before elimination, and the player who just moved first
+        if (board.getGoalRabbitCount(color) > 0) return 1;
+        if (board.getGoalRabbitCount(enemy) > 0) return -1;
+        if (board.getRabbitCount(enemy) == 0) return 1;
+        if (board.getRabbitCount(color) == 0) return -1;
+        Tablebase table = covers(board) ? this : subTables.get(materialOf(board));
+        if (table == null) return UNKNOWN;
+        int enemyValue = table.probe(board, enemy);
+        if (enemyValue == UNKNOWN) return UNKNOWN;
+        // the game ends one turn later than seen from the enemy, with the opposite result
+        return enemyValue < 0 ? 1 - enemyValue : -(enemyValue + 1);
+    }
+
+    /**
+     * Method to compare outcomes for the player choosing: wins before unknown results before losses,
+     * sooner wins and later losses first.
+     *
+     * @param value Candidate outcome.
+     * @param best Best outcome so far.
+     * @return True if the candidate is better.
+     */
+    private static boolean isBetter(int value, int best) {
+        return rank(value) > rank(best);
+    }
+
+    /**
+     * Method to map an outcome to an order of preference.
+     *
+     * @param value Outcome on the value scale.
+     * @return Its rank (higher is better).
+     */
+    private static int rank(int value) {
+        if (value > UNKNOWN) return 2 * Byte.MAX_VALUE - value;
+        if (value < UNKNOWN) return -2 * Byte.MAX_VALUE - value;
+        return 0;
+    }
+
+    /**
+     * Method to compute the index of a covered position.
+     *
+     * @param board Board object with the position.
+     * @param color Color of the player to move.
+     * @return The index.
+     */
+    private int indexOf(Board board, Color color) {
+        int[] squares = new int[codes.length];
+        for (int group = 0; group < groupSizes.length; group++) {
+            Piece piece = Piece.fromCode(codes[groupStarts[group]]);
+            int i = groupStarts[group];
+            for (long pieces = board.getPieceBitboard(piece.color(), piece.type()); pieces != 0; pieces &= pieces - 1) {
+                squares[i++] = Long.numberOfTrailingZeros(pieces);
+            }
+        }
+        return indexOf(squares, color);
+    }
+
+    /**
+     * Method to compute the index of a position given by the squares of its pieces, mirroring it if the single piece
+     * kept on the a-d half stands on the e-h half.
+     *
+     * @param squares Squares of the pieces in material order (identical pieces in any order, not changed).
+     * @param color Color of the player to move.
+     * @return The index.
+     */
+    private int indexOf(int[] squares, Color color) {
+        boolean mirror = mirrorGroup >= 0 && squares[groupStarts[mirrorGroup]] % Bitboard.SIZE >= HALF;
+        int index = 0;
+        for (int group = 0; group < groupSizes.length; group++) {
+            int start = groupStarts[group];
+            int count = groupStarts[group + 1] - start;
+            int[] sorted = new int[count];
+            for (int i = 0; i < count; i++) {
+                sorted[i] = mirror ? mirrored(squares[start + i]) : squares[start + i];
+            }
+            Arrays.sort(sorted);
+            int rank = 0;
+            if (group == mirrorGroup) {
+                rank = sorted[0] / Bitboard.SIZE * HALF + sorted[0] % Bitboard.SIZE;
+            } else {
+                // combinatorial number system: ascending squares s_i rank as the sum of C(s_i, i + 1)
+                for (int i = 0; i < count; i++) {
+                    rank += BINOMIALS[sorted[i]][i + 1];
+                }
+            }
+            index = index * groupSizes[group] + rank;
+        }
+        return index << 1 | color.ordinal();
+    }
+
+    /**
+     * Method to get the squares of the pieces of an index (identical pieces by ascending square).
+     *
+     * @param index Index of the position.
+     * @param squares Receives the square of every piece in material order.
+     */
+    private void squaresOf(int index, int[] squares) {
+        int rest = index >>> 1;
+        for (int group = groupSizes.length - 1; group >= 0; group--) {
+            int rank = rest % groupSizes[group];
+            rest /= groupSizes[group];
+            int start = groupStarts[group];
+            if (group == mirrorGroup) {
+                squares[start] = rank / HALF * Bitboard.SIZE + rank % HALF;
+                continue;
+            }
+            for (int i = groupStarts[group + 1] - start - 1; i >= 0; i--) {
+                int square = Bitboard.SQUARES - 1;
+                while (BINOMIALS[square][i + 1] > rank) square--;
+                squares[start + i] = square;
+                rank -= BINOMIALS[square][i + 1];
+            }
+        }
+    }
+
+    /**
+     * Method to get the material class of the pieces on a board.
+     *
+     * @param board Board object.
+     * @return Material class, e.g. "ER-r".
+     */
+    private static String materialOf(Board board) {
+        byte[] boardCodes = new byte[Long.bitCount(board.getOccupiedBitboard())];
+        int count = 0;
+        for (int code = 1; code < Piece.CODES; code++) {
+            Piece piece = Piece.fromCode(code);
+            for (int i = Long.bitCount(board.getPieceBitboard(piece.color(), piece.type())); i > 0; i--) {
+                boardCodes[count++] = (byte) code;
+            }
+        }
+        return materialOf(boardCodes);
+    }
+
+    /**
+     * Method to get the mask of the squares of some pieces.
+     *
+     * @param squares Squares of the pieces.
+     * @return The mask.
+     */
+    private static long occupancyOf(int[] squares) {
+        long occupied = 0;
+        for (int square : squares) {
+            occupied |= 1L << square;
+        }
+        return occupied;
+    }
+
+    /**
+     * Method to pack the squares of the pieces into one int (6 bits each), a key of the position without side to move.
+     *
+     * @param squares Squares of the pieces in material order.
+     * @return The key.
+     */
+    private static int packed(int[] squares) {
+        int key = 0;
+        for (int square : squares) {
+            key = key << 6 | square;
+        }
+        return key;
+    }
+
+    /**
+     * Method to get the square in the mirror image of the board (columns a-h reversed).
+     *
+     * @param square Square index.
+     * @return The mirrored square index.
+     */
+    private static int mirrored(int square) {
+        return square ^ Bitboard.SIZE - 1;
+    }
+
+    /**
+     * Method to get the first code index of every group of identical pieces.
+     *
+     * @param codes Piece codes, ascending.
+     * @return The first indexes, followed by the number of pieces.
+     */
+    private static int[] groupStarts(byte[] codes) {
+        int[] starts = new int[codes.length + 1];
+        int groups = 0;
+        for (int i = 0; i < codes.length; i++) {
+            if (i == 0 || codes[i] != codes[i - 1]) starts[groups++] = i;
+        }
+        starts[groups] = codes.length;
+        return Arrays.copyOf(starts, groups + 1);
+    }
+
+    /**
+     * Method to compute the binomial coefficients used by the index.
+     *
+     * @return C(n, k) indexed by [n][k], for n up to 64 and k up to MAX_PIECES.
+     */
+    private static int[][] binomials() {
+        int[][] binomials = new int[Bitboard.SQUARES + 1][MAX_PIECES + 1];
+        for (int n = 0; n <= Bitboard.SQUARES; n++) {
+            binomials[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, MAX_PIECES); k++) {
+                binomials[n][k] = binomials[n - 1][k - 1] + (k < n ? binomials[n - 1][k] : 0);
+            }
+        }
+        return binomials;
+    }
+}
@@ -0,0 +1,54 @@
+package arimaa.engine;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The TablebaseBuilder class generates endgame tables offline and writes them into the directory read by computer players.
+ * Smaller classes are generated first, so that each table can look up the tables of the material left after a capture
+ * (tables already in the directory are used as well).
+ */
+public final class TablebaseBuilder {
+    /**
+     * Class constant: material classes generated when none are given (rabbit against rabbit and every 3 piece class
+     * adding a rabbit or an elephant)
+     */
+    private static final List<String> DEFAULT_MATERIALS = List.of("R-r", "RR-r", "R-rr", "ER-r", "R-er");
+
+    /**
+     * Utility class, no instances.
+     */
+    private TablebaseBuilder() {
+    }
+
+    /**
+     * Entry point: arguments [output directory (default tablebases)] [threads (default: all cores)]
+     * [material classes, e.g. ER-er (default R-r RR-r R-rr ER-r R-er)].
+     *
+     * @param args Command line arguments.
+     * @throws IOException If a table cannot be written.
+     * @throws InterruptedException If the generation is interrupted.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path directory = Path.of(args.length > 0 ? args[0] : Tablebase.DEFAULT_DIRECTORY);
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        List<String> materials = new ArrayList<>(args.length > 2 ? Arrays.asList(args).subList(2, args.length) : DEFAULT_MATERIALS);
+        materials.sort(Comparator.comparingInt(material -> Tablebase.parseMaterial(material).length));
+        Files.createDirectories(directory);
+        List<Tablebase> tables = new ArrayList<>(Tablebase.openAll(directory));
+        for (String material : materials) {
+            long start = System.currentTimeMillis();
+            tables.removeIf(table -> table.getMaterial().equals(Tablebase.materialOf(Tablebase.parseMaterial(material))));
+            Tablebase table = Tablebase.generate(material, threads, tables);
+            tables.add(table);
+            Path path = Tablebase.path(directory, material);
+            table.write(path);
+            System.out.printf("%s: written to %s in %d ms%n", table.getMaterial(), path, System.currentTimeMillis() - start);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package arimaa.engine;
+
+import arimaa.core.Board;
+import arimaa.core.TurnGenerator;
+import arimaa.utils.Color;
+
+import java.util.List;
+
+/**
+ * The TablebaseEngine class plays sparse endings from endgame tables: when a table covers the position and knows
+ * its result, the turn keeping that result is played without any search. All other positions (and turns already
+ * started) are left to another engine.
+ */
+public class TablebaseEngine implements Engine {
+    /**
+     * Instance variable: tables looked up first
+     */
+    private final List<Tablebase> tables;
+    /**
+     * Instance variable: engine searching the positions without a known table result
+     */
+    private final Engine engine;
+
+    /**
+     * Constructs a new TablebaseEngine.
+     *
+     * @param tables Tablebases to play from.
+     * @param engine Engine searching when no table has a result.
+     */
+    public TablebaseEngine(List<Tablebase> tables, Engine engine) {
+        this.tables = List.copyOf(tables);
+        this.engine = engine;
+    }
+
+    @Override
+    public SearchResult search(Board board, Color color, int stepsLeft, long turnStartKey, SearchLimits limits) {
+        if (stepsLeft == TurnGenerator.MAX_STEPS) {
+            for (Tablebase table : tables) {
+                int[] turn = table.bestTurn(board, color);
+                if (turn != null) {
+                    int value = table.probe(board, color);
+                    int score = SearchEngine.WIN - Tablebase.distance(value);
+                    return new SearchResult(turn, Tablebase.isWin(value) ? score : -score, 0, 0);
+                }
+            }
+        }
+        return engine.search(board, color, stepsLeft, turnStartKey, limits);
+    }
+
+    @Override
+    public void stop() {
+        engine.stop();
+    }
+
+    @Override
+    public void shutdown() {
+        engine.shutdown();
+    }
+}
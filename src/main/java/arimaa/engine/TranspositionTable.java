@@ -0,0 +1,191 @@
+package arimaa.engine;
+
+import java.util.Arrays;
+
+/**
+ * The TranspositionTable class stores search results by position key in a preallocated power-of-two array,
+ * shared by any number of search threads without locks. Every entry takes two longs: the key XOR the data, and the data.
+ * A probe accepts an entry only if the two words XOR back to the probed key, so an entry torn by concurrent writes
+ * (words of two different stores) is simply seen as a miss. Data bits 0-31: best move (0 = none),
+ * 32-51: score (offset by 2^19), 52-59: depth in steps, 60-61: bound, 62-63: age of the search that stored it.
+ */
+public class TranspositionTable {
+    /**
+     * Class constant: default size in megabytes
+     */
+    public static final int DEFAULT_SIZE_MB = 32;
+    /**
+     * Class constant: system property overriding the size in megabytes (e.g. -Darimaa.hashMb=256)
+     */
+    public static final String SIZE_PROPERTY = "arimaa.hashMb";
+    /**
+     * Class constant: bound of an exact score
+     */
+    public static final int EXACT = 1;
+    /**
+     * Class constant: bound of a score which is at least the stored one (fail high)
+     */
+    public static final int LOWER = 2;
+    /**
+     * Class constant: bound of a score which is at most the stored one (fail low)
+     */
+    public static final int UPPER = 3;
+    /**
+     * Class constant: best move of an entry without one
+     */
+    public static final int NO_MOVE = 0;
+
+    private static final int ENTRY_BYTES = 16;
+    private static final int SCORE_SHIFT = 32;
+    private static final int SCORE_OFFSET = 1 << 19;
+    private static final long SCORE_MASK = (1L << 20) - 1;
+    private static final int DEPTH_SHIFT = 52;
+    private static final int DEPTH_MASK = 0xFF;
+    private static final int BOUND_SHIFT = 60;
+    private static final int AGE_SHIFT = 62;
+
+    /**
+     * Instance variable: entries as pairs of (key ^ data, data)
+     */
+    private final long[] table;
+    /**
+     * Instance variable: number of entries - 1
+     */
+    private final int mask;
+    /**
+     * Instance variable: age of the current search (2 bits), so entries of older searches are replaced first
+     */
+    private volatile int age;
+
+    /**
+     * Constructs a new, empty TranspositionTable using at most the given memory.
+     *
+     * @param sizeMb Size in megabytes (rounded down to a power-of-two number of entries).
+     */
+    public TranspositionTable(int sizeMb) {
+        long entries = Math.max(1, (long) sizeMb * 1024 * 1024 / ENTRY_BYTES);
+        entries = Math.min(Long.highestOneBit(entries), 1 << 29);
+        table = new long[(int) entries * 2];
+        mask = (int) entries - 1;
+    }
+
+    /**
+     * Method to look up a key.
+     *
+     * @param key Key of the node.
+     * @return The data of the entry (decoded by the static getters), or 0 if the key is absent.
+     */
+    public long probe(long key) {
+        int index = indexOf(key);
+        long data = table[index + 1];
+        return (table[index] ^ data) == key ? data : 0;
+    }
+
+    /**
+     * Method to store a search result. An entry of another key is replaced if it comes from an older search
+     * or was searched less deep; an entry of the same key is always refreshed (keeping its move if none is given).
+     *
+     * @param key Key of the node.
+     * @param move Best move (or NO_MOVE).
+     * @param score Score of the node.
+     * @param depth Searched depth in steps.
+     * @param bound EXACT, LOWER or UPPER.
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int index = indexOf(key);
+        long oldData = table[index + 1];
+        boolean sameKey = (table[index] ^ oldData) == key;
+        if (!sameKey && oldData != 0 && ageOf(oldData) == age && depth(oldData) > depth) return;
+        if (sameKey && move == NO_MOVE) move = move(oldData);
+        long data = (move & 0xFFFFFFFFL)
+                | (long) (score + SCORE_OFFSET) << SCORE_SHIFT
+                | (long) Math.min(depth, DEPTH_MASK) << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (long) age << AGE_SHIFT;
+        table[index] = key ^ data;
+        table[index + 1] = data;
+    }
+
+    /**
+     * Method to start a new search: entries of previous searches become preferred for replacement.
+     */
+    public void newSearch() {
+        age = age + 1 & 3;
+    }
+
+    /**
+     * Method to remove all entries.
+     */
+    public void clear() {
+        Arrays.fill(table, 0);
+    }
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return The capacity of the table.
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Gets the best move of an entry.
+     *
+     * @param data Data returned by probe.
+     * @return The encoded move (or NO_MOVE).
+     */
+    public static int move(long data) {
+        return (int) data;
+    }
+
+    /**
+     * Gets the score of an entry.
+     *
+     * @param data Data returned by probe.
+     * @return The score.
+     */
+    public static int score(long data) {
+        return (int) (data >>> SCORE_SHIFT & SCORE_MASK) - SCORE_OFFSET;
+    }
+
+    /**
+     * Gets the searched depth of an entry.
+     *
+     * @param data Data returned by probe.
+     * @return The depth in steps.
+     */
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & DEPTH_MASK;
+    }
+
+    /**
+     * Gets the bound of an entry.
+     *
+     * @param data Data returned by probe.
+     * @return EXACT, LOWER or UPPER.
+     */
+    public static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 3;
+    }
+
+    /**
+     * Gets the age of the search which stored an entry.
+     *
+     * @param data Data returned by probe.
+     * @return The age (0-3).
+     */
+    private static int ageOf(long data) {
+        return (int) (data >>> AGE_SHIFT) & 3;
+    }
+
+    /**
+     * Method to get the index of the first word of a key's entry.
+     *
+     * @param key Key of the node.
+     * @return Index into the table.
+     */
+    private int indexOf(long key) {
+        return ((int) (key ^ key >>> 32) & mask) << 1;
+    }
+}
@@ -0,0 +1,176 @@
+package arimaa.engine;
+
+import arimaa.core.Board;
+import arimaa.core.MoveList;
+import arimaa.core.PackedMove;
+import arimaa.utils.Bitboard;
+import arimaa.utils.Color;
+
+/**
+ * The TrapAnalysis class finds the enemy pieces a player can capture on the traps.
+ * Only a push or pull moves an enemy piece, so every capture is made by one: either the victim is moved onto
+ * an unguarded trap, or the last guard of an enemy piece standing on a trap is moved away. The capture generator
+ * therefore only looks at pushes and pulls of the enemy pieces next to a trap and keeps those which really capture;
+ * the threat detector puts any preparing moves in front of it, as long as two steps are left for the capture.
+ */
+public class TrapAnalysis {
+    /**
+     * Class constant: steps of the push or pull making a capture
+     */
+    private static final int CAPTURE_COST = 2;
+    /**
+     * Class constant: most steps looked ahead (one full turn)
+     */
+    private static final int MAX_STEPS = 4;
+
+    /**
+     * Instance variable: board analysed (returned unchanged)
+     */
+    private final Board board;
+    /**
+     * Instance variable: one reusable move list per depth of the threat search
+     */
+    private final MoveList[] moveLists;
+    /**
+     * Instance variable: move list of the capture candidates
+     */
+    private final MoveList candidates;
+    /**
+     * Instance variable: starting square of the enemy piece now standing on every square (threat search only)
+     */
+    private final int[] origins;
+    /**
+     * Instance variable: starting squares of the pieces found capturable by the running threat search
+     */
+    private long threatened;
+
+    /**
+     * Constructs a new TrapAnalysis working on a board.
+     *
+     * @param board Board object to analyse.
+     */
+    public TrapAnalysis(Board board) {
+        this.board = board;
+        moveLists = new MoveList[MAX_STEPS];
+        for (int depth = 0; depth < MAX_STEPS; depth++) {
+            moveLists[depth] = new MoveList();
+        }
+        candidates = new MoveList();
+        origins = new int[Bitboard.SQUARES];
+    }
+
+    /**
+     * Method to fill a move list with the moves capturing at least one enemy piece right away.
+     *
+     * @param color Color of the moving player.
+     * @param stepsLeft Steps left this turn (a capture needs 2).
+     * @param moves MoveList to be cleared and filled with the capturing pushes and pulls.
+     */
+    public void generateCaptures(Color color, int stepsLeft, MoveList moves) {
+        moves.clear();
+        if (stepsLeft < CAPTURE_COST) return;
+        Color enemy = enemyOf(color);
+        candidates.clear();
+        board.generatePushPullMoves(color, captureCandidates(enemy), candidates);
+        for (int i = 0; i < candidates.size(); i++) {
+            int move = candidates.get(i);
+            board.makeMove(move);
+            boolean captures = capturesPieceOf(enemy);
+            board.unmakeMove();
+            if (captures) moves.add(move);
+        }
+    }
+
+    /**
+     * Method to find every enemy piece a player can capture on a trap within the steps left,
+     * preparing moves (unfreezing, approaching, clearing a square) included.
+     *
+     * @param color Color of the moving player.
+     * @param stepsLeft Steps left this turn (1-4).
+     * @return Mask of the squares the capturable enemy pieces stand on now.
+     */
+    public long threatenedPieces(Color color, int stepsLeft) {
+        for (int square = 0; square < Bitboard.SQUARES; square++) {
+            origins[square] = square;
+        }
+        threatened = 0;
+        findThreats(color, Math.min(stepsLeft, MAX_STEPS), 0);
+        return threatened;
+    }
+
+    /**
+     * Method to get the mask of enemy pieces a push or pull could capture, those next to a trap: moved onto an empty
+     * trap (or onto the trap a pulling piece leaves), or moved away from a trap their own piece stands on.
+     *
+     * @param enemy Color of the enemy pieces.
+     * @return Mask of the candidates.
+     */
+    private long captureCandidates(Color enemy) {
+        return board.getColorBitboard(enemy) & Bitboard.TRAP_NEIGHBORS;
+    }
+
+    /**
+     * Method to search the moves of a player for captures, recording the starting square of every captured piece.
+     *
+     * @param color Color of the moving player.
+     * @param stepsLeft Steps left.
+     * @param depth Number of moves made so far (move list index).
+     */
+    private void findThreats(Color color, int stepsLeft, int depth) {
+        if (stepsLeft < CAPTURE_COST) return;
+        Color enemy = enemyOf(color);
+        MoveList moves = moveLists[depth];
+        moves.clear();
+        board.generatePushPullMoves(color, captureCandidates(enemy), moves);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int victimFrom = PackedMove.victimFrom(move);
+            int victimTo = PackedMove.victimTo(move);
+            board.makeMove(move);
+            for (int capture = 0; capture < board.getCaptureCount(); capture++) {
+                if (board.getCapturedPiece(capture).color() != enemy) continue;
+                int trap = board.getCapturedSquare(capture);
+                threatened |= 1L << origins[trap == victimTo ? victimFrom : trap];
+            }
+            board.unmakeMove();
+        }
+        // a preparing move must leave the two steps of the capture
+        if (stepsLeft - CAPTURE_COST < 1) return;
+        board.generateMoves(color, stepsLeft - CAPTURE_COST, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            boolean movesEnemy = PackedMove.kind(move) != PackedMove.STEP;
+            int victimFrom = PackedMove.victimFrom(move);
+            int victimTo = PackedMove.victimTo(move);
+            int origin = origins[victimTo];
+            if (movesEnemy) origins[victimTo] = origins[victimFrom];
+            board.makeMove(move);
+            findThreats(color, stepsLeft - PackedMove.stepCost(move), depth + 1);
+            board.unmakeMove();
+            origins[victimTo] = origin;
+        }
+    }
+
+    /**
+     * Method to check whether the last move made captured a piece of a color.
+     *
+     * @param color Color of the captured piece.
+     * @return Boolean value of the check.
+     */
+    private boolean capturesPieceOf(Color color) {
+        for (int capture = 0; capture < board.getCaptureCount(); capture++) {
+            if (board.getCapturedPiece(capture).color() == color) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Method to get the opposing color.
+     *
+     * @param color Color of a player.
+     * @return Color of the other player.
+     */
+    private static Color enemyOf(Color color) {
+        return color == Color.GOLD ? Color.SILVER : Color.GOLD;
+    }
+}
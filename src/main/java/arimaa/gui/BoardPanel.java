@@ -1,6 +1,7 @@
 package arimaa.gui;
 
 import arimaa.core.*;
+import arimaa.engine.SetupOptimizer;
 import arimaa.utils.Position;
 
 import javax.imageio.ImageIO;
@@ -8,12 +9,10 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.awt.event.MouseListener;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.Random;
 import java.util.stream.Collectors;
 
 /**
@@ -100,7 +99,7 @@ class BoardPanel extends JPanel {
         for (int i = 0; i < GRID_SIZE * GRID_SIZE; i++) {
             int row = i / GRID_SIZE;
             int col = i % GRID_SIZE;
-            Position position = new Position(row, col);
+            Position position = Position.of(row, col);
             Piece piece = game.getBoard().getPieceAt(position);
             JPanel square = squares[row][col];
             fillPositionWithPiece(piece, square);
@@ -118,7 +117,7 @@ class BoardPanel extends JPanel {
         // Board positions with no piece shall be represented with no picture
         if (piece != null){
             String pieceName = piece.type().getName();
-            char ownerChar = piece.owner().getColor().getBigChar();
+            char ownerChar = piece.color().getBigChar();
             String photoName = pieceName + "-" + ownerChar;
             ImageIcon pieceIcon = loadImageIcon("piece-icons/" + photoName + ".png");
             JLabel pieceLabel = new JLabel(pieceIcon);
@@ -187,45 +186,58 @@ class BoardPanel extends JPanel {
         resetSquaresColors();
     }
 
+    /**
+     * Method to revert the last move made on the board (both visual and logical)
+     */
+    public void unmakeMove(){
+        game.getBoard().unmakeMove();
+        fillSquaresWithBoard();
+        resetSquaresColors();
+    }
+
     /*
     COMPLEX MOVES FOR GAME INTERACTIVITY
      */
 
     /**
      * Method to move a piece on the board (both visually and logically).
+     * The board resolves trap captures itself; they are logged as a move onto the same square (e.g. Rc3x).
      *
      * @param stepMove StepMove object with specified starting and destination positions.
      */
     public void stepMovePiece(StepMove stepMove){
         String moveString = game.getBoard().getPieceAt(stepMove.getFrom()).toString() + stepMove + " ";
         game.appendStepsBuilder(moveString);
-        game.getBoard().makeMove(stepMove);
+        Board board = game.getBoard();
+        board.makeMove(stepMove);
+        for (int i = 0; i < board.getCaptureCount(); i++){
+            Position trap = Position.of(board.getCapturedSquare(i));
+            game.appendStepsBuilder(board.getCapturedPiece(i).toString() + new StepMove(trap, trap) + " ");
+        }
         fillSquaresWithBoard();
         resetSquaresColors();
     }
 
     /**
-     * Method to facilitate a pull move by destructuring it into step moves and checking traps in between.
+     * Method to facilitate a pull move by destructuring it into step moves (traps are resolved after each of them).
      *
      * @param pullMove PullMove object.
      */
     public void pullMovePieces(PullMove pullMove){
         StepMove pullingPieceMove = new StepMove(pullMove.getFrom(), pullMove.getTo());
         stepMovePiece(pullingPieceMove);
-        checkTraps();
         StepMove pulledPieceMove = new StepMove(pullMove.getPulledPieceFrom(), pullMove.getPulledPieceTo());
         stepMovePiece(pulledPieceMove);
     }
 
     /**
-     * Method to facilitate a push move by destructuring it into step moves and checking traps in between.
+     * Method to facilitate a push move by destructuring it into step moves (traps are resolved after each of them).
      *
      * @param pushMove PullMove object.
      */
     public void pushMovePieces(PushMove pushMove){
         StepMove pushedPieceMove = new StepMove(pushMove.getPushedPieceFrom(), pushMove.getPushedPieceTo());
         stepMovePiece(pushedPieceMove);
-        checkTraps();
         StepMove pushingPieceMove = new StepMove(pushMove.getFrom(), pushMove.getTo());
         stepMovePiece(pushingPieceMove);
     }
@@ -243,17 +255,27 @@ class BoardPanel extends JPanel {
         resetSquaresColors();
     }
 
+    /**
+     * Method to arrange a player's pieces in the home rows (both visually and logically), as found by the setup optimizer.
+     *
+     * @param player Player whose pieces are arranged.
+     * @param setup Piece codes in the order of SetupOptimizer.homeSquares.
+     */
+    public void applySetup(Player player, byte[] setup){
+        SetupOptimizer.applySetup(game.getBoard(), player.getColor(), setup);
+        fillSquaresWithBoard();
+        resetSquaresColors();
+    }
+
     /**
      * Method to restore the grid squares colors.
      */
     public void resetSquaresColors() {
         for (int i = 0; i < GRID_SIZE; i++) {
             for (int j = 0; j < GRID_SIZE; j++) {
-                Color squareColor = Color.LIGHT_GRAY;
-                if (i == 2 && j == 2 || i == 2 && j == 5 || i == 5 && j == 2 || i == 5 && j == 5) {
-                    squareColor = Color.DARK_GRAY;
-                }
-                fillSquareWithColor(new Position(i, j), squareColor);
+                Position position = Position.of(i, j);
+                Color squareColor = position.isTrapPosition() ? Color.DARK_GRAY : Color.LIGHT_GRAY;
+                fillSquareWithColor(position, squareColor);
             }
         }
     }
@@ -295,7 +317,7 @@ class BoardPanel extends JPanel {
             for (int j = 0; j < GRID_SIZE; j++) {
                 Color squareColor = squares[i][j].getBackground();
                 if (squareColor == color){
-                    positionArrayList.add(new Position(i, j));
+                    positionArrayList.add(Position.of(i, j));
                 }
             }
         }
@@ -321,7 +343,7 @@ class BoardPanel extends JPanel {
         for (int row = 0; row < GRID_SIZE; row++) {
             for (int col = 0; col < GRID_SIZE; col++) {
                 if (squares[row][col].equals(square)) {
-                    return new Position(row, col);
+                    return Position.of(row, col);
                 }
             }
         }
@@ -410,7 +432,6 @@ class BoardPanel extends JPanel {
             fillSquaresWithColor((ArrayList<Position>) game.getBoard().getValidStepMovesByItselfForPosition(squarePosition).stream().map(StepMove::getTo).collect(Collectors.toList()), Color.WHITE);
         } else if (selectedPositions.size() == 1){
             stepMovePiece(new StepMove(selectedPositions.get(0), squarePosition));
-            checkTraps();
             game.checkWinning();
             if (!game.getGameEnded()){
                 handleModeReset();
@@ -443,14 +464,13 @@ class BoardPanel extends JPanel {
             Position pulledPiecePosition = null;
             Position pullingPiecePosition = null;
             for (Position position : selectedPositions){
-                if (game.getBoard().getPieceAt(position).owner() == game.getCurrentPlayer()){
+                if (game.getBoard().getPieceAt(position).isOwnedBy(game.getCurrentPlayer())){
                     pullingPiecePosition = position;
                 } else {
                     pulledPiecePosition = position;
                 }
             }
             pullMovePieces(new PullMove(pullingPiecePosition, squarePosition, pulledPiecePosition, pullingPiecePosition));
-            checkTraps();
             game.checkWinning();
             if (!game.getGameEnded()){
                 handleModeReset();
@@ -483,14 +503,13 @@ class BoardPanel extends JPanel {
             Position pushedPiecePosition = null;
             Position pushingPiecePosition = null;
             for (Position position : selectedPositions){
-                if (game.getBoard().getPieceAt(position).owner() == game.getCurrentPlayer()){
+                if (game.getBoard().getPieceAt(position).isOwnedBy(game.getCurrentPlayer())){
                     pushingPiecePosition = position;
                 } else {
                     pushedPiecePosition = position;
                 }
             }
             pushMovePieces(new PushMove(pushingPiecePosition, pushedPiecePosition, pushedPiecePosition, squarePosition));
-            checkTraps();
             game.checkWinning();
             if (!game.getGameEnded()){
                 handleModeReset();
@@ -513,44 +532,23 @@ class BoardPanel extends JPanel {
     }
 
     /**
-     * Method to remove pieces from traps.
-     * stepMovePiece is used for logging (moving onto the same square signifies a removal).
-     */
-    private void checkTraps(){
-        for(Position position : Position.TRAP_POSITIONS){
-            if (game.getBoard().getPieceAt(position) != null && !game.getBoard().isFriendlyPieceNearby(position)){
-                stepMovePiece(new StepMove(position, position));
-                removePieceAt(position);
-            }
-        }
-    }
-
-    /**
-     * Method for the computer mode to select random square with valid move and click it.
+     * Method for the computer player to play one move chosen by the engine (same effects as clicking it).
+     * Executes the move, checks winning and, if the game goes on, decrements the moves left.
      *
-     * @param preferTrap boolean indicating whether stepping on trap is preferred or otherwise
-     */
-    public void clickOnRandomWhiteSquare(boolean preferTrap) {
-        ArrayList<Position> positions = getPositionsOfSquaresWithColor(Color.WHITE);
-        Random random = new Random();
-        Position position = positions.get(random.nextInt(positions.size()));
-        if (positions.size() > 1){
-            if (preferTrap){
-                for (Position onePosition : positions){
-                    if (onePosition.isTrapPosition()){
-                        position = onePosition;
-                    }
-                }
-            } else {
-                while (position.isTrapPosition()){
-                    position = positions.get(random.nextInt(positions.size()));
-                }
-            }
+     * @param move StepMove, PushMove or PullMove object.
+     */
+    public void playMove(Move move){
+        if (move instanceof PushMove pushMove){
+            pushMovePieces(pushMove);
+        } else if (move instanceof PullMove pullMove){
+            pullMovePieces(pullMove);
+        } else {
+            stepMovePiece((StepMove) move);
         }
-        JPanel square = squares[position.row()][position.column()];
-        MouseEvent event = new MouseEvent(square, MouseEvent.MOUSE_CLICKED, System.currentTimeMillis(), 0, 1,1, 1, false);
-        for (MouseListener listener : square.getMouseListeners()) {
-            listener.mouseClicked(event);
+        game.checkWinning();
+        if (!game.getGameEnded()){
+            handleModeReset();
+            game.decrementMovesLeftThisTurnBy(move instanceof StepMove ? 1 : 2);
         }
     }
 
@@ -51,6 +51,9 @@ public class CombinedGUI {
      * @param newPanel The newly given panel.
      */
     public static void changeRightPanel(JPanel newPanel) {
+        if (currentRightPanel instanceof GameControlsPanel gameControlsPanel) {
+            gameControlsPanel.dispose();
+        }
         frame.remove(currentRightPanel);
         frame.add(newPanel, BorderLayout.EAST);
         currentRightPanel = newPanel;
@@ -1,15 +1,33 @@
 package arimaa.gui;
 
+import arimaa.core.Board;
 import arimaa.core.Game;
 import arimaa.core.GameListener;
+import arimaa.core.PackedMove;
 import arimaa.core.Player;
+import arimaa.engine.BookEngine;
+import arimaa.engine.Engine;
+import arimaa.engine.LazySmpEngine;
+import arimaa.engine.MctsEngine;
+import arimaa.engine.OpeningBook;
+import arimaa.engine.Ponderer;
+import arimaa.engine.SearchLimits;
+import arimaa.engine.SearchResult;
+import arimaa.engine.SetupOptimizer;
+import arimaa.engine.Tablebase;
+import arimaa.engine.TablebaseEngine;
+import arimaa.engine.TranspositionTable;
 
 import java.awt.*;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.filechooser.FileNameExtensionFilter;
@@ -19,6 +37,19 @@ import javax.swing.filechooser.FileNameExtensionFilter;
  */
 public class GameControlsPanel extends JPanel implements GameListener {
 
+    /**
+     * Thinking time of the computer player per turn in milliseconds
+     */
+    private static final long COMPUTER_MOVE_TIME_MILLIS = 1000;
+    /**
+     * Time of the computer player to arrange its pieces in milliseconds
+     */
+    private static final long COMPUTER_SETUP_TIME_MILLIS = 2000;
+    /**
+     * System property choosing the engine of computer players (alphabeta by default, or mcts)
+     */
+    private static final String ENGINE_PROPERTY = "arimaa.engine";
+
     /**
      * Label with the second/silver/blue player time
      */
@@ -83,6 +114,28 @@ public class GameControlsPanel extends JPanel implements GameListener {
      * Game clock on a separate thread to track decision times
      */
     private final GameClock gameClock;
+    /**
+     * Opening book of computer players (arimaa.book), null if there is none
+     */
+    private final OpeningBook book = openBook();
+    /**
+     * Engine choosing the moves of computer players
+     */
+    private final Engine engine = createEngine(book);
+    /**
+     * Optimizer arranging the pieces of computer players before the game
+     */
+    private final SetupOptimizer setupOptimizer = new SetupOptimizer(
+            Integer.getInteger(LazySmpEngine.THREADS_PROPERTY, Runtime.getRuntime().availableProcessors()));
+    /**
+     * Ponderer letting the engine think during the human's turns against a computer player (off with -Darimaa.ponder=false)
+     */
+    private final Ponderer ponderer = Boolean.parseBoolean(System.getProperty(Ponderer.PONDER_PROPERTY, "true"))
+            ? new Ponderer(engine) : null;
+    /**
+     * Whether the panel was replaced by another one (results of computer searches still running are dropped then)
+     */
+    private boolean disposed;
     private final JPanel gameControlsGroup;
 
     /**
@@ -246,35 +299,59 @@ public class GameControlsPanel extends JPanel implements GameListener {
             labeledBoardPanel.handleModeReset();
         });
         computerMoveButton.addActionListener(e -> {
-            // initial positions - computer is satisfied with default
-            if (game.getGamePhase() <= 2){
+            // initial positions - the book's setup is taken, as the book only knows positions reached from it
+            if (game.getGamePhase() <= 2 && book != null && book.setup(game.getCurrentPlayer().getColor()) != null){
+                Player player = game.getCurrentPlayer();
+                labeledBoardPanel.applySetup(player, book.setup(player.getColor()));
                 finishedButton.doClick();
-            } else {
-                // computer simulates moves, selects at random, and uses all moves per turn
-                if (noneButton.isSelected()){
-                    boolean thereArePiecesToBePulled = game.getBoard().getPositionsOfEnemyPiecesWhichCanBePulled(game.getCurrentPlayer(), game.getEnemyPlayer()).size() > 0;
-                    boolean thereArePiecesToBePushed = game.getBoard().getPositionsOfEnemyPiecesThatCanBePushed(game.getCurrentPlayer(), game.getEnemyPlayer()).size() > 0;
-                    boolean thereAreEnoughStepsForPushOrPull = game.getMovesLeftThisTurn() >= 2;
-                    if (thereAreEnoughStepsForPushOrPull){
-                        if (thereArePiecesToBePulled){
-                            pullButton.doClick();
-                        } else if (thereArePiecesToBePushed) {
-                            pushButton.doClick();
-                        } else {
-                            stepButton.doClick();
-                        }
-                    } else {
-                        stepButton.doClick();
+            // without a book the setup optimizer arranges the pieces off the event thread, then the turn is finished
+            } else if (game.getGamePhase() <= 2){
+                computerMoveButton.setEnabled(false);
+                Player player = game.getCurrentPlayer();
+                Board board = new Board(game.getBoard());
+                new SwingWorker<byte[], Void>() {
+                    @Override
+                    protected byte[] doInBackground() {
+                        return setupOptimizer.optimize(board, player.getColor(), COMPUTER_SETUP_TIME_MILLIS);
                     }
-                } else {
-                    int whiteSquaresCount = labeledBoardPanel.getPositionsOfSquaresWithColor(Color.WHITE).size();
-                    if (whiteSquaresCount > 0) {
-                        labeledBoardPanel.clickOnRandomWhiteSquare(pushButton.isSelected());
-                    } else {
+
+                    @Override
+                    protected void done() {
+                        if (disposed) return;
+                        computerMoveButton.setEnabled(true);
+                        try {
+                            labeledBoardPanel.applySetup(player, get());
+                        } catch (InterruptedException | ExecutionException ex) {
+                            ex.printStackTrace();
+                        }
                         finishedButton.doClick();
                     }
+                }.execute();
+            } else {
+                // the engine searches a copy of the board off the event thread, then the turn is played move by move
+                computerMoveButton.setEnabled(false);
+                Player player = game.getCurrentPlayer();
+                Board board = new Board(game.getBoard());
+                int stepsLeft = game.getMovesLeftThisTurn();
+                long turnStartKey = game.getTurnStartKey();
+                new SwingWorker<SearchResult, Void>() {
+                    @Override
+                    protected SearchResult doInBackground() {
+                        return engine.search(board, player.getColor(), stepsLeft, turnStartKey,
+                                SearchLimits.ofTime(COMPUTER_MOVE_TIME_MILLIS));
+                    }
 
-                }
+                    @Override
+                    protected void done() {
+                        if (disposed) return;
+                        computerMoveButton.setEnabled(true);
+                        try {
+                            playComputerTurn(player, get());
+                        } catch (InterruptedException | ExecutionException ex) {
+                            ex.printStackTrace();
+                        }
+                    }
+                }.execute();
             }
         });
         resignButton.addActionListener(e -> {
@@ -314,8 +391,13 @@ public class GameControlsPanel extends JPanel implements GameListener {
      * 2. If we are just setting initial positions, offer switch mode
      * 3. Otherwise, do not offer switch mode while offering others
      * 4. If it's the computer's turn, offer only the computer move button control
+     * 5. If a human moves against a computer, let the engine ponder (the previous pondering ends with the turn)
      */
     private void setTurnFormatting(){
+        stopPondering();
+        if (game.getGameEnded()){
+            return;
+        }
         Color turnColor;
         if (game.getGamePhase() % 2 == 1){
             turnColor = Color.YELLOW;
@@ -360,10 +442,99 @@ public class GameControlsPanel extends JPanel implements GameListener {
             stepButton.setVisible(false);
             pushButton.setVisible(false);
             pullButton.setVisible(false);
+        } else if (ponderer != null && game.getGamePhase() >= 3 && game.getEnemyPlayer().isComputer()){
+            ponderer.start(game.getBoard(), game.getCurrentPlayer().getColor(), game.getMovesLeftThisTurn(), game.getTurnStartKey());
         }
 
     }
 
+    /**
+     * Method to stop the engine pondering, if it does, so it is free for the computer's search.
+     */
+    private void stopPondering(){
+        if (ponderer != null){
+            ponderer.stop();
+        }
+    }
+
+    /**
+     * Method to release the panel's game when it is replaced: the pondering search and the clock are stopped,
+     * the engine's threads are shut down and results of computer searches still running are dropped.
+     */
+    public void dispose(){
+        disposed = true;
+        stopPondering();
+        gameClock.stopClock();
+        engine.shutdown();
+    }
+
+    /**
+     * Method to open the opening book given by the system property arimaa.book, if the file exists.
+     *
+     * @return The book, or null if there is none (or it cannot be read).
+     */
+    private static OpeningBook openBook(){
+        Path bookPath = Path.of(System.getProperty(OpeningBook.PATH_PROPERTY, OpeningBook.DEFAULT_PATH));
+        if (Files.isRegularFile(bookPath)){
+            try {
+                return OpeningBook.open(bookPath);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method to create the engine of computer players from the system properties read at startup:
+     * arimaa.engine (alphabeta or mcts), arimaa.threads, arimaa.hashMb and arimaa.tablebases (endgame tables played from,
+     * if the directory has any).
+     *
+     * @param book Opening book played from while it has the position, or null.
+     * @return The engine.
+     */
+    private static Engine createEngine(OpeningBook book){
+        int threads = Integer.getInteger(LazySmpEngine.THREADS_PROPERTY, Runtime.getRuntime().availableProcessors());
+        Engine engine;
+        if ("mcts".equals(System.getProperty(ENGINE_PROPERTY))){
+            engine = new MctsEngine(threads);
+        } else {
+            engine = new LazySmpEngine(threads,
+                    new TranspositionTable(Integer.getInteger(TranspositionTable.SIZE_PROPERTY, TranspositionTable.DEFAULT_SIZE_MB)));
+        }
+        if (book != null){
+            engine = new BookEngine(book, engine);
+        }
+        try {
+            List<Tablebase> tables = Tablebase.openAll(Path.of(System.getProperty(Tablebase.DIRECTORY_PROPERTY, Tablebase.DEFAULT_DIRECTORY)));
+            if (!tables.isEmpty()){
+                engine = new TablebaseEngine(tables, engine);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return engine;
+    }
+
+    /**
+     * Method to play the moves found by the engine for the computer player, then finish the turn if steps remain.
+     * Stops early if the game ends (e.g. a rabbit reaches its goal) or the turn already passed to the enemy.
+     *
+     * @param player Computer player the search was made for.
+     * @param result Result of the search.
+     */
+    private void playComputerTurn(Player player, SearchResult result){
+        for (int move : result.moves()){
+            if (game.getGameEnded() || game.getCurrentPlayer() != player){
+                return;
+            }
+            labeledBoardPanel.playMove(PackedMove.toMove(move));
+        }
+        if (!game.getGameEnded() && game.getCurrentPlayer() == player && game.getMovesLeftThisTurn() > 0){
+            finishedButton.doClick();
+        }
+    }
+
     /**
      * Implements onMovesLeft fired after each move (hides push/pull if not enough moves left)
      * @param movesLeft Number of moves left in the current turn.
@@ -397,6 +568,7 @@ public class GameControlsPanel extends JPanel implements GameListener {
      */
     @Override
     public void onGameEnded(Player winner){
+        stopPondering();
         gameClock.stopClock();
         labeledBoardPanel.setBoardMode(BoardMode.NONE);
         labeledBoardPanel.handleModeReset();
@@ -227,9 +227,12 @@ public class HistoryPanel extends JPanel {
                 labeledBoardPanel.removePieceAt(positionFrom);
             }
         } else {
-            // inverse: if we moved a piece, PREVIOUS button should move it from destination to start (in the opposition direction)
-            StepMove stepMove = shouldBeInverse ? new StepMove(positionTo, positionFrom) : new StepMove(positionFrom, positionTo);
-            labeledBoardPanel.movePiece(stepMove);
+            // inverse: if we moved a piece, PREVIOUS button unmakes it (steps are browsed in order, so it is always the last one made)
+            if (shouldBeInverse){
+                labeledBoardPanel.unmakeMove();
+            } else {
+                labeledBoardPanel.movePiece(new StepMove(positionFrom, positionTo));
+            }
         }
 
     }
@@ -96,6 +96,10 @@ class LabeledBoardPanel extends JPanel {
         boardPanel.movePiece(stepMove);
     }
 
+    public void unmakeMove(){
+        boardPanel.unmakeMove();
+    }
+
     public void setBoardMode(BoardMode boardMode){
         boardPanel.setBoardMode(boardMode);
     }
@@ -116,8 +120,12 @@ class LabeledBoardPanel extends JPanel {
         return boardPanel.getPositionsOfSquaresWithColor(color);
     }
 
-    public void clickOnRandomWhiteSquare(boolean preferTrap){
-        boardPanel.clickOnRandomWhiteSquare(preferTrap);
+    public void playMove(Move move){
+        boardPanel.playMove(move);
+    }
+
+    public void applySetup(Player player, byte[] setup){
+        boardPanel.applySetup(player, setup);
     }
 
 }
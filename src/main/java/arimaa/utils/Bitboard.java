@@ -0,0 +1,241 @@
+package arimaa.utils;
+
+import java.util.ArrayList;
+
+/**
+ * The Bitboard class holds constants and helpers for 64-bit board masks.
+ * Bit index = row * 8 + column, so bit 0 is a8 (top left) and bit 63 is h1 (bottom right).
+ */
+public final class Bitboard {
+    /**
+     * Constant: board width = height
+     */
+    public static final int SIZE = 8;
+    /**
+     * Constant: number of squares on the board
+     */
+    public static final int SQUARES = SIZE * SIZE;
+    /**
+     * Constant: mask of the leftmost column (a)
+     */
+    public static final long FILE_A = 0x0101010101010101L;
+    /**
+     * Constant: mask of the rightmost column (h)
+     */
+    public static final long FILE_H = FILE_A << 7;
+    /**
+     * Constant: mask of the four trap squares (c6, f6, c3, f3)
+     */
+    public static final long TRAPS = bit(2, 2) | bit(2, 5) | bit(5, 2) | bit(5, 5);
+    /**
+     * Constant: mask of the upper row (gold rabbit being in the row is a winning condition)
+     */
+    public static final long GOLD_GOAL = 0xFFL;
+    /**
+     * Constant: mask of the bottom row (silver rabbit being in the row is a winning condition)
+     */
+    public static final long SILVER_GOAL = 0xFFL << 56;
+    /**
+     * Constant: mask of the squares adjacent to a trap (pieces here protect the trap for their color)
+     */
+    public static final long TRAP_NEIGHBORS;
+    /**
+     * Constant: neighbour mask of every square, indexed by square
+     */
+    private static final long[] NEIGHBORS = new long[SQUARES];
+    /**
+     * Constant: squares a rabbit may step to (no backward step), indexed by [color][square]
+     */
+    private static final long[][] RABBIT_STEPS = new long[Color.values().length][SQUARES];
+
+    static {
+        for (int index = 0; index < SQUARES; index++) {
+            long bit = 1L << index;
+            NEIGHBORS[index] = north(bit) | south(bit) | east(bit) | west(bit);
+            RABBIT_STEPS[Color.GOLD.ordinal()][index] = NEIGHBORS[index] & ~south(bit);
+            RABBIT_STEPS[Color.SILVER.ordinal()][index] = NEIGHBORS[index] & ~north(bit);
+        }
+        TRAP_NEIGHBORS = neighbors(TRAPS);
+    }
+
+    /**
+     * Utility class, no instances.
+     */
+    private Bitboard() {
+    }
+
+    /**
+     * Method to get the bit index of a square.
+     *
+     * @param row The row of the square.
+     * @param column The column of the square.
+     * @return Bit index 0-63.
+     */
+    public static int index(int row, int column) {
+        return row * SIZE + column;
+    }
+
+    /**
+     * Method to get the bit index of a position.
+     *
+     * @param position The position on the board.
+     * @return Bit index 0-63.
+     */
+    public static int index(Position position) {
+        return index(position.row(), position.column());
+    }
+
+    /**
+     * Method to get the single-bit mask of a square.
+     *
+     * @param row The row of the square.
+     * @param column The column of the square.
+     * @return Mask with exactly one bit set.
+     */
+    public static long bit(int row, int column) {
+        return 1L << index(row, column);
+    }
+
+    /**
+     * Method to get the single-bit mask of a position.
+     *
+     * @param position The position on the board.
+     * @return Mask with exactly one bit set.
+     */
+    public static long bit(Position position) {
+        return 1L << index(position);
+    }
+
+    /**
+     * Method to convert a bit index back into a Position object.
+     *
+     * @param index Bit index 0-63.
+     * @return Position object of the square.
+     */
+    public static Position toPosition(int index) {
+        return Position.of(index);
+    }
+
+    /**
+     * Method to shift every square of the mask one row up (towards row 0, the gold goal).
+     *
+     * @param mask The mask to shift.
+     * @return The shifted mask.
+     */
+    public static long north(long mask) {
+        return mask >>> SIZE;
+    }
+
+    /**
+     * Method to shift every square of the mask one row down (towards row 7, the silver goal).
+     *
+     * @param mask The mask to shift.
+     * @return The shifted mask.
+     */
+    public static long south(long mask) {
+        return mask << SIZE;
+    }
+
+    /**
+     * Method to shift every square of the mask one column right; squares on the h column fall off.
+     *
+     * @param mask The mask to shift.
+     * @return The shifted mask.
+     */
+    public static long east(long mask) {
+        return (mask & ~FILE_H) << 1;
+    }
+
+    /**
+     * Method to shift every square of the mask one column left; squares on the a column fall off.
+     *
+     * @param mask The mask to shift.
+     * @return The shifted mask.
+     */
+    public static long west(long mask) {
+        return (mask & ~FILE_A) >>> 1;
+    }
+
+    /**
+     * Method to get all squares orthogonally adjacent to any square of the mask.
+     *
+     * @param mask The mask whose neighbours are requested.
+     * @return Mask of the neighbouring squares.
+     */
+    public static long neighbors(long mask) {
+        return north(mask) | south(mask) | east(mask) | west(mask);
+    }
+
+    /**
+     * Gets the precomputed neighbour mask of a single square.
+     *
+     * @param index Square index 0-63.
+     * @return Mask of the orthogonally adjacent squares.
+     */
+    public static long neighborsOf(int index) {
+        return NEIGHBORS[index];
+    }
+
+    /**
+     * Gets the precomputed mask of squares a rabbit of the given color may step to from a square.
+     *
+     * @param color Color of the rabbit (gold heads north, silver heads south).
+     * @param index Square index 0-63.
+     * @return Mask of the adjacent squares except the backward one.
+     */
+    public static long rabbitStepsOf(Color color, int index) {
+        return RABBIT_STEPS[color.ordinal()][index];
+    }
+
+    /**
+     * Gets the goal row mask of a color.
+     *
+     * @param color Color of the player.
+     * @return Mask of the row the player's rabbits have to reach.
+     */
+    public static long goalRow(Color color) {
+        return color == Color.GOLD ? GOLD_GOAL : SILVER_GOAL;
+    }
+
+    /**
+     * Method to check whether a square is a trap.
+     *
+     * @param index Square index 0-63.
+     * @return Boolean value of the check.
+     */
+    public static boolean isTrap(int index) {
+        return (TRAPS & 1L << index) != 0;
+    }
+
+    /**
+     * Method to shift a mask one step in the given direction.
+     *
+     * @param mask The mask to shift.
+     * @param direction The direction of the shift (NONE returns the mask unchanged).
+     * @return The shifted mask.
+     */
+    public static long shift(long mask, Direction direction) {
+        return switch (direction) {
+            case NORTH -> north(mask);
+            case SOUTH -> south(mask);
+            case EAST -> east(mask);
+            case WEST -> west(mask);
+            case NONE -> mask;
+        };
+    }
+
+    /**
+     * Method to list the positions of all squares set in the mask (in row-major order).
+     *
+     * @param mask The mask to convert.
+     * @return ArrayList<Position> of the set squares.
+     */
+    public static ArrayList<Position> toPositions(long mask) {
+        ArrayList<Position> positions = new ArrayList<>(Long.bitCount(mask));
+        while (mask != 0) {
+            positions.add(toPosition(Long.numberOfTrailingZeros(mask)));
+            mask &= mask - 1;
+        }
+        return positions;
+    }
+}
@@ -1,6 +1,6 @@
 package arimaa.utils;
 
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The Direction enum represents the four possible directions a piece can move in Arimaa.
@@ -12,6 +12,11 @@ public enum Direction {
     WEST(0, -1, "w"),
     NONE(0, 0, "x");
 
+    /**
+     * Constant: the four real directions in the order north, west, south, east (shared, immutable)
+     */
+    private static final List<Direction> FOUR_DIRECTIONS = List.of(NORTH, WEST, SOUTH, EAST);
+
     private final int dRow;
     private final int dColumn;
     private final String notation;
@@ -87,19 +92,14 @@ public enum Direction {
     }
 
     /**
-     * Method to get four directions as an array list.
+     * Method to get the four directions as a list.
      * Needed since Direction.values() is not applicable in my use case.
      *
-     * @return ArrayList<Direction> of directions.
+     * @return Shared immutable List<Direction> of directions.
      */
-    public static ArrayList<Direction> getFourDirections() {
-        ArrayList<Direction> arrayList = new ArrayList<>();
-        arrayList.add(NORTH);
-        arrayList.add(WEST);
-        arrayList.add(SOUTH);
-        arrayList.add(EAST);
-        return arrayList;
-    };
+    public static List<Direction> getFourDirections() {
+        return FOUR_DIRECTIONS;
+    }
 
 
 }
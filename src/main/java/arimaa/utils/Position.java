@@ -1,15 +1,72 @@
 package arimaa.utils;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The Position record represents a position on the Arimaa game board.
+ * The 64 on-board positions are interned (see {@link #of(int, int)}), so rule queries do not allocate them.
  *
  * @param row The row of the position.
  * @param column The column of the position.
  */
 public record Position(int row, int column) {
 
+    /**
+     * Constant: the 64 interned on-board positions, indexed by row * 8 + column
+     */
+    private static final Position[] POSITIONS = new Position[Bitboard.SQUARES];
+    /**
+     * Constant: interned adjacent position of every square in every direction (null if off the board), indexed by [square][direction]
+     */
+    private static final Position[][] ADJACENT = new Position[Bitboard.SQUARES][Direction.values().length];
+
+    static {
+        for (int index = 0; index < Bitboard.SQUARES; index++) {
+            POSITIONS[index] = new Position(index / Bitboard.SIZE, index % Bitboard.SIZE);
+        }
+        for (int index = 0; index < Bitboard.SQUARES; index++) {
+            for (Direction direction : Direction.values()) {
+                int newRow = index / Bitboard.SIZE + direction.getDRow();
+                int newColumn = index % Bitboard.SIZE + direction.getDColumn();
+                ADJACENT[index][direction.ordinal()] = of(newRow, newColumn);
+            }
+        }
+    }
+
+    /**
+     * Gets the interned position of a square.
+     *
+     * @param index Square index (row * 8 + column), 0-63.
+     * @return The shared Position object.
+     */
+    public static Position of(int index) {
+        return POSITIONS[index];
+    }
+
+    /**
+     * Gets the interned position for the given coordinates.
+     *
+     * @param row The row of the position.
+     * @param column The column of the position.
+     * @return The shared Position object, or null if the coordinates are outside the board.
+     */
+    public static Position of(int row, int column) {
+        if (row < 0 || row >= Bitboard.SIZE || column < 0 || column >= Bitboard.SIZE) {
+            return null;
+        }
+        return POSITIONS[row * Bitboard.SIZE + column];
+    }
+
+    /**
+     * Gets the square index of the position (row * 8 + column).
+     *
+     * @return The square index.
+     */
+    public int index() {
+        return row * Bitboard.SIZE + column;
+    }
+
     /**
      * Gets the row number of the position.
      *
@@ -34,36 +91,38 @@ public record Position(int row, int column) {
      * Constant for the trap positions (any piece being here without a friendly adjacent piece shall be removed)
      */
     public static final Position[] TRAP_POSITIONS = new Position[]{
-            new Position(2, 2),
-            new Position(2, 5),
-            new Position(5, 2),
-            new Position(5, 5)
+            of(2, 2),
+            of(2, 5),
+            of(5, 2),
+            of(5, 5)
     };
 
     /**
      * Constant for the upper row (gold rabbit being in the row is a winning condition)
      */
     public static final Position[] GOLD_GOAL_ROW = new Position[]{
-            new Position(0, 0),
-            new Position(0, 1),
-            new Position(0, 2),
-            new Position(0, 4),
-            new Position(0, 5),
-            new Position(0, 6),
-            new Position(0, 7)
+            of(0, 0),
+            of(0, 1),
+            of(0, 2),
+            of(0, 3),
+            of(0, 4),
+            of(0, 5),
+            of(0, 6),
+            of(0, 7)
     };
 
     /**
      * Constant for the bottom row (silver rabbit being in the row is a winning condition)
      */
     public static final Position[] SILVER_GOAL_ROW = new Position[]{
-            new Position(7, 0),
-            new Position(7, 1),
-            new Position(7, 2),
-            new Position(7, 4),
-            new Position(7, 5),
-            new Position(7, 6),
-            new Position(7, 7)
+            of(7, 0),
+            of(7, 1),
+            of(7, 2),
+            of(7, 3),
+            of(7, 4),
+            of(7, 5),
+            of(7, 6),
+            of(7, 7)
     };
 
     /**
@@ -73,7 +132,8 @@ public record Position(int row, int column) {
      * @return The position after the move.
      */
     public Position move(Direction direction) {
-        return new Position(row + direction.getDRow(), column + direction.getDColumn());
+        Position position = of(row + direction.getDRow(), column + direction.getDColumn());
+        return position != null ? position : new Position(row + direction.getDRow(), column + direction.getDColumn());
     }
 
     /**
@@ -111,7 +171,7 @@ public record Position(int row, int column) {
             default -> 0;
         };
 
-        return new Position(rowInt, columnInt);
+        return of(rowInt, columnInt);
     }
 
     /**
@@ -122,14 +182,10 @@ public record Position(int row, int column) {
      * @return The adjacent position in the specified direction, or null if the position is outside the board boundaries.
      */
     public Position getAdjacentPosition(Direction direction) {
-        int newRow = this.row + direction.getDRow();
-        int newColumn = this.column + direction.getDColumn();
-
-        if (newRow >= 0 && newRow < 8 && newColumn >= 0 && newColumn < 8) {
-            return new Position(newRow, newColumn);
+        if (row < 0 || row >= Bitboard.SIZE || column < 0 || column >= Bitboard.SIZE) {
+            return null;
         }
-
-        return null;
+        return ADJACENT[index()][direction.ordinal()];
     }
 
     /**
@@ -138,8 +194,8 @@ public record Position(int row, int column) {
      * @param directionArrayList List of directions in which we want to get positions.
      * @return List of valid positions.
      */
-    public ArrayList<Position> getAdjacentPositions(ArrayList<Direction> directionArrayList) {
-        ArrayList<Position> positionsArrayList = new ArrayList<>();
+    public ArrayList<Position> getAdjacentPositions(List<Direction> directionArrayList) {
+        ArrayList<Position> positionsArrayList = new ArrayList<>(directionArrayList.size());
         for (Direction direction : directionArrayList) {
             Position adjacentPosition = getAdjacentPosition(direction);
             if (adjacentPosition != null) {
@@ -218,12 +274,7 @@ public record Position(int row, int column) {
      * @return A boolean value indicating whether the position is a trap position.
      */
     public boolean isTrapPosition() {
-        for (Position trapPosition : TRAP_POSITIONS) {
-            if (this.equals(trapPosition)) {
-                return true;
-            }
-        }
-        return false;
+        return of(row, column) != null && (Bitboard.TRAPS & 1L << index()) != 0;
     }
 
 
@@ -1,6 +1,9 @@
 import arimaa.core.Board;
+import arimaa.core.Game;
 import arimaa.core.Player;
+import arimaa.core.PullMove;
 import arimaa.core.StepMove;
+import arimaa.utils.Color;
 import arimaa.utils.Direction;
 import arimaa.utils.Position;
 import org.junit.jupiter.api.Assertions;
@@ -253,4 +256,108 @@ public class ArimaaRulesTest {
         expectedPositions.add(new Position(6,2));
         Assertions.assertEquals(expectedPositions, new HashSet<>(board.getPositionsOfPossiblePushingPieces(silverDogPosition)));
     }
+
+    /**
+     * TEST7: TRAP CAPTURE | This test evaluates that the board itself removes unprotected pieces from traps and can undo it
+     */
+    @Test
+    public void trapCaptureTest(){
+        String[][] testBoard = new String[][]{
+                {"", "", "", "", "", "", "", ""},
+                {"", "", "", "", "", "", "", ""},
+                {"", "", "", "", "", "", "", ""},
+                {"", "", "", "", "", "", "", ""},
+                {"", "", "", "", "", "", "", ""},
+                {"", "", "C", "", "", "", "", ""},
+                {"", "", "R", "", "", "", "", ""},
+                {"", "", "", "", "", "", "", ""}
+        };
+        board.populateBoardFrom2DString(testBoard, player1, player2);
+        Position goldenCatPosition = new Position(5, 2);
+        Position goldenRabbitPosition = new Position(6, 2);
+        // The rabbit leaves the only square protecting the cat on the trap, so the cat is captured
+        board.makeMove(new StepMove(goldenRabbitPosition, new Position(6, 3)));
+        Assertions.assertTrue(board.isPositionEmpty(goldenCatPosition));
+        Assertions.assertEquals(1, board.getCaptureCount());
+        Assertions.assertEquals(goldenCatPosition.index(), board.getCapturedSquare(0));
+        // Unmaking the step puts the captured cat back as well
+        board.unmakeMove();
+        Assertions.assertFalse(board.isPositionEmpty(goldenCatPosition));
+        Assertions.assertFalse(board.isPositionEmpty(goldenRabbitPosition));
+    }
+
+    /**
+     * TEST8: RABBIT COUNTERS | This test evaluates that the rabbit and goal rabbit counters follow captures, goal steps and unmaking
+     */
+    @Test
+    public void rabbitCountersTest(){
+        String[][] testBoard = new String[][]{
+                {"", "", "", "", "", "", "", ""},
+                {"R", "", "", "", "", "", "", ""},
+                {"", "", "", "", "", "", "", ""},
+                {"", "", "", "", "", "", "", ""},
+                {"", "", "", "", "", "", "", ""},
+                {"", "", "r", "", "", "", "", ""},
+                {"", "", "r", "E", "", "", "", ""},
+                {"", "", "", "", "", "", "", ""}
+        };
+        board.populateBoardFrom2DString(testBoard, player1, player2);
+        Assertions.assertEquals(2, board.getRabbitCount(Color.SILVER));
+        // The elephant pulls the rabbit protecting the other one on the trap, which is captured
+        board.makeMove(new PullMove(new Position(6, 3), new Position(7, 3), new Position(6, 2), new Position(6, 3)));
+        Assertions.assertEquals(1, board.getCaptureCount());
+        Assertions.assertEquals(1, board.getRabbitCount(Color.SILVER));
+        // The golden rabbit reaches its goal row
+        board.makeMove(new StepMove(new Position(1, 0), new Position(0, 0)));
+        Assertions.assertEquals(1, board.getGoalRabbitCount(Color.GOLD));
+        Assertions.assertEquals(0, board.getGoalRabbitCount(Color.SILVER));
+        Assertions.assertTrue(board.hasWonByGoalOrElimination(Color.GOLD, Color.SILVER));
+        // Unmaking both moves restores both counters
+        board.unmakeMove();
+        Assertions.assertEquals(0, board.getGoalRabbitCount(Color.GOLD));
+        board.unmakeMove();
+        Assertions.assertEquals(2, board.getRabbitCount(Color.SILVER));
+        Assertions.assertEquals(1, board.getRabbitCount(Color.GOLD));
+        // Removing the last silver rabbit eliminates silver
+        board.removePieceAt(new Position(5, 2));
+        board.removePieceAt(new Position(6, 2));
+        Assertions.assertEquals(0, board.getRabbitCount(Color.SILVER));
+        Assertions.assertTrue(board.hasWonByGoalOrElimination(Color.GOLD, Color.SILVER));
+    }
+
+    /**
+     * TEST9: IMMOBILIZATION | This test evaluates that immobilization is only detected when the turn ends
+     */
+    @Test
+    public void immobilizationTest(){
+        String[][] testBoard = new String[][]{
+                {"", "", "", "", "", "", "", ""},
+                {"", "", "", "", "", "", "", ""},
+                {"", "", "", "", "", "", "", ""},
+                {"", "", "", "r", "", "E", "", ""},
+                {"", "", "", "", "", "", "", ""},
+                {"", "", "", "", "", "", "", ""},
+                {"", "", "", "", "", "", "", "R"},
+                {"", "", "", "", "", "", "", ""}
+        };
+        Game game = new Game(player1, player2);
+        game.getBoard().populateBoardFrom2DString(testBoard, player1, player2);
+        game.setGamePhase(3);
+        // The elephant freezes the lone rabbit, then steps away again: the turn ends with silver mobile
+        game.getBoard().makeMove(new StepMove(new Position(3, 5), new Position(3, 4)));
+        Assertions.assertTrue(game.getBoard().isImmobilized(Color.SILVER));
+        game.checkWinning();
+        Assertions.assertFalse(game.getGameEnded());
+        game.getBoard().makeMove(new StepMove(new Position(3, 4), new Position(2, 4)));
+        game.incrementPhase();
+        Assertions.assertFalse(game.getGameEnded());
+        Assertions.assertEquals(4, game.getGamePhase());
+        // Silver passes, then gold ends its turn next to the rabbit, immobilizing silver
+        game.incrementPhase();
+        game.getBoard().makeMove(new StepMove(new Position(2, 4), new Position(2, 3)));
+        game.incrementPhase();
+        Assertions.assertTrue(game.getGameEnded());
+        Assertions.assertEquals(player1, game.getWinner());
+        Assertions.assertEquals(5, game.getGamePhase());
+    }
 }
@@ -0,0 +1,368 @@
+import arimaa.core.Board;
+import arimaa.core.Game;
+import arimaa.core.MoveList;
+import arimaa.core.PackedMove;
+import arimaa.core.Piece;
+import arimaa.core.Player;
+import arimaa.core.TurnGenerator;
+import arimaa.core.Zobrist;
+import arimaa.utils.Bitboard;
+import arimaa.utils.Color;
+import arimaa.utils.PieceType;
+import arimaa.utils.Position;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * The BoardTest class checks the state the board maintains incrementally against the same state computed from scratch,
+ * over positions of random games.
+ */
+public class BoardTest {
+
+    /**
+     * Seed of the random games, so that failures can be reproduced
+     */
+    private static final long SEED = 20240613L;
+    /**
+     * Number of random games played by each test
+     */
+    private static final int GAMES = 40;
+    /**
+     * Number of moves of each random game
+     */
+    private static final int MOVES = 200;
+
+    /**
+     * Position where the gold elephant on e6 can push the silver cat on d6 into the trap on c6 (the gold rabbit on b6
+     * does not protect it), which leaves the silver dog on d7 frozen without a friend
+     */
+    private static final String[][] TRAP_BOARD = new String[][]{
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "d", "", "", "", ""},
+            {"", "R", "", "c", "E", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", "r"},
+            {"", "", "", "", "", "", "", "R"}
+    };
+
+    /**
+     * Board the random games are played on
+     */
+    private Board board;
+    /**
+     * First golden player
+     */
+    private Player player1;
+    /**
+     * Second silver player
+     */
+    private Player player2;
+
+    /**
+     * The testSetUp Method initializes testing environment
+     */
+    @BeforeEach
+    public void testSetUp(){
+        board = new Board();
+        player1 = new Player(1, false);
+        player2 = new Player(2, false);
+    }
+
+    /**
+     * TEST1: MOBILITY | The moves generated from the Mobility analysis are those of the direct generators, in the same order
+     */
+    @Test
+    public void mobilityMovesTest(){
+        MoveList direct = new MoveList();
+        MoveList moves = new MoveList();
+        playRandomGames((color, stepsLeft) -> {
+            direct.clear();
+            board.generateStepMoves(color, direct);
+            if (stepsLeft >= 2){
+                board.generatePushMoves(color, direct);
+                board.generatePullMoves(color, direct);
+            }
+            board.generateMoves(color, stepsLeft, moves);
+            Assertions.assertEquals(direct.size(), moves.size());
+            for (int i = 0; i < moves.size(); i++){
+                Assertions.assertEquals(direct.get(i), moves.get(i));
+            }
+        });
+    }
+
+    /**
+     * TEST2: MAKE AND UNMAKE | Random sequences of steps, pushes and pulls, trap captures included, are unmade back to
+     * the same squares, key and captured pieces
+     */
+    @Test
+    public void makeUnmakeTest(){
+        Random random = new Random(SEED + 1);
+        MoveList moves = new MoveList();
+        int[] kinds = new int[3];
+        int[] captures = new int[1];
+        playRandomGames((color, stepsLeft) -> {
+            byte[] codes = codesOf(board);
+            long key = board.getZobristKey();
+            int depth = board.getUndoDepth();
+            int made = 0;
+            for (int i = random.nextInt(2 * TurnGenerator.MAX_STEPS); i >= 0; i--){
+                board.generateMoves(made % 2 == 0 ? color : color == Color.GOLD ? Color.SILVER : Color.GOLD, 2, moves);
+                if (moves.isEmpty()) break;
+                int move = moves.get(random.nextInt(moves.size()));
+                byte[] before = codesOf(board);
+                board.makeMove(move);
+                made++;
+                kinds[PackedMove.kind(move)]++;
+                // every captured piece left its trap empty and is missing from the board
+                int[] missing = new int[Piece.CODES];
+                for (int index = 0; index < Bitboard.SQUARES; index++){
+                    missing[before[index]]++;
+                    missing[board.getCodeAt(index)]--;
+                }
+                for (int capture = 0; capture < board.getCaptureCount(); capture++){
+                    Assertions.assertEquals(Piece.EMPTY, board.getCodeAt(board.getCapturedSquare(capture)));
+                    missing[board.getCapturedPiece(capture).code()]--;
+                    captures[0]++;
+                }
+                for (int code = 1; code < Piece.CODES; code++){
+                    Assertions.assertEquals(0, missing[code]);
+                }
+            }
+            for (int i = 0; i < made; i++){
+                board.unmakeMove();
+            }
+            Assertions.assertEquals(depth, board.getUndoDepth());
+            Assertions.assertArrayEquals(codes, codesOf(board));
+            Assertions.assertEquals(key, board.getZobristKey());
+        });
+        Assertions.assertTrue(kinds[PackedMove.STEP] > 0 && kinds[PackedMove.PUSH] > 0 && kinds[PackedMove.PULL] > 0);
+        Assertions.assertTrue(captures[0] > 0);
+        board.clearUndoHistory();
+        Assertions.assertThrows(IllegalStateException.class, () -> board.unmakeMove());
+    }
+
+    /**
+     * TEST3: ZOBRIST KEY | The incremental key equals the key computed from scratch after placing, removing, switching
+     * and moving pieces, and the side to move and the steps left change it
+     */
+    @Test
+    public void zobristKeyTest(){
+        playRandomGames((color, stepsLeft) -> Assertions.assertEquals(zobristKeyOf(board), board.getZobristKey()));
+        board.populateBoardFrom2DString(Game.DEFAULT_BOARD, player1, player2);
+        Position elephant = Position.of(6, 0);
+        Position cat = Position.of(6, 6);
+        board.switchPieces(elephant, cat);
+        Assertions.assertEquals(zobristKeyOf(board), board.getZobristKey());
+        board.removePieceAt(elephant);
+        Assertions.assertEquals(zobristKeyOf(board), board.getZobristKey());
+        board.placePiece(Piece.of(Color.SILVER, PieceType.ELEPHANT), Position.of(4, 4));
+        Assertions.assertEquals(zobristKeyOf(board), board.getZobristKey());
+        board.setTurnState(Color.GOLD, TurnGenerator.MAX_STEPS);
+        long positionKey = board.getPositionKey();
+        long key = board.getZobristKey();
+        board.setTurnState(Color.SILVER, TurnGenerator.MAX_STEPS);
+        Assertions.assertNotEquals(key, board.getZobristKey());
+        Assertions.assertEquals(zobristKeyOf(board), board.getZobristKey());
+        board.setTurnState(Color.GOLD, 3);
+        Assertions.assertNotEquals(key, board.getZobristKey());
+        Assertions.assertEquals(zobristKeyOf(board), board.getZobristKey());
+        Assertions.assertEquals(positionKey, board.getPositionKey());
+    }
+
+    /**
+     * TEST4: FREEZING MASKS | The frozen and friendly-neighbour masks equal masks computed from scratch after every move
+     * of random positions and after unmaking it, captures and pushes next to traps included
+     */
+    @Test
+    public void freezingMasksTest(){
+        MoveList moves = new MoveList();
+        int[] captures = new int[1];
+        playRandomGames((color, stepsLeft) -> {
+            assertMasks();
+            board.generateMoves(color, 2, moves);
+            for (int i = 0; i < moves.size(); i++){
+                board.makeMove(moves.get(i));
+                captures[0] += board.getCaptureCount();
+                assertMasks();
+                board.unmakeMove();
+                assertMasks();
+            }
+        });
+        Assertions.assertTrue(captures[0] > 0);
+        board.populateBoardFrom2DString(TRAP_BOARD, player1, player2);
+        assertMasks();
+        board.makeMove(PackedMove.push(Bitboard.index(2, 4), Bitboard.index(2, 3), Bitboard.index(2, 2)));
+        Assertions.assertEquals(1, board.getCaptureCount());
+        Assertions.assertEquals(1L << Bitboard.index(1, 3), board.getFrozenBitboard(Color.SILVER));
+        assertMasks();
+        board.unmakeMove();
+        assertMasks();
+    }
+
+    /**
+     * TEST5: PIECE LISTS | The piece lists hold exactly the pieces of each color after placing, removing, switching,
+     * making and unmaking, and the mask-based candidate queries agree with the checks of single squares
+     */
+    @Test
+    public void pieceListsTest(){
+        MoveList moves = new MoveList();
+        playRandomGames((color, stepsLeft) -> {
+            assertPieceLists();
+            assertCandidates();
+            board.generateMoves(color, 2, moves);
+            if (moves.isEmpty()) return;
+            board.makeMove(moves.get(moves.size() / 2));
+            assertPieceLists();
+            board.unmakeMove();
+            assertPieceLists();
+        });
+        board.populateBoardFrom2DString(Game.DEFAULT_BOARD, player1, player2);
+        board.switchPieces(Position.of(6, 0), Position.of(7, 7));
+        assertPieceLists();
+        board.removePieceAt(Position.of(1, 0));
+        assertPieceLists();
+        board.placePiece(Piece.of(Color.SILVER, PieceType.ELEPHANT), Position.of(4, 4));
+        board.placePiece(Piece.of(Color.GOLD, PieceType.CAT), Position.of(4, 4));
+        assertPieceLists();
+        Assertions.assertEquals(17, board.getPieceCount(Color.GOLD));
+        Assertions.assertEquals(15, board.getPieceCount(Color.SILVER));
+        assertCandidates();
+    }
+
+    /**
+     * Method to check that the piece list of each color holds exactly the squares of its pieces.
+     */
+    private void assertPieceLists(){
+        for (Color color : Color.values()){
+            long squares = 0L;
+            for (int i = 0; i < board.getPieceCount(color); i++){
+                long bit = 1L << board.getPieceSquare(color, i);
+                Assertions.assertEquals(0L, squares & bit);
+                squares |= bit;
+            }
+            Assertions.assertEquals(board.getColorBitboard(color), squares);
+        }
+    }
+
+    /**
+     * Method to check the mask-based candidate queries of both players against the checks of their single squares.
+     */
+    private void assertCandidates(){
+        for (Player player : new Player[]{player1, player2}){
+            Player enemy = player == player1 ? player2 : player1;
+            Set<Position> stepMovers = new HashSet<>();
+            Set<Position> movable = new HashSet<>();
+            Set<Position> pullable = new HashSet<>();
+            Set<Position> pushable = new HashSet<>();
+            for (int index = 0; index < Bitboard.SQUARES; index++){
+                Piece piece = Piece.fromCode(board.getCodeAt(index));
+                Position position = Position.of(index);
+                if (piece == null) continue;
+                if (piece.color() == player.getColor()){
+                    if (board.canStepMove(position)) stepMovers.add(position);
+                    if (board.canBeMoved(position)) movable.add(position);
+                } else {
+                    if (board.canBePulled(position)) pullable.add(position);
+                    if (board.canBePushed(position)) pushable.add(position);
+                }
+            }
+            Assertions.assertEquals(stepMovers, new HashSet<>(board.getPositionsOfPlayersPiecesWhichCanStepMove(player)));
+            Assertions.assertEquals(movable, new HashSet<>(board.getPositionsOfPlayersPiecesWhichCanBeMoved(player)));
+            Assertions.assertEquals(pullable, new HashSet<>(board.getPositionsOfEnemyPiecesWhichCanBePulled(player, enemy)));
+            Assertions.assertEquals(pushable, new HashSet<>(board.getPositionsOfEnemyPiecesThatCanBePushed(player, enemy)));
+        }
+    }
+
+    /**
+     * Method to check the frozen and friendly-neighbour masks of both colors against masks computed from the squares.
+     */
+    private void assertMasks(){
+        for (Color color : Color.values()){
+            long friendlyNeighbors = 0L;
+            long frozen = 0L;
+            for (int index = 0; index < Bitboard.SQUARES; index++){
+                boolean friendly = false;
+                boolean strongerEnemy = false;
+                Piece piece = Piece.fromCode(board.getCodeAt(index));
+                for (long neighbors = Bitboard.neighborsOf(index); neighbors != 0; neighbors &= neighbors - 1){
+                    Piece neighbor = Piece.fromCode(board.getCodeAt(Long.numberOfTrailingZeros(neighbors)));
+                    if (neighbor == null) continue;
+                    friendly |= neighbor.color() == color;
+                    strongerEnemy |= piece != null && neighbor.color() != color && neighbor.type().isStrongerThan(piece.type());
+                }
+                if (friendly) friendlyNeighbors |= 1L << index;
+                if (piece != null && piece.color() == color && !friendly && strongerEnemy) frozen |= 1L << index;
+            }
+            Assertions.assertEquals(friendlyNeighbors, board.getFriendlyNeighborBitboard(color));
+            Assertions.assertEquals(frozen, board.getFrozenBitboard(color));
+        }
+    }
+
+    /**
+     * Method to play random games from the default position, checking every position before a move is made.
+     * A player passes the rest of its turn at random, or when it has no move.
+     *
+     * @param check Check of the position, given the color to move and the steps left.
+     */
+    private void playRandomGames(BiConsumer<Color, Integer> check){
+        Random random = new Random(SEED);
+        MoveList moves = new MoveList();
+        for (int game = 0; game < GAMES; game++){
+            board.populateBoardFrom2DString(Game.DEFAULT_BOARD, player1, player2);
+            Color color = Color.GOLD;
+            int stepsLeft = TurnGenerator.MAX_STEPS;
+            for (int i = 0; i < MOVES; i++){
+                board.setTurnState(color, stepsLeft);
+                check.accept(color, stepsLeft);
+                board.generateMoves(color, stepsLeft, moves);
+                if (!moves.isEmpty()){
+                    int move = moves.get(random.nextInt(moves.size()));
+                    board.makeMove(move);
+                    stepsLeft -= PackedMove.stepCost(move);
+                }
+                if (moves.isEmpty() || stepsLeft == 0 || random.nextInt(TurnGenerator.MAX_STEPS) == 0){
+                    color = color == Color.GOLD ? Color.SILVER : Color.GOLD;
+                    stepsLeft = TurnGenerator.MAX_STEPS;
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to compute the Zobrist key of a board from scratch.
+     *
+     * @param board Board object.
+     * @return The key of its pieces, side to move and steps left.
+     */
+    private static long zobristKeyOf(Board board){
+        long key = Zobrist.turnKey(board.getSideToMove(), board.getStepsLeft());
+        for (int index = 0; index < Bitboard.SQUARES; index++){
+            if (board.getCodeAt(index) != Piece.EMPTY){
+                key ^= Zobrist.pieceKey(board.getCodeAt(index), index);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Method to copy the piece codes of all squares of a board.
+     *
+     * @param board Board object.
+     * @return Piece code of every square, indexed row * 8 + column.
+     */
+    private static byte[] codesOf(Board board){
+        byte[] codes = new byte[Bitboard.SQUARES];
+        for (int index = 0; index < Bitboard.SQUARES; index++){
+            codes[index] = board.getCodeAt(index);
+        }
+        return codes;
+    }
+}
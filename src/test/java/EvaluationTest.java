@@ -0,0 +1,82 @@
+import arimaa.core.Board;
+import arimaa.core.Game;
+import arimaa.core.MoveList;
+import arimaa.core.Player;
+import arimaa.engine.Evaluation;
+import arimaa.utils.Color;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * The EvaluationTest class checks that the incrementally updated evaluation matches one built from scratch.
+ */
+public class EvaluationTest {
+
+    /**
+     * Board with the default initial position
+     */
+    private Board board;
+
+    /**
+     * The testSetUp Method initializes testing environment
+     */
+    @BeforeEach
+    public void testSetUp(){
+        board = new Board();
+        board.populateBoardFrom2DString(Game.DEFAULT_BOARD, new Player(1, false), new Player(2, false));
+    }
+
+    /**
+     * TEST1: SYMMETRY | The symmetric initial position is even, and the score of one side is minus the other's;
+     * a board is listened to by one evaluation at a time
+     */
+    @Test
+    public void symmetryTest(){
+        Evaluation evaluation = Evaluation.attach(board);
+        Assertions.assertEquals(0, evaluation.evaluate(Color.GOLD));
+        Assertions.assertEquals(0, evaluation.evaluate(Color.SILVER));
+        Assertions.assertThrows(IllegalStateException.class, () -> Evaluation.attach(board));
+        evaluation.detach();
+        Evaluation.attach(board).detach();
+    }
+
+    /**
+     * TEST2: INCREMENTAL | Along random games (with captures) and while unmaking them, the running evaluation
+     * always equals a fresh one
+     */
+    @Test
+    public void incrementalUpdateTest(){
+        Random random = new Random(11);
+        MoveList moves = new MoveList();
+        Evaluation evaluation = Evaluation.attach(board);
+        for (int game = 0; game < 20; game++){
+            Color color = Color.GOLD;
+            int made = 0;
+            for (int step = 0; step < 120; step++){
+                board.generateMoves(color, 2, moves);
+                if (moves.isEmpty()) break;
+                board.makeMove(moves.get(random.nextInt(moves.size())));
+                made++;
+                assertMatchesFreshEvaluation(evaluation);
+                if (step % 3 == 2) color = color == Color.GOLD ? Color.SILVER : Color.GOLD;
+            }
+            for (; made > 0; made--){
+                board.unmakeMove();
+                assertMatchesFreshEvaluation(evaluation);
+            }
+        }
+    }
+
+    /**
+     * Method to compare the running evaluation with one built from the current position.
+     *
+     * @param evaluation Evaluation listening to the board.
+     */
+    private void assertMatchesFreshEvaluation(Evaluation evaluation){
+        int expected = Evaluation.attach(new Board(board)).evaluate(Color.GOLD);
+        Assertions.assertEquals(expected, evaluation.evaluate(Color.GOLD));
+    }
+}
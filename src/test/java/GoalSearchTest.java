@@ -0,0 +1,82 @@
+import arimaa.core.Board;
+import arimaa.core.Player;
+import arimaa.engine.GoalSearch;
+import arimaa.utils.Color;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The GoalSearchTest class checks that the goal detector finds the fewest steps to a goal and its bound never overestimates.
+ */
+public class GoalSearchTest {
+
+    /**
+     * Position where the gold rabbit on c3 reaches the goal in two steps (c2, c1)
+     */
+    private static final String[][] OPEN_BOARD = new String[][]{
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", "r"},
+            {"", "", "R", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"e", "", "", "", "", "", "", "E"}
+    };
+
+    /**
+     * Position where the gold rabbit on c2 is blocked by a cat and its own dogs, so the goal takes three steps
+     * (the elephant pulling the cat away, or a dog stepping aside)
+     */
+    private static final String[][] BLOCKED_BOARD = new String[][]{
+            {"", "", "c", "E", "", "", "", ""},
+            {"", "D", "R", "D", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"e", "", "", "", "", "", "", ""}
+    };
+
+    /**
+     * Board the positions are loaded into
+     */
+    private Board board;
+
+    /**
+     * The testSetUp Method initializes testing environment
+     */
+    @BeforeEach
+    public void testSetUp(){
+        board = new Board();
+    }
+
+    /**
+     * TEST1: OPEN PATH | A free rabbit needs exactly its distance to the goal, and the board is left unchanged
+     */
+    @Test
+    public void openPathTest(){
+        board.populateBoardFrom2DString(OPEN_BOARD, new Player(1, false), new Player(2, false));
+        long key = board.getZobristKey();
+        GoalSearch goalSearch = new GoalSearch(board);
+        Assertions.assertEquals(2, GoalSearch.lowerBound(board, Color.GOLD));
+        Assertions.assertEquals(2, goalSearch.goalSteps(Color.GOLD, 4));
+        Assertions.assertEquals(GoalSearch.NONE, goalSearch.goalSteps(Color.GOLD, 1));
+        Assertions.assertFalse(goalSearch.canReachGoal(Color.SILVER, 4));
+        Assertions.assertEquals(key, board.getZobristKey());
+    }
+
+    /**
+     * TEST2: BLOCKED PATH | Clearing the path costs steps: the bound stays below the proven result
+     */
+    @Test
+    public void blockedPathTest(){
+        board.populateBoardFrom2DString(BLOCKED_BOARD, new Player(1, false), new Player(2, false));
+        GoalSearch goalSearch = new GoalSearch(board);
+        Assertions.assertTrue(GoalSearch.lowerBound(board, Color.GOLD) <= 3);
+        Assertions.assertEquals(3, goalSearch.goalSteps(Color.GOLD, 4));
+        Assertions.assertFalse(goalSearch.canReachGoal(Color.GOLD, 2));
+    }
+}
@@ -0,0 +1,63 @@
+import arimaa.core.Board;
+import arimaa.core.MoveList;
+import arimaa.core.PackedMove;
+import arimaa.core.Player;
+import arimaa.engine.MoveOrderer;
+import arimaa.engine.TrapAnalysis;
+import arimaa.engine.TranspositionTable;
+import arimaa.utils.Bitboard;
+import arimaa.utils.Color;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The MoveOrdererTest class checks the order of the move classes: first move, captures, killers, history.
+ */
+public class MoveOrdererTest {
+
+    /**
+     * Position where the gold elephant on e3 can push the lone silver cat on d3 into the trap on c3
+     */
+    private static final String[][] CAPTURE_BOARD = new String[][]{
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", "r"},
+            {"", "", "", "c", "E", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"R", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""}
+    };
+
+    /**
+     * TEST1: ORDER | The first move leads, then the capture, then the killers, then the move with history
+     */
+    @Test
+    public void orderTest(){
+        Board board = new Board();
+        board.populateBoardFrom2DString(CAPTURE_BOARD, new Player(1, false), new Player(2, false));
+        MoveOrderer orderer = new MoveOrderer(8);
+        orderer.newSearch(board, new TrapAnalysis(board));
+        int first = PackedMove.step(Bitboard.index(6, 0), Bitboard.index(5, 0));
+        int capture = PackedMove.push(Bitboard.index(2, 4), Bitboard.index(2, 3), Bitboard.index(2, 2));
+        int killer = PackedMove.step(Bitboard.index(2, 4), Bitboard.index(3, 4));
+        int secondKiller = PackedMove.step(Bitboard.index(2, 4), Bitboard.index(1, 4));
+        int historyMove = PackedMove.step(Bitboard.index(2, 4), Bitboard.index(2, 5));
+        orderer.recordCutoff(killer, false, 1, 4);
+        orderer.recordCutoff(secondKiller, false, 1, 4);
+        // neither a capture nor a pass pushes a killer out of its slot
+        orderer.recordCutoff(capture, true, 1, 4);
+        orderer.recordCutoff(-1, false, 1, 4);
+        orderer.recordCutoff(historyMove, false, 2, 8);
+        MoveList moves = new MoveList();
+        board.generateMoves(Color.GOLD, 4, moves);
+        orderer.order(moves, 1, Color.GOLD, 4, first);
+        Assertions.assertEquals(first, moves.get(0));
+        Assertions.assertEquals(capture, moves.get(1));
+        Assertions.assertEquals(secondKiller, moves.get(2));
+        Assertions.assertEquals(killer, moves.get(3));
+        Assertions.assertEquals(historyMove, moves.get(4));
+        orderer.order(moves, 1, Color.GOLD, 4, TranspositionTable.NO_MOVE);
+        Assertions.assertEquals(capture, moves.get(0));
+    }
+}
@@ -0,0 +1,119 @@
+import arimaa.core.Board;
+import arimaa.core.Game;
+import arimaa.core.PackedMove;
+import arimaa.core.Player;
+import arimaa.engine.BookEngine;
+import arimaa.engine.OpeningBook;
+import arimaa.engine.OpeningBookBuilder;
+import arimaa.engine.SearchEngine;
+import arimaa.engine.SearchLimits;
+import arimaa.engine.SearchResult;
+import arimaa.engine.SetupOptimizer;
+import arimaa.utils.Bitboard;
+import arimaa.utils.Color;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The OpeningBookTest class checks that a written book is found again by binary search and played by the book engine,
+ * also in a game starting from the book's setups.
+ */
+public class OpeningBookTest {
+
+    /**
+     * Gold turn a2-a3, b2-b3 of the default position
+     */
+    private static final int[] RABBIT_TURN = {
+            PackedMove.step(Bitboard.index(6, 0), Bitboard.index(5, 0)),
+            PackedMove.step(Bitboard.index(6, 1), Bitboard.index(5, 1))
+    };
+    /**
+     * Gold turn moving the elephant e2-e3-e4-e5
+     */
+    private static final int[] ELEPHANT_TURN = {
+            PackedMove.step(Bitboard.index(6, 4), Bitboard.index(5, 4)),
+            PackedMove.step(Bitboard.index(5, 4), Bitboard.index(4, 4)),
+            PackedMove.step(Bitboard.index(4, 4), Bitboard.index(3, 4))
+    };
+
+    /**
+     * Directory the book file is written to
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Board with the default initial position
+     */
+    private Board board;
+
+    /**
+     * The testSetUp Method initializes testing environment
+     */
+    @BeforeEach
+    public void testSetUp(){
+        board = new Board();
+        board.populateBoardFrom2DString(Game.DEFAULT_BOARD, new Player(1, true), new Player(2, true));
+    }
+
+    /**
+     * TEST1: LOOKUP | All turns of a position are found among other keys, and the heaviest one is the best
+     */
+    @Test
+    public void lookupTest() throws IOException {
+        Path path = directory.resolve("book.bin");
+        long key = OpeningBook.key(board, Color.GOLD);
+        OpeningBook.write(path, List.of(
+                new OpeningBook.Entry(key + 1, RABBIT_TURN, 50),
+                new OpeningBook.Entry(key, RABBIT_TURN, 3),
+                new OpeningBook.Entry(key - 1, RABBIT_TURN, 50),
+                new OpeningBook.Entry(key, ELEPHANT_TURN, 7)));
+        OpeningBook book = OpeningBook.open(path);
+        Assertions.assertEquals(4, book.size());
+        Assertions.assertEquals(2, book.lookup(board, Color.GOLD).size());
+        Assertions.assertArrayEquals(ELEPHANT_TURN, book.bestTurn(board, Color.GOLD));
+        Assertions.assertNull(book.bestTurn(board, Color.SILVER));
+    }
+
+    /**
+     * TEST2: BOOK ENGINE | The book turn is played without search, positions outside the book are searched
+     */
+    @Test
+    public void bookEngineTest() throws IOException {
+        Path path = directory.resolve("book.bin");
+        OpeningBook.write(path, List.of(new OpeningBook.Entry(OpeningBook.key(board, Color.GOLD), RABBIT_TURN, 1)));
+        BookEngine engine = new BookEngine(OpeningBook.open(path), new SearchEngine());
+        SearchResult result = engine.search(board, Color.GOLD, 4, SearchLimits.ofDepth(2));
+        Assertions.assertArrayEquals(RABBIT_TURN, result.moves());
+        Assertions.assertEquals(0, result.nodes());
+        result = engine.search(board, Color.SILVER, 4, SearchLimits.ofDepth(2));
+        Assertions.assertTrue(result.nodes() > 0);
+    }
+
+    /**
+     * TEST3: BOOK SETUP | A game whose computer players take the book's setups, as in the GUI, is played from the book
+     */
+    @Test
+    public void bookSetupTest() throws IOException {
+        Path path = directory.resolve("book.bin");
+        OpeningBookBuilder.build(path, 1, 10, 2, 1, 200);
+        OpeningBook book = OpeningBook.open(path);
+        for (Color color : Color.values()) {
+            SetupOptimizer.applySetup(board, color, book.setup(color));
+        }
+        BookEngine engine = new BookEngine(book, new SearchEngine());
+        for (Color color : Color.values()) {
+            SearchResult result = engine.search(board, color, 4, SearchLimits.ofDepth(2));
+            Assertions.assertEquals(0, result.nodes());
+            for (int move : result.moves()) {
+                board.makeMove(move);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+import arimaa.core.Board;
+import arimaa.core.Game;
+import arimaa.core.Move;
+import arimaa.core.MoveList;
+import arimaa.core.PackedMove;
+import arimaa.core.Player;
+import arimaa.core.PullMove;
+import arimaa.core.PushMove;
+import arimaa.core.StepMove;
+import arimaa.utils.Bitboard;
+import arimaa.utils.Color;
+import arimaa.utils.Position;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The PackedMoveTest class checks the int encoding of moves, its conversion from and to the Move objects of the GUI,
+ * and the reusable move list.
+ */
+public class PackedMoveTest {
+
+    /**
+     * Position with steps, pushes and pulls for both players
+     */
+    private static final String[][] CONTACT_BOARD = new String[][]{
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "c", "E", "", "", ""},
+            {"", "", "", "", "d", "", "", ""},
+            {"", "r", "", "", "", "", "", ""},
+            {"", "H", "m", "", "", "", "", ""},
+            {"R", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""}
+    };
+
+    /**
+     * TEST1: ACCESSORS | Steps, pushes and pulls keep their kind, squares and step cost
+     */
+    @Test
+    public void accessorsTest(){
+        int step = PackedMove.step(Bitboard.index(6, 0), Bitboard.index(5, 0));
+        Assertions.assertEquals(PackedMove.STEP, PackedMove.kind(step));
+        Assertions.assertEquals(Bitboard.index(6, 0), PackedMove.from(step));
+        Assertions.assertEquals(Bitboard.index(5, 0), PackedMove.to(step));
+        Assertions.assertEquals(1, PackedMove.stepCost(step));
+        // the pusher takes the square of the pushed piece
+        int push = PackedMove.push(Bitboard.index(2, 4), Bitboard.index(2, 3), Bitboard.index(2, 2));
+        Assertions.assertEquals(PackedMove.PUSH, PackedMove.kind(push));
+        Assertions.assertEquals(Bitboard.index(2, 4), PackedMove.from(push));
+        Assertions.assertEquals(Bitboard.index(2, 3), PackedMove.to(push));
+        Assertions.assertEquals(Bitboard.index(2, 3), PackedMove.victimFrom(push));
+        Assertions.assertEquals(Bitboard.index(2, 2), PackedMove.victimTo(push));
+        Assertions.assertEquals(2, PackedMove.stepCost(push));
+        // the pulled piece takes the square of the puller
+        int pull = PackedMove.pull(Bitboard.index(2, 4), Bitboard.index(1, 4), Bitboard.index(3, 4));
+        Assertions.assertEquals(PackedMove.PULL, PackedMove.kind(pull));
+        Assertions.assertEquals(Bitboard.index(2, 4), PackedMove.from(pull));
+        Assertions.assertEquals(Bitboard.index(1, 4), PackedMove.to(pull));
+        Assertions.assertEquals(Bitboard.index(3, 4), PackedMove.victimFrom(pull));
+        Assertions.assertEquals(Bitboard.index(2, 4), PackedMove.victimTo(pull));
+        Assertions.assertEquals(2, PackedMove.stepCost(pull));
+        // the corner squares use every bit of a square field
+        int corner = PackedMove.push(Bitboard.SQUARES - 2, Bitboard.SQUARES - 1, Bitboard.SQUARES - 1 - Bitboard.SIZE);
+        Assertions.assertEquals(Bitboard.SQUARES - 2, PackedMove.from(corner));
+        Assertions.assertEquals(Bitboard.SQUARES - 1, PackedMove.victimFrom(corner));
+        Assertions.assertEquals(Bitboard.SQUARES - 1 - Bitboard.SIZE, PackedMove.victimTo(corner));
+    }
+
+    /**
+     * TEST2: ROUND TRIP | Every generated move converts to the matching Move object and back to the same int
+     */
+    @Test
+    public void roundTripTest(){
+        Board board = new Board();
+        Player player1 = new Player(1, false);
+        Player player2 = new Player(2, false);
+        MoveList moves = new MoveList();
+        int[] kinds = new int[3];
+        for (String[][] position : new String[][][]{CONTACT_BOARD, Game.DEFAULT_BOARD}){
+            board.populateBoardFrom2DString(position, player1, player2);
+            for (Color color : Color.values()){
+                board.generateMoves(color, 2, moves);
+                for (int i = 0; i < moves.size(); i++){
+                    int packed = moves.get(i);
+                    Move move = PackedMove.toMove(packed);
+                    kinds[PackedMove.kind(packed)]++;
+                    Assertions.assertEquals(Bitboard.toPosition(PackedMove.from(packed)), move.getFrom());
+                    Assertions.assertEquals(Bitboard.toPosition(PackedMove.to(packed)), move.getTo());
+                    switch (PackedMove.kind(packed)){
+                        case PackedMove.PUSH -> {
+                            PushMove push = Assertions.assertInstanceOf(PushMove.class, move);
+                            Assertions.assertEquals(Bitboard.toPosition(PackedMove.victimFrom(packed)), push.getPushedPieceFrom());
+                            Assertions.assertEquals(Bitboard.toPosition(PackedMove.victimTo(packed)), push.getPushedPieceTo());
+                        }
+                        case PackedMove.PULL -> {
+                            PullMove pull = Assertions.assertInstanceOf(PullMove.class, move);
+                            Assertions.assertEquals(Bitboard.toPosition(PackedMove.victimFrom(packed)), pull.getPulledPieceFrom());
+                            Assertions.assertEquals(Bitboard.toPosition(PackedMove.victimTo(packed)), pull.getPulledPieceTo());
+                        }
+                        default -> Assertions.assertInstanceOf(StepMove.class, move);
+                    }
+                    Assertions.assertEquals(packed, PackedMove.fromMove(move));
+                }
+            }
+        }
+        Assertions.assertTrue(kinds[PackedMove.STEP] > 0 && kinds[PackedMove.PUSH] > 0 && kinds[PackedMove.PULL] > 0);
+        // a Move object built by the GUI encodes to the same int as the generator's move
+        Move guiPull = new PullMove(new Position(2, 4), new Position(1, 4), new Position(3, 4), new Position(2, 4));
+        Assertions.assertEquals(PackedMove.pull(Bitboard.index(2, 4), Bitboard.index(1, 4), Bitboard.index(3, 4)),
+                PackedMove.fromMove(guiPull));
+    }
+
+    /**
+     * TEST3: MOVE LIST | The list grows past its capacity, keeps overwritten moves and is emptied by clear
+     */
+    @Test
+    public void moveListTest(){
+        MoveList moves = new MoveList(2);
+        Assertions.assertTrue(moves.isEmpty());
+        for (int i = 0; i < 5; i++){
+            moves.add(PackedMove.step(i, i + 1));
+        }
+        Assertions.assertEquals(5, moves.size());
+        Assertions.assertEquals(PackedMove.step(4, 5), moves.get(4));
+        moves.set(0, PackedMove.step(9, 10));
+        Assertions.assertEquals(PackedMove.step(9, 10), moves.get(0));
+        moves.clear();
+        Assertions.assertTrue(moves.isEmpty());
+        moves.add(PackedMove.step(1, 2));
+        Assertions.assertEquals(1, moves.size());
+        Assertions.assertEquals(PackedMove.step(1, 2), moves.get(0));
+    }
+}
@@ -0,0 +1,123 @@
+import arimaa.core.Board;
+import arimaa.core.Game;
+import arimaa.core.Perft;
+import arimaa.core.Player;
+import arimaa.utils.Color;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The PerftTest class compares move generation node counts against reference counts.
+ * The reference counts were produced by enumerating moves through the original Position-based rule methods
+ * (with traps resolved after every elementary step), so the optimized generators must keep the same semantics.
+ */
+public class PerftTest {
+
+    /**
+     * Middle game position with pieces in contact, unprotected pieces next to traps and rabbits close to goal
+     */
+    private static final String[][] MIDDLE_GAME_BOARD = new String[][]{
+            {"r", "r", "", "r", "r", "", "r", "r"},
+            {"", "c", "d", "", "e", "h", "", "r"},
+            {"", "", "m", "", "", "c", "", ""},
+            {"", "d", "", "H", "", "", "", ""},
+            {"", "", "", "", "E", "", "", ""},
+            {"R", "", "C", "", "", "M", "", "D"},
+            {"", "R", "H", "", "", "R", "C", ""},
+            {"", "", "R", "R", "R", "", "D", "R"}
+    };
+
+    /**
+     * Sparse end game position (few pieces, many free squares)
+     */
+    private static final String[][] END_GAME_BOARD = new String[][]{
+            {"", "", "", "", "", "", "", ""},
+            {"", "r", "", "", "e", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "D", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "E", "", "R", ""},
+            {"", "", "", "", "", "", "", ""}
+    };
+
+    /**
+     * Board with the default initial position
+     */
+    private Board defaultBoard;
+    /**
+     * Board with the middle game position
+     */
+    private Board middleGameBoard;
+    /**
+     * Board with the end game position
+     */
+    private Board endGameBoard;
+
+    /**
+     * The testSetUp Method initializes testing environment
+     */
+    @BeforeEach
+    public void testSetUp(){
+        Player player1 = new Player(1, false);
+        Player player2 = new Player(2, false);
+        defaultBoard = new Board();
+        defaultBoard.populateBoardFrom2DString(Game.DEFAULT_BOARD, player1, player2);
+        middleGameBoard = new Board();
+        middleGameBoard.populateBoardFrom2DString(MIDDLE_GAME_BOARD, player1, player2);
+        endGameBoard = new Board();
+        endGameBoard.populateBoardFrom2DString(END_GAME_BOARD, player1, player2);
+    }
+
+    /**
+     * TEST1: STEP PERFT | Step node counts of the default position (gold to move, 4 steps)
+     */
+    @Test
+    public void defaultPositionStepPerftTest(){
+        long[] expected = {8, 100, 1408, 22370, 178954};
+        for (int depth = 1; depth <= expected.length; depth++){
+            Assertions.assertEquals(expected[depth - 1], Perft.countSteps(defaultBoard, Color.GOLD, 4, depth), "depth " + depth);
+        }
+    }
+
+    /**
+     * TEST2: STEP PERFT | Step node counts of a middle game position with pushes, pulls and captures
+     */
+    @Test
+    public void middleGameStepPerftTest(){
+        long[] expected = {31, 931, 27435, 797675};
+        for (int depth = 1; depth <= expected.length; depth++){
+            Assertions.assertEquals(expected[depth - 1], Perft.countSteps(middleGameBoard, Color.GOLD, 4, depth), "depth " + depth);
+        }
+    }
+
+    /**
+     * TEST3: TURN PERFT | Distinct turn counts (transpositions merged, passing allowed after the first step)
+     */
+    @Test
+    public void turnPerftTest(){
+        Assertions.assertEquals(3046, Perft.countTurns(defaultBoard, Color.GOLD, 1));
+        Assertions.assertEquals(3046, Perft.countTurns(defaultBoard, Color.SILVER, 1));
+        Assertions.assertEquals(49812, Perft.countTurns(middleGameBoard, Color.GOLD, 1));
+        Assertions.assertEquals(757, Perft.countTurns(endGameBoard, Color.GOLD, 1));
+    }
+
+    /**
+     * TEST4: PARALLEL PERFT | Splitting the root across a pool gives the same counts and leaves the board unchanged
+     */
+    @Test
+    public void parallelPerftTest(){
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            long key = middleGameBoard.getZobristKey();
+            Assertions.assertEquals(797675, Perft.parallelCountSteps(middleGameBoard, Color.GOLD, 4, 4, pool));
+            Assertions.assertEquals(124433, Perft.parallelCountTurns(endGameBoard, Color.GOLD, 2, pool));
+            Assertions.assertEquals(key, middleGameBoard.getZobristKey());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+import arimaa.core.Board;
+import arimaa.core.Game;
+import arimaa.core.PackedMove;
+import arimaa.core.Player;
+import arimaa.core.Turn;
+import arimaa.core.TurnGenerator;
+import arimaa.engine.LazySmpEngine;
+import arimaa.engine.MctsEngine;
+import arimaa.engine.Ponderer;
+import arimaa.engine.SearchEngine;
+import arimaa.engine.SearchLimits;
+import arimaa.engine.SearchResult;
+import arimaa.engine.TranspositionTable;
+import arimaa.utils.Bitboard;
+import arimaa.utils.Color;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The SearchEngineTest class checks that the search returns legal turns and finds forced wins.
+ */
+public class SearchEngineTest {
+
+    /**
+     * Position where the gold rabbit on c3 reaches the goal in two steps (c2, c1)
+     */
+    private static final String[][] GOAL_BOARD = new String[][]{
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", "r"},
+            {"", "", "R", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"e", "", "", "", "", "", "", "E"}
+    };
+
+    /**
+     * Position where the gold elephant on h1 is boxed in once it steps to h2 (silver elephant on g2, camel on h3)
+     */
+    private static final String[][] BOXED_BOARD = new String[][]{
+            {"r", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"d", "", "", "", "", "", "", ""},
+            {"R", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", "m"},
+            {"", "", "", "", "", "", "e", ""},
+            {"", "", "", "", "", "", "", "E"}
+    };
+
+    /**
+     * Gold player
+     */
+    private Player player1;
+    /**
+     * Silver player
+     */
+    private Player player2;
+
+    /**
+     * The testSetUp Method initializes testing environment
+     */
+    @BeforeEach
+    public void testSetUp(){
+        player1 = new Player(1, false);
+        player2 = new Player(2, false);
+    }
+
+    /**
+     * TEST1: LEGAL TURN | The chosen turn is one of the generated turns and the searched board is left unchanged
+     */
+    @Test
+    public void legalTurnTest(){
+        Board board = new Board();
+        board.populateBoardFrom2DString(Game.DEFAULT_BOARD, player1, player2);
+        long key = board.getZobristKey();
+        SearchResult result = new SearchEngine().search(board, Color.SILVER, 4, SearchLimits.ofDepth(4));
+        Assertions.assertEquals(key, board.getZobristKey());
+        Assertions.assertEquals(4, result.depth());
+        Set<Long> turnKeys = new HashSet<>();
+        for (Turn turn : new TurnGenerator(board).generateTurns(Color.SILVER)){
+            turnKeys.add(turn.key());
+        }
+        for (int move : result.moves()){
+            board.makeMove(move);
+        }
+        Assertions.assertTrue(turnKeys.contains(board.getPositionKey()));
+    }
+
+    /**
+     * TEST2: GOAL | The search finds the rabbit reaching its goal and scores it as a win
+     */
+    @Test
+    public void goalInOneTurnTest(){
+        Board board = new Board();
+        board.populateBoardFrom2DString(GOAL_BOARD, player1, player2);
+        SearchResult result = new SearchEngine().search(board, Color.GOLD, 4, SearchLimits.ofDepth(6));
+        Assertions.assertTrue(result.score() >= SearchEngine.WIN - SearchLimits.MAX_DEPTH);
+        for (int move : result.moves()){
+            board.makeMove(move);
+        }
+        Assertions.assertEquals(1, board.getGoalRabbitCount(Color.GOLD));
+    }
+
+    /**
+     * TEST3: LAZY SMP | Several threads sharing one table still find the goal and leave the board unchanged
+     */
+    @Test
+    public void lazySmpTest(){
+        Board board = new Board();
+        board.populateBoardFrom2DString(GOAL_BOARD, player1, player2);
+        long key = board.getZobristKey();
+        LazySmpEngine engine = new LazySmpEngine(3, new TranspositionTable(1));
+        try {
+            SearchResult result = engine.search(board, Color.GOLD, 4, SearchLimits.ofDepth(6));
+            Assertions.assertEquals(key, board.getZobristKey());
+            Assertions.assertEquals(3, engine.getThreadNodes().length);
+            for (int move : result.moves()){
+                board.makeMove(move);
+            }
+            Assertions.assertEquals(1, board.getGoalRabbitCount(Color.GOLD));
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    /**
+     * TEST4: MCTS | The tree search returns a legal turn, leaves the board unchanged and keeps its tree for the next search
+     */
+    @Test
+    public void mctsTest(){
+        Board board = new Board();
+        board.populateBoardFrom2DString(Game.DEFAULT_BOARD, player1, player2);
+        long key = board.getZobristKey();
+        MctsEngine engine = new MctsEngine(2);
+        try {
+            SearchResult result = engine.search(board, Color.GOLD, 4, SearchLimits.ofNodes(2000));
+            Assertions.assertEquals(key, board.getZobristKey());
+            Assertions.assertEquals(2000, result.nodes());
+            int treeSize = engine.getTreeSize();
+            engine.search(board, Color.GOLD, 4, SearchLimits.ofNodes(100));
+            Assertions.assertTrue(engine.getTreeSize() >= treeSize);
+            Set<Long> turnKeys = new HashSet<>();
+            for (Turn turn : new TurnGenerator(board).generateTurns(Color.GOLD)){
+                turnKeys.add(turn.key());
+            }
+            for (int move : result.moves()){
+                board.makeMove(move);
+            }
+            Assertions.assertTrue(turnKeys.contains(board.getPositionKey()));
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    /**
+     * TEST5: PONDERING | Pondering runs until stopped, leaves the board alone and frees the engine for the next search
+     */
+    @Test
+    public void ponderTest() throws InterruptedException {
+        Board board = new Board();
+        board.populateBoardFrom2DString(Game.DEFAULT_BOARD, player1, player2);
+        long key = board.getZobristKey();
+        SearchEngine engine = new SearchEngine(new TranspositionTable(1));
+        Ponderer ponderer = new Ponderer(engine);
+        ponderer.start(board, Color.GOLD, 4, board.getPositionKey());
+        Thread.sleep(100);
+        Assertions.assertTrue(ponderer.isPondering());
+        ponderer.stop();
+        Assertions.assertFalse(ponderer.isPondering());
+        Assertions.assertEquals(key, board.getZobristKey());
+        SearchResult result = engine.search(board, Color.GOLD, 4, SearchLimits.ofDepth(4));
+        Assertions.assertEquals(4, result.depth());
+    }
+
+    /**
+     * TEST6: MID-TURN | In a started turn the last step may be passed, but not spent on undoing the turn
+     */
+    @Test
+    public void midTurnTest(){
+        Board board = new Board();
+        board.populateBoardFrom2DString(BOXED_BOARD, player1, player2);
+        long turnStartKey = board.getPositionKey();
+        // the elephant steps h1-h2, where its only step leads back; the rabbit is frozen by the dog
+        board.makeMove(PackedMove.step(Bitboard.index(7, 7), Bitboard.index(6, 7)));
+        SearchEngine engine = new SearchEngine();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> engine.search(board, Color.GOLD, 1, SearchLimits.ofDepth(1)));
+        for (int depth = 1; depth <= 3; depth++) {
+            SearchResult result = engine.search(board, Color.GOLD, 1, turnStartKey, SearchLimits.ofDepth(depth));
+            Assertions.assertEquals(0, result.moves().length);
+        }
+    }
+}
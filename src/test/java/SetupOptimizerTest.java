@@ -0,0 +1,37 @@
+import arimaa.core.Board;
+import arimaa.core.Game;
+import arimaa.core.Player;
+import arimaa.engine.SetupOptimizer;
+import arimaa.utils.Color;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+/**
+ * The SetupOptimizerTest class checks that the setup optimizer rearranges only the player's own pieces.
+ */
+public class SetupOptimizerTest {
+
+    /**
+     * TEST1: SETUP | The optimized setup holds the same pieces, the searched board is unchanged and applying it works
+     */
+    @Test
+    public void setupTest(){
+        Board board = new Board();
+        board.populateBoardFrom2DString(Game.DEFAULT_BOARD, new Player(1, true), new Player(2, true));
+        long key = board.getZobristKey();
+        byte[] gold = SetupOptimizer.readSetup(board, Color.GOLD);
+        byte[] current = SetupOptimizer.readSetup(board, Color.SILVER);
+        byte[] setup = new SetupOptimizer(2).optimize(board, Color.SILVER, 300);
+        Assertions.assertEquals(key, board.getZobristKey());
+        byte[] sortedCurrent = current.clone();
+        byte[] sortedSetup = setup.clone();
+        Arrays.sort(sortedCurrent);
+        Arrays.sort(sortedSetup);
+        Assertions.assertArrayEquals(sortedCurrent, sortedSetup);
+        SetupOptimizer.applySetup(board, Color.SILVER, setup);
+        Assertions.assertArrayEquals(setup, SetupOptimizer.readSetup(board, Color.SILVER));
+        Assertions.assertArrayEquals(gold, SetupOptimizer.readSetup(board, Color.GOLD));
+    }
+}
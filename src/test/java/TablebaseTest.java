@@ -0,0 +1,154 @@
+import arimaa.core.Board;
+import arimaa.core.PackedMove;
+import arimaa.core.Piece;
+import arimaa.core.Player;
+import arimaa.engine.SearchEngine;
+import arimaa.engine.SearchLimits;
+import arimaa.engine.SearchResult;
+import arimaa.engine.Tablebase;
+import arimaa.engine.TablebaseEngine;
+import arimaa.utils.Bitboard;
+import arimaa.utils.Color;
+import arimaa.utils.PieceType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The TablebaseTest class checks the rabbit against rabbit table: its values, the copy mapped from a file,
+ * the turns played from it and its use for captures by a larger table.
+ */
+public class TablebaseTest {
+
+    /**
+     * Position where the gold rabbit on d4 reaches the goal in four steps and the silver rabbit on h2 in one
+     */
+    private static final String[][] RACE_BOARD = new String[][]{
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "R", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", "r"},
+            {"", "", "", "", "", "", "", ""}
+    };
+
+    /**
+     * Position where the gold rabbit on d2 is six steps from its goal and the silver rabbit on a2 one step
+     */
+    private static final String[][] LOST_BOARD = new String[][]{
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"r", "", "", "R", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""}
+    };
+
+    /**
+     * Position where the silver rabbit on a2 is one step from its goal and the gold rabbit on f2 may step into the trap f3
+     */
+    private static final String[][] TRAP_BOARD = new String[][]{
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"r", "", "", "R", "", "R", "", ""},
+            {"", "", "", "", "", "", "", ""}
+    };
+
+    /**
+     * Table generated once for all tests
+     */
+    private static Tablebase table;
+
+    /**
+     * Directory the table file is written to
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Board the positions are loaded into
+     */
+    private Board board;
+
+    /**
+     * The generateTable Method generates the rabbit against rabbit table
+     */
+    @BeforeAll
+    public static void generateTable() throws InterruptedException {
+        table = Tablebase.generate("R-r", 2);
+    }
+
+    /**
+     * The testSetUp Method initializes testing environment
+     */
+    @BeforeEach
+    public void testSetUp(){
+        board = new Board();
+    }
+
+    /**
+     * TEST1: VALUES | A rabbit in reach of its goal wins at once, a rabbit too far loses after the enemy's turn
+     */
+    @Test
+    public void valuesTest(){
+        board.populateBoardFrom2DString(RACE_BOARD, new Player(1, false), new Player(2, false));
+        Assertions.assertTrue(table.covers(board));
+        Assertions.assertEquals(1, table.probe(board, Color.GOLD));
+        Assertions.assertEquals(1, table.probe(board, Color.SILVER));
+        board.populateBoardFrom2DString(LOST_BOARD, new Player(1, false), new Player(2, false));
+        int value = table.probe(board, Color.GOLD);
+        Assertions.assertFalse(Tablebase.isWin(value));
+        Assertions.assertEquals(1, Tablebase.distance(value));
+        // the gold rabbit only takes the a-d half of the board
+        Assertions.assertEquals(Bitboard.SQUARES / 2 * Bitboard.SQUARES * 2, table.size());
+        Assertions.assertEquals("ER-r", Tablebase.materialOf(Tablebase.parseMaterial("re-r")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Tablebase.parseMaterial("E-r"));
+    }
+
+    /**
+     * TEST2: TABLEBASE ENGINE | The mapped table plays the winning turn without search, other material is searched
+     */
+    @Test
+    public void tablebaseEngineTest() throws IOException {
+        Path path = Tablebase.path(directory, "R-r");
+        table.write(path);
+        Assertions.assertEquals(directory.resolve("R-r" + Tablebase.EXTENSION), path);
+        TablebaseEngine engine = new TablebaseEngine(Tablebase.openAll(directory), new SearchEngine());
+        board.populateBoardFrom2DString(RACE_BOARD, new Player(1, false), new Player(2, false));
+        SearchResult result = engine.search(board, Color.GOLD, 4, SearchLimits.ofDepth(2));
+        Assertions.assertEquals(0, result.nodes());
+        Assertions.assertEquals(SearchEngine.WIN, result.score());
+        Assertions.assertEquals(4, result.moves().length);
+        Assertions.assertEquals(0, PackedMove.to(result.moves()[3]) / Bitboard.SIZE);
+        board.placePiece(Piece.of(Color.SILVER, PieceType.ELEPHANT), Bitboard.toPosition(Bitboard.index(7, 0)));
+        Assertions.assertFalse(table.covers(board));
+        result = engine.search(board, Color.GOLD, 4, SearchLimits.ofDepth(2));
+        Assertions.assertTrue(result.nodes() > 0);
+    }
+
+    /**
+     * TEST3: CAPTURES | A larger table proves a loss whose turns include a capture by looking it up in the smaller table
+     */
+    @Test
+    public void capturesTest() throws InterruptedException {
+        Tablebase larger = Tablebase.generate("RR-r", 2, List.of(table));
+        board.populateBoardFrom2DString(TRAP_BOARD, new Player(1, false), new Player(2, false));
+        Assertions.assertTrue(larger.covers(board));
+        Assertions.assertEquals(-2, larger.probe(board, Color.GOLD));
+        Assertions.assertNotNull(larger.bestTurn(board, Color.GOLD));
+    }
+}
@@ -0,0 +1,69 @@
+import arimaa.engine.SearchEngine;
+import arimaa.engine.TranspositionTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+/**
+ * The TranspositionTableTest class checks the packing of entries and their use from several threads.
+ */
+public class TranspositionTableTest {
+
+    /**
+     * TEST1: ROUND TRIP | Stored fields are read back unchanged, including negative scores and the pass marker
+     */
+    @Test
+    public void roundTripTest(){
+        TranspositionTable table = new TranspositionTable(1);
+        Assertions.assertEquals(1 << 16, table.getCapacity());
+        Assertions.assertEquals(0, table.probe(42L));
+        table.store(42L, -1, -SearchEngine.WIN, 17, TranspositionTable.UPPER);
+        long data = table.probe(42L);
+        Assertions.assertEquals(-1, TranspositionTable.move(data));
+        Assertions.assertEquals(-SearchEngine.WIN, TranspositionTable.score(data));
+        Assertions.assertEquals(17, TranspositionTable.depth(data));
+        Assertions.assertEquals(TranspositionTable.UPPER, TranspositionTable.bound(data));
+        // same key without a move keeps the old move
+        table.store(42L, TranspositionTable.NO_MOVE, 123, 3, TranspositionTable.LOWER);
+        data = table.probe(42L);
+        Assertions.assertEquals(-1, TranspositionTable.move(data));
+        Assertions.assertEquals(123, TranspositionTable.score(data));
+        // another key in the same slot does not match
+        Assertions.assertEquals(0, table.probe(42L + table.getCapacity()));
+    }
+
+    /**
+     * TEST2: CONCURRENCY | Threads writing colliding keys never make a probe return another key's data
+     */
+    @Test
+    public void concurrentAccessTest() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(1);
+        long[] keys = new long[64];
+        for (int i = 0; i < keys.length; i++){
+            // all keys share slot 0 of the table
+            keys[i] = (long) (i + 1) << 48;
+        }
+        boolean[] failed = new boolean[1];
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++){
+            int seed = t;
+            threads[t] = new Thread(() -> {
+                SplittableRandom threadRandom = new SplittableRandom(seed);
+                for (int n = 0; n < 200_000; n++){
+                    int i = threadRandom.nextInt(keys.length);
+                    table.store(keys[i], i + 1, i, i, TranspositionTable.EXACT);
+                    long data = table.probe(keys[threadRandom.nextInt(keys.length)]);
+                    if (data != 0 && TranspositionTable.move(data) != TranspositionTable.score(data) + 1){
+                        failed[0] = true;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads){
+            thread.join();
+        }
+        Assertions.assertFalse(failed[0]);
+    }
+}
@@ -0,0 +1,88 @@
+import arimaa.core.Board;
+import arimaa.core.MoveList;
+import arimaa.core.PackedMove;
+import arimaa.core.Player;
+import arimaa.engine.TrapAnalysis;
+import arimaa.utils.Bitboard;
+import arimaa.utils.Color;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The TrapAnalysisTest class checks that the capture generator and the threat detector find trap captures.
+ */
+public class TrapAnalysisTest {
+
+    /**
+     * Position where the gold elephant on e3 pushes the lone silver cat on d3 into the trap on c3
+     */
+    private static final String[][] DIRECT_BOARD = new String[][]{
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", "r"},
+            {"", "", "", "c", "E", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"R", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""}
+    };
+
+    /**
+     * Position where the gold elephant on e4 first has to step next to the silver cat on d3
+     */
+    private static final String[][] PREPARED_BOARD = new String[][]{
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", "r"},
+            {"", "", "", "c", "", "", "", ""},
+            {"", "", "", "", "E", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""},
+            {"R", "", "", "", "", "", "", ""},
+            {"", "", "", "", "", "", "", ""}
+    };
+
+    /**
+     * Board the positions are loaded into
+     */
+    private Board board;
+
+    /**
+     * The testSetUp Method initializes testing environment
+     */
+    @BeforeEach
+    public void testSetUp(){
+        board = new Board();
+    }
+
+    /**
+     * TEST1: DIRECT CAPTURE | The only capturing move is the push into the trap, and the cat is listed as threatened
+     */
+    @Test
+    public void directCaptureTest(){
+        board.populateBoardFrom2DString(DIRECT_BOARD, new Player(1, false), new Player(2, false));
+        long key = board.getZobristKey();
+        TrapAnalysis trapAnalysis = new TrapAnalysis(board);
+        MoveList captures = new MoveList();
+        trapAnalysis.generateCaptures(Color.GOLD, 4, captures);
+        Assertions.assertEquals(1, captures.size());
+        Assertions.assertEquals(PackedMove.push(Bitboard.index(2, 4), Bitboard.index(2, 3), Bitboard.index(2, 2)), captures.get(0));
+        Assertions.assertEquals(Bitboard.bit(2, 3), trapAnalysis.threatenedPieces(Color.GOLD, 2));
+        Assertions.assertEquals(0, trapAnalysis.threatenedPieces(Color.SILVER, 4));
+        Assertions.assertEquals(key, board.getZobristKey());
+    }
+
+    /**
+     * TEST2: PREPARED CAPTURE | A capture needing a step first is found with 3 steps, not with 2, and is no direct capture
+     */
+    @Test
+    public void preparedCaptureTest(){
+        board.populateBoardFrom2DString(PREPARED_BOARD, new Player(1, false), new Player(2, false));
+        TrapAnalysis trapAnalysis = new TrapAnalysis(board);
+        MoveList captures = new MoveList();
+        trapAnalysis.generateCaptures(Color.GOLD, 4, captures);
+        Assertions.assertEquals(0, captures.size());
+        Assertions.assertEquals(0, trapAnalysis.threatenedPieces(Color.GOLD, 2));
+        Assertions.assertEquals(Bitboard.bit(2, 3), trapAnalysis.threatenedPieces(Color.GOLD, 3));
+    }
+}